@@ -0,0 +1,68 @@
+package com.ccd.chess.benchmark;
+
+import com.ccd.chess.engine.MoveGenerator;
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.service.impl.BoardServiceImpl;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BenchmarkPositions - fixed positions the benchmarks run on
+ *
+ * Each position is reached by playing a fixed move list from the start position with
+ * BoardServiceImpl.executeMove, so every benchmark sees the same boards on every run.
+ **/
+@State(Scope.Thread)
+public class BenchmarkPositions {
+
+    /** Move lists from the start position, every move is start and end cell **/
+    private static final Map<String, String> MOVES = Map.of(
+            "opening", "Bc2-Bc4 Gh2-Gg3 Rh2-Rf3 Ba2-Ba4 Gh1-Ba4 Rh1-Ga2 Bd1-Ba4 Ga1-Ga2 Rb1-Ra3 Be2-Be4 Ge2-Ge4 Rd2-Rd3",
+            "middlegame", "Bb2-Bb4 Gf2-Gf3 Rd2-Rd4 Bc2-Bc4 Gb2-Gb4 Rc1-Re3 Bg2-Bg4 Gc2-Gc4 Rg1-Rf3 Be2-Be4 Gc4-Rf4 Re3-Rf4"
+                    + " Bd1-Ba4 Gb4-Rf4 Rb1-Rc3 Ba4-Gf3 Gb1-Ga3 Rc3-Bg4 Gf3-Gf2 Ge1-Gf2 Bg4-Bf2 Bf1-Be2 Ga1-Gb1 Bf2-Be4"
+                    + " Bb1-Bc3 Gb1-Rg2 Be4-Rf4 Bh2-Bg3 Rg2-Rh2 Ra1-Rb1",
+            "endgame", "Bc2-Bc3 Gd2-Gd4 Rg2-Rg3 Bb1-Ba3 Ga2-Ga4 Rb2-Rb3 Ba3-Gg4 Gd4-Re4 Rf2-Rf3 Bd1-Bc2 Re4-Rf3 Re1-Rf2"
+                    + " Bb2-Bb4 Gd1-Re2 Rd1-Re2 Gg4-Gh2 Gh1-Gh2 Rg1-Rf3 Bc2-Rb3 Gh2-Ba2 Ra2-Ra4 Rb3-Rb1 Gg2-Gg3 Rc1-Rb2"
+                    + " Rb1-Rf1 Ba2-Bd2 Rf2-Rf1 Bc1-Bd2 Gc1-Bb4 Ra1-Rc1 Ba1-Gh1 Ga4-Gc4 Ra4-Rc4 Bg2-Bg3 Ga1-Rh2 Re2-Rh2"
+                    + " Bc3-Bb4 Gc4-Rf3 Rf3-Rf1 Rc1-Rf1 Gh1-Gg1 Gf2-Gf4 Rf1-Gc2 Gg1-Gg3 Gf4-Bb4 Gc2-Gb2 Bf1-Bg2 Gb1-Gc3"
+                    + " Gb2-Ge2 Bg2-Rh1 Gf1-Ge2 Rh2-Rh1 Gg3-Gc3 Ge1-Gd2 Rb2-Rc3 Bd2-Bf4 Gd2-Gc3 Rh1-Gh1 Bf4-Rd4 Gc3-Gd3");
+
+    @Param({"opening", "middlegame", "endgame"})
+    public String position;
+
+    /** game in the position **/
+    public BoardServiceImpl service;
+    /** board of the game **/
+    public BitBoard board;
+    /** start and end of the first legal move of the side to move **/
+    public PositionOnBoard moveStart;
+    public PositionOnBoard moveEnd;
+
+    /**
+     * Plays the move list of the position on a new game
+     * @throws Exception if a move of the list is not legal
+     **/
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        service = new BoardServiceImpl();
+        for (String played : MOVES.get(position).split(" ")) {
+            String[] cells = played.split("-");
+            service.executeMove(cell(cells[0]), cell(cells[1]));
+        }
+        board = (BitBoard) service.getBoardMap();
+        int move = MoveGenerator.legalMoves(board)[0];
+        moveStart = PositionOnBoard.at(MoveGenerator.start(move));
+        moveEnd = PositionOnBoard.at(MoveGenerator.end(move));
+    }
+
+    private static PositionOnBoard cell(String label) {
+        return PositionOnBoard.valueOf(label.toUpperCase(Locale.ROOT));
+    }
+}
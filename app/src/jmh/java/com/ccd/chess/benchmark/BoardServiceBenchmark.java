@@ -0,0 +1,89 @@
+package com.ccd.chess.benchmark;
+
+import com.ccd.chess.engine.MoveGenerator;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.util.BoardAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BoardServiceBenchmark - the board operations of a click on a fixed position
+ **/
+@State(Scope.Thread)
+public class BoardServiceBenchmark {
+
+    private PositionOnBoard[] ownPieces;
+    private final long[] legal = new long[2];
+
+    /**
+     * Collects the pieces of the side to move
+     * @param positions position to run on
+     **/
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkPositions positions) {
+        Colour side = positions.board.getSideToMove();
+        List<PositionOnBoard> found = new ArrayList<>();
+        for (PositionOnBoard cell : positions.board.keySet()) {
+            if (positions.board.isColourAt(cell.ordinal(), side)) {
+                found.add(cell);
+            }
+        }
+        ownPieces = found.toArray(new PositionOnBoard[0]);
+    }
+
+    /**
+     * calculatePossibleMoves of every piece of the side to move, answered from the legal move cache
+     * after the first iteration
+     **/
+    @Benchmark
+    public void calculatePossibleMoves(BenchmarkPositions positions, Blackhole blackhole) {
+        for (PositionOnBoard cell : ownPieces) {
+            blackhole.consume(positions.service.calculatePossibleMoves(cell));
+        }
+    }
+
+    /**
+     * The legal targets of every piece of the side to move without the cache
+     **/
+    @Benchmark
+    public void collectLegalTargets(BenchmarkPositions positions, Blackhole blackhole) {
+        for (PositionOnBoard cell : ownPieces) {
+            MoveGenerator.collectLegalTargets(positions.board, cell.ordinal(), legal);
+            blackhole.consume(legal[0] | legal[1]);
+        }
+    }
+
+    /**
+     * validateMove of a legal move
+     **/
+    @Benchmark
+    public boolean validateMove(BenchmarkPositions positions) {
+        return positions.service.validateMove(positions.moveStart, positions.moveEnd);
+    }
+
+    /**
+     * executeMove of a legal move, taken back with unmakeMove so every invocation starts from the same position
+     * @throws Exception if the move is not legal
+     **/
+    @Benchmark
+    public void executeMove(BenchmarkPositions positions) throws Exception {
+        positions.service.executeMove(positions.moveStart, positions.moveEnd);
+        positions.board.unmakeMove();
+    }
+
+    /**
+     * Conversion of the board to the web view
+     **/
+    @Benchmark
+    public Object convertBoardToStringRep(BenchmarkPositions positions) {
+        return BoardAdapter.ConvertBoardToStringRep(positions.board);
+    }
+}
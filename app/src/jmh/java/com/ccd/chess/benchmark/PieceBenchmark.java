@@ -0,0 +1,77 @@
+package com.ccd.chess.benchmark;
+
+import com.ccd.chess.exceptions.InvalidPositionException;
+import com.ccd.chess.model.entity.enums.Direction;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+import com.ccd.chess.util.MovementUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PieceBenchmark - move generation of the pieces of one type, of all colours, on a fixed position
+ **/
+@State(Scope.Thread)
+public class PieceBenchmark {
+
+    @Param({"ROOK", "KNIGHT", "BISHOP", "QUEEN", "KING", "PAWN", "HAWK", "VORTEX"})
+    public PieceType type;
+
+    private PositionOnBoard[] cells;
+    private ChessPiece[] pieces;
+
+    /**
+     * Collects the pieces of the type on the board
+     * @param positions position to run on
+     **/
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkPositions positions) {
+        List<PositionOnBoard> found = new ArrayList<>();
+        for (Map.Entry<PositionOnBoard, ChessPiece> entry : positions.board.entrySet()) {
+            if (entry.getValue().getType() == type) {
+                found.add(entry.getKey());
+            }
+        }
+        cells = found.toArray(new PositionOnBoard[0]);
+        pieces = new ChessPiece[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            pieces[i] = positions.board.get(cells[i]);
+        }
+    }
+
+    /**
+     * getMovablePositions of every piece of the type
+     **/
+    @Benchmark
+    public void getMovablePositions(BenchmarkPositions positions, Blackhole blackhole) {
+        for (int i = 0; i < cells.length; i++) {
+            blackhole.consume(pieces[i].getMovablePositions(positions.board, cells[i]));
+        }
+    }
+
+    /**
+     * calculateNextPosition of a single step in every direction of every piece of the type
+     **/
+    @Benchmark
+    public void calculateNextPosition(Blackhole blackhole) {
+        for (int i = 0; i < cells.length; i++) {
+            for (Direction[] step : pieces[i].getDirections()) {
+                try {
+                    blackhole.consume(MovementUtil.calculateNextPosition(pieces[i], step, cells[i]));
+                } catch (InvalidPositionException e) {
+                    blackhole.consume(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ccd.chess.benchmark;
+
+import com.ccd.chess.engine.MaterialEvaluator;
+import com.ccd.chess.engine.SearchEngine;
+import com.ccd.chess.engine.SearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SearchBenchmark - a fixed depth search of the engine with and without move ordering
+ **/
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    @Param({"true", "false"})
+    public boolean orderMoves;
+
+    @Param({"4"})
+    public int depth;
+
+    private SearchEngine engine;
+
+    /**
+     * Creates the engine, without a transposition table so every search does the same work
+     **/
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new SearchEngine(new MaterialEvaluator(), depth, 600_000, null, 1, orderMoves);
+    }
+
+    /**
+     * Searches the position to the depth
+     **/
+    @Benchmark
+    public SearchResult findBestMove(BenchmarkPositions positions) {
+        return engine.findBestMove(positions.board);
+    }
+}
@@ -0,0 +1,189 @@
+package com.ccd.chess.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RestLoadTest - load test of the REST layer with many mostly idle players
+ *
+ * Every simulated player polls the board and the current player of its game, then idles for
+ * the think time, like the web client does. Besides, the test opens the given number of WebSocket
+ * connections to the update channel of the games before the players start and holds them until
+ * the run ends, so the polls are measured while the server keeps that many connections open. It
+ * reports throughput and the latency percentiles of the polls, and how many held connections
+ * were still open at the end, so runs with chess.threads.virtual=true and false can be compared
+ * on the same machine.
+ *
+ * Arguments: --url=http://localhost:8090 --players=3000 --connections=3000 --seconds=60 --think-ms=1000
+ **/
+public class RestLoadTest {
+
+    private static final Pattern GAME_ID = Pattern.compile("\"gameId\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        String url = options.getOrDefault("url", "http://localhost:8090");
+        int players = Integer.parseInt(options.getOrDefault("players", "3000"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "1000"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", String.valueOf(players)));
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        List<String> games = new ArrayList<>();
+        for (int i = 0; i < (players + 2) / 3; i++) { // three players per game
+            HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(url + "/games"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = GAME_ID.matcher(created.body());
+            if (created.statusCode() != 201 || !matcher.find()) {
+                throw new IllegalStateException("Cannot create game: " + created.statusCode() + " " + created.body());
+            }
+            games.add(matcher.group(1));
+        }
+
+        HeldConnections held = new HeldConnections();
+        for (int i = 0; i < connections; i++) {
+            held.open(client, url, games.get(i % games.size()));
+        }
+        held.awaitOpened(60);
+
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (int player = 0; player < players; player++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            String gameUrl = url + "/games/" + games.get(player / 3);
+            long startDelay = thinkMillis * player / players; // spread the first requests over one think time
+            scheduler.schedule(() -> poll(client, scheduler, gameUrl, thinkMillis, end, latencies, errors, done),
+                    startDelay, TimeUnit.MILLISECONDS);
+            running.add(done);
+        }
+        CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).get(seconds + 120L, TimeUnit.SECONDS);
+        scheduler.shutdown();
+        int stillOpen = held.closeAll();
+
+        for (String game : games) {
+            client.send(HttpRequest.newBuilder(URI.create(url + "/games/" + game)).DELETE().build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+        report(players, seconds, latencies, errors.get());
+        System.out.printf("connections held=%d opened=%d failed=%d closed-early=%d open-at-end=%d messages=%d%n",
+                connections, held.opened.get(), held.failed.get(), held.opened.get() - stillOpen, stillOpen, held.messages.get());
+    }
+
+    private static void poll(HttpClient client, ScheduledExecutorService scheduler, String gameUrl, long thinkMillis,
+                             long end, ConcurrentLinkedQueue<Long> latencies, AtomicInteger errors, CompletableFuture<Void> done) {
+        if (System.nanoTime() > end) {
+            done.complete(null);
+            return;
+        }
+        long start = System.nanoTime();
+        request(client, gameUrl + "/board")
+                .thenCompose(board -> request(client, gameUrl + "/currentPlayer"))
+                .whenComplete((response, failure) -> {
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    } else {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                    scheduler.schedule(() -> poll(client, scheduler, gameUrl, thinkMillis, end, latencies, errors, done),
+                            thinkMillis, TimeUnit.MILLISECONDS);
+                });
+    }
+
+    private static CompletableFuture<HttpResponse<Void>> request(HttpClient client, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static void report(int players, int seconds, ConcurrentLinkedQueue<Long> latencies, int errors) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("players=%d seconds=%d polls=%d errors=%d polls/s=%.1f%n",
+                players, seconds, sorted.length, errors, sorted.length / (double) seconds);
+        if (sorted.length > 0) {
+            System.out.printf("latency ms p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /** WebSocket connections held open for the whole run, they only count the updates they receive **/
+    private static final class HeldConnections implements WebSocket.Listener {
+        private final List<CompletableFuture<WebSocket>> sockets = new ArrayList<>();
+        private final AtomicInteger opened = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+
+        void open(HttpClient client, String url, String gameId) {
+            URI uri = URI.create(url.replaceFirst("^http", "ws") + "/ws/games/" + gameId);
+            sockets.add(client.newWebSocketBuilder().header("Origin", url).buildAsync(uri, this)
+                    .whenComplete((socket, failure) -> (failure == null ? opened : failed).incrementAndGet()));
+        }
+
+        void awaitOpened(int seconds) throws InterruptedException {
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            while (opened.get() + failed.get() < sockets.size() && System.nanoTime() < end) {
+                Thread.sleep(100);
+            }
+        }
+
+        /** @return connections which were still open **/
+        int closeAll() {
+            int open = 0;
+            for (CompletableFuture<WebSocket> socket : sockets) {
+                WebSocket webSocket = socket.getNow(null);
+                if (webSocket != null && !webSocket.isInputClosed()) {
+                    open++;
+                    webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+                }
+            }
+            return open;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            if (last) {
+                messages.incrementAndGet();
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -2,11 +2,13 @@ package com.ccd.chess;
 
 import com.ccd.chess.util.Logger;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
- * Spring application class
+ * Spring application class, scheduling runs the idle game eviction
  */
 @SpringBootApplication
+@EnableScheduling
 public class SpringApplication {
     private static final String TAG = SpringApplication.class.getSimpleName();
 
@@ -0,0 +1,36 @@
+package com.ccd.chess.config;
+
+import com.ccd.chess.util.Logger;
+import com.ccd.chess.util.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ThreadingConfig - switches the Tomcat request threads to virtual threads
+ *
+ * With chess.threads.virtual=true and a Java 21 runtime every request, and so every
+ * GameController endpoint, runs on its own virtual thread instead of the bounded Tomcat
+ * pool. On older runtimes the switch is ignored with an error log and the platform pool stays.
+ * After an upgrade to Spring Boot 3.2 this class is replaced by spring.threads.virtual.enabled.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final String TAG = ThreadingConfig.class.getSimpleName();
+
+    /**
+     * Replaces the executor of the Tomcat connector with a virtual thread per task executor
+     * @return customizer applied by Spring Boot to the embedded Tomcat
+     */
+    @Bean
+    @ConditionalOnProperty(name = "chess.threads.virtual", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> VirtualThreads.newPerTaskExecutor().ifPresentOrElse(executor -> {
+            protocolHandler.setExecutor(executor);
+            Logger.d(TAG, "Tomcat requests run on virtual threads");
+        }, () -> Logger.e(TAG, "chess.threads.virtual needs a Java 21 runtime, keeping the platform thread pool"));
+    }
+}
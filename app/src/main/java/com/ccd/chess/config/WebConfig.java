@@ -0,0 +1,24 @@
+package com.ccd.chess.config;
+
+import com.ccd.chess.controller.BoardUpdateHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * WebConfig - adds the binary board update format to the message converters
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Appends the binary converter after the JSON converter, so requests accepting any type still get JSON
+     * @param converters message converters configured by Spring Boot
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BoardUpdateHttpMessageConverter());
+    }
+}
@@ -0,0 +1,32 @@
+package com.ccd.chess.config;
+
+import com.ccd.chess.controller.GameUpdateSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocketConfig - registers the push channel of the games at /ws/games/{gameId}
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final GameUpdateSocketHandler gameUpdateSocketHandler;
+
+    @Autowired
+    public WebSocketConfig(GameUpdateSocketHandler gameUpdateSocketHandler) {
+        this.gameUpdateSocketHandler = gameUpdateSocketHandler;
+    }
+
+    /**
+     * @param registry registry of the WebSocket handlers
+     */
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(gameUpdateSocketHandler, "/ws/games/*")
+                .setAllowedOrigins("http://localhost:8090");
+    }
+}
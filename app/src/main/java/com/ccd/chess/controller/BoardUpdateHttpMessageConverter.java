@@ -0,0 +1,50 @@
+package com.ccd.chess.controller;
+
+import com.ccd.chess.model.dto.BoardUpdate;
+import com.ccd.chess.util.PositionCodec;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * BoardUpdateHttpMessageConverter - writes board updates in the binary layout of PositionCodec
+ * for clients sending Accept: application/x-3pchess. Board updates are only written, never read.
+ */
+public class BoardUpdateHttpMessageConverter extends AbstractHttpMessageConverter<BoardUpdate> {
+
+    /** content type of the binary board updates **/
+    public static final MediaType BINARY = MediaType.valueOf(PositionCodec.MEDIA_TYPE);
+
+    public BoardUpdateHttpMessageConverter() {
+        super(BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BoardUpdate.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected BoardUpdate readInternal(Class<? extends BoardUpdate> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Board updates are not accepted as request body", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(BoardUpdate update, MediaType contentType) {
+        return (long) PositionCodec.updateLength(update);
+    }
+
+    @Override
+    protected void writeInternal(BoardUpdate update, HttpOutputMessage outputMessage) throws IOException {
+        PositionCodec.writeUpdate(update, outputMessage.getBody());
+    }
+}
@@ -1,10 +1,11 @@
 package com.ccd.chess.controller;
 
+import com.ccd.chess.model.dto.BoardUpdate;
 import com.ccd.chess.model.dto.GameState;
-import com.ccd.chess.exceptions.InvalidPositionException;
-import com.ccd.chess.service.impl.GameServiceImpl;
-import com.ccd.chess.service.interfaces.BoardService;
-import com.ccd.chess.service.interfaces.GameService;
+import com.ccd.chess.exceptions.GameCapacityException;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.service.interfaces.GameRegistry;
+import com.ccd.chess.service.interfaces.GameSession;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
@@ -12,7 +13,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GameController - REST API endpoints for game interactions
@@ -30,14 +35,14 @@ import java.util.Map;
  *
  * Liskov Substitution Principle (LSP):
  * ✅ Works with service interfaces:
- * - GameService
- * - BoardService
+ * - GameRegistry
+ * - GameSession
  * Any implementation of these interfaces can be used
  *
  * Interface Segregation Principle (ISP):
  * ✅ Uses focused interfaces:
- * - GameService for game operations
- * - BoardService for board operations
+ * - GameRegistry for hosting many games
+ * - GameSession for game operations
  *
  * Dependency Inversion Principle (DIP):
  * ✅ Depends on abstractions:
@@ -49,48 +54,169 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:8090")
 public class GameController {
     private static final Logger logger = LoggerFactory.getLogger(GameController.class);
-    private GameService game;
-    private final BoardService boardService;
+    private final GameRegistry registry;
+    /** id of the game served by the endpoints without a game id **/
+    private volatile String legacyGameId;
 
     @Autowired
-    public GameController(BoardService boardService) {
-        this.boardService = boardService;
-        this.game = new GameServiceImpl(boardService);
+    public GameController(GameRegistry registry) {
+        this.registry = registry;
     }
 
+    /** creates a new game and returns its id, the game endpoints below take this id **/
+    @PostMapping("/games")
+    public ResponseEntity<Map<String, String>> createGame() {
+        try {
+            String gameId = registry.createGame();
+            logger.info("New Game " + gameId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(Collections.singletonMap("gameId", gameId));
+        } catch (GameCapacityException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @DeleteMapping("/games/{gameId}")
+    public ResponseEntity<Void> endGame(@PathVariable("gameId") String gameId) {
+        return registry.removeGame(gameId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /** this method is called when a player clicks on a polygon of the given game,
+     * the click is queued on the game's mailbox and answered when it was processed.
+     * With the board version the client shows, only the changed cells are returned
+     * */
+    @PostMapping("/games/{gameId}/onClick")
+    public CompletableFuture<ResponseEntity<GameState>> handleGamePolygonClick(@PathVariable("gameId") String gameId,
+                                                                               @RequestParam(name = "since", required = false) Long since,
+                                                                               @RequestBody String polygonText) {
+        logger.info("Game " + gameId + " polygon: " + polygonText);
+        return registry.findGame(gameId)
+                .map(session -> (since == null ? session.processClickEvent(polygonText)
+                        : session.processClickEvent(polygonText, since)).thenApply(ResponseEntity::ok))
+                .orElseGet(() -> CompletableFuture.completedFuture(ResponseEntity.notFound().build()));
+    }
+
+    /** the cells changed since the version the client shows, the whole board if it is unknown or too old **/
+    @GetMapping("/games/{gameId}/updates")
+    public ResponseEntity<BoardUpdate> getGameUpdate(@PathVariable("gameId") String gameId,
+                                                     @RequestParam(name = "since", defaultValue = "-1") long since) {
+        return registry.findGame(gameId)
+                .map(session -> ResponseEntity.ok(session.updateSince(since)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /** reads are served from the last published snapshot and never wait for the mailbox **/
+    @GetMapping("/games/{gameId}/currentPlayer")
+    public ResponseEntity<String> getGamePlayerTurn(@PathVariable("gameId") String gameId) {
+        return registry.findGame(gameId)
+                .map(session -> ResponseEntity.ok(session.snapshot().getCurrentTurn().toString()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/games/{gameId}/board")
+    public ResponseEntity<Map<String, String>> getGameBoard(@PathVariable("gameId") String gameId) {
+        return registry.findGame(gameId)
+                .map(session -> ResponseEntity.ok(session.snapshot().getBoard()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /** a seat taken by the computer is played by the engine whenever it is the colour's turn **/
+    @PutMapping("/games/{gameId}/bots/{colour}")
+    public ResponseEntity<Void> addBot(@PathVariable("gameId") String gameId, @PathVariable("colour") String colour) {
+        return setBotSeat(gameId, colour, true);
+    }
+
+    @DeleteMapping("/games/{gameId}/bots/{colour}")
+    public ResponseEntity<Void> removeBot(@PathVariable("gameId") String gameId, @PathVariable("colour") String colour) {
+        return setBotSeat(gameId, colour, false);
+    }
+
+    private ResponseEntity<Void> setBotSeat(String gameId, String colourName, boolean bot) {
+        Colour colour;
+        try {
+            colour = Colour.valueOf(colourName.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<GameSession> game = registry.findGame(gameId);
+        if (game.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        logger.info("Game " + gameId + " bot " + colour + ": " + bot);
+        game.get().setBotSeat(colour, bot);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** counters of the legal move cache shared by all games, to judge its size under load **/
+    @GetMapping("/stats/legal-move-cache")
+    public ResponseEntity<Map<String, Long>> getLegalMoveCacheStats() {
+        return ResponseEntity.ok(registry.legalMoveCacheStats());
+    }
+
+    /** Endpoints without a game id, kept for older clients. They share one game in the registry **/
+
+    /** replaces the game of the endpoints without a game id, the old game is removed first to free its slot **/
     @GetMapping("/newGame")
-    public ResponseEntity<Void> getNewGame() {
+    public synchronized ResponseEntity<Void> getNewGame() {
         logger.info("New Game");
-        this.game = new GameServiceImpl(boardService);
-        return ResponseEntity.ok().build();
+        registry.removeGame(legacyGameId);
+        legacyGameId = null;
+        try {
+            legacyGameId = registry.createGame();
+            return ResponseEntity.ok().build();
+        } catch (GameCapacityException e) {
+            logger.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
     }
 
     /** this method is called when a player clicks on a polygon
      * it
      * */
     @PostMapping("/onClick")
-    public ResponseEntity<GameState> HandlePolygonCLick(@RequestBody String polygonText) throws InvalidPositionException {
+    public CompletableFuture<ResponseEntity<GameState>> HandlePolygonCLick(@RequestBody String polygonText) {
+        GameSession game = legacyGame();
         if (game == null) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
         }
         logger.info("Polygon: " + polygonText);
-        return ResponseEntity.ok(game.processClickEvent(polygonText));
+        return game.processClickEvent(polygonText).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/currentPlayer")
     public ResponseEntity<String> getPlayerTurn() {
+        GameSession game = legacyGame();
         if (game == null) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
         logger.info("Requesting current player");
-        return ResponseEntity.ok(game.currentTurn().toString());
+        return ResponseEntity.ok(game.snapshot().getCurrentTurn().toString());
     }
 
     @GetMapping("/board")
     public ResponseEntity<Map<String, String>> getBoard() {
+        GameSession game = legacyGame();
         if (game == null) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
-        return ResponseEntity.ok(game.retrieveBoardState());
+        return ResponseEntity.ok(game.snapshot().getBoard());
+    }
+
+    /**
+     * Get the game of the endpoints without a game id, a new one is created if it was evicted
+     * @return GameSession or null if no game can be created
+     * */
+    private synchronized GameSession legacyGame() {
+        Optional<GameSession> game = registry.findGame(legacyGameId);
+        if (game.isPresent()) {
+            return game.get();
+        }
+        try {
+            legacyGameId = registry.createGame();
+            return registry.findGame(legacyGameId).orElse(null);
+        } catch (GameCapacityException e) {
+            logger.warn(e.getMessage());
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.ccd.chess.controller;
+
+import com.ccd.chess.model.dto.BoardUpdate;
+import com.ccd.chess.model.dto.GameSnapshot;
+import com.ccd.chess.service.interfaces.GameRegistry;
+import com.ccd.chess.service.interfaces.GameSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * GameUpdateSocketHandler - pushes every move of a game to all players and spectators connected
+ * to ws://host/ws/games/{gameId}
+ *
+ * A new connection gets the whole board, afterwards every move is pushed as the cells it changed.
+ * The connections of a game share one subscription to its GameSession. The update is serialized
+ * once on the game's mailbox and sent to every connection, so clients no longer poll the board
+ * and the current player.
+ */
+@Component
+public class GameUpdateSocketHandler extends TextWebSocketHandler {
+    /** close status sent when the game of the URL is unknown or was evicted **/
+    static final CloseStatus UNKNOWN_GAME = new CloseStatus(4404, "Unknown game");
+
+    private static final Logger logger = LoggerFactory.getLogger(GameUpdateSocketHandler.class);
+    private static final int SEND_TIME_LIMIT_MS = 5000;
+    private static final int BUFFER_SIZE_LIMIT = 256 * 1024;
+
+    private final GameRegistry registry;
+    private final ObjectMapper mapper;
+    /** connected games by game id, a channel is removed with its last connection **/
+    private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GameUpdateSocketHandler(GameRegistry registry, ObjectMapper mapper) {
+        this.registry = registry;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        String gameId = gameIdOf(session.getUri());
+        Optional<GameSession> game = registry.findGame(gameId);
+        if (game.isEmpty()) {
+            session.close(UNKNOWN_GAME);
+            return;
+        }
+        WebSocketSession connection = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, BUFFER_SIZE_LIMIT);
+        channels.compute(gameId, (id, channel) -> {
+            Channel joined = channel != null ? channel : new Channel(game.get());
+            joined.connections.put(session.getId(), connection);
+            return joined;
+        });
+        logger.info("Game " + gameId + " connection " + session.getId() + " opened");
+        // sent from the mailbox so it can not overtake an update of a move processed meanwhile
+        game.get().submit(service -> {
+            toMessage(BoardUpdate.full(game.get().snapshot())).ifPresent(message -> send(connection, message));
+            return null;
+        });
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        String gameId = gameIdOf(session.getUri());
+        channels.computeIfPresent(gameId, (id, channel) -> {
+            channel.connections.remove(session.getId());
+            if (channel.connections.isEmpty()) {
+                channel.unsubscribe.run();
+                return null;
+            }
+            return channel;
+        });
+        logger.info("Game " + gameId + " connection " + session.getId() + " closed: " + status);
+    }
+
+    /**
+     * @return number of open connections of a game
+     * */
+    int connectionCount(String gameId) {
+        Channel channel = channels.get(gameId);
+        return channel == null ? 0 : channel.connections.size();
+    }
+
+    private Optional<TextMessage> toMessage(BoardUpdate update) {
+        try {
+            return Optional.of(new TextMessage(mapper.writeValueAsString(update)));
+        } catch (IOException e) {
+            logger.error("Cannot serialize update: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void send(WebSocketSession connection, TextMessage message) {
+        try {
+            connection.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Update to connection " + connection.getId() + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the game id from the last path segment of the connection URL
+     * @param uri URL of the connection, e.g. ws://localhost:8090/ws/games/{gameId}
+     * @return game id, empty if the URL has none
+     * */
+    static String gameIdOf(URI uri) {
+        if (uri == null || uri.getPath() == null) {
+            return "";
+        }
+        String path = uri.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /** the connections of one game and its subscription **/
+    private final class Channel {
+        private final ConcurrentMap<String, WebSocketSession> connections = new ConcurrentHashMap<>();
+        private final Runnable unsubscribe;
+
+        private Channel(GameSession game) {
+            this.unsubscribe = game.subscribe(this::broadcast);
+        }
+
+        private void broadcast(GameSnapshot snapshot) {
+            BoardUpdate update = BoardUpdate.delta(snapshot, snapshot.getVersion() - 1, snapshot.getChanges());
+            toMessage(update).ifPresent(message -> connections.values().forEach(connection -> send(connection, message)));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+
+/**
+ * Evaluator - static score of a position used at the leaves of the search
+ **/
+public interface Evaluator {
+
+    /**
+     * Scores the position for one colour, higher is better for that colour
+     * @param board position to score, not changed
+     * @param colour colour the score is for
+     * @return score in centipawns
+     **/
+    int evaluate(BitBoard board, Colour colour);
+
+    /**
+     * Prepares the board of a search before its positions are scored, an evaluator which keeps
+     * incremental state on the board sets it up here. Nothing is done by default
+     * @param board root position of the search, copied for the helper threads afterwards
+     **/
+    default void prepare(BitBoard board) {
+    }
+}
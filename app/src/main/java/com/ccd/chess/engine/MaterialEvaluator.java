@@ -0,0 +1,49 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+
+/**
+ * MaterialEvaluator - scores a position by the material of the colour against the average
+ * material of its two opponents, so the start position scores 0 for every colour
+ **/
+public class MaterialEvaluator implements Evaluator {
+
+    /**
+     * @param type piece type
+     * @return value of the piece type in centipawns, see PieceType.getValue()
+     **/
+    public static int value(PieceType type) {
+        return type.getValue();
+    }
+
+    /**
+     * Scores the position for one colour
+     * @param board position to score, not changed
+     * @param colour colour the score is for
+     * @return own material minus the average material of the opponents
+     **/
+    @Override
+    public int evaluate(BitBoard board, Colour colour) {
+        int own = 0;
+        int opponents = 0;
+        for (Colour c : Colour.values()) {
+            int material = material(board, c);
+            if (c == colour) {
+                own = material;
+            } else {
+                opponents += material;
+            }
+        }
+        return own - opponents / 2;
+    }
+
+    private static int material(BitBoard board, Colour colour) {
+        int material = 0;
+        for (PieceType type : PieceType.values()) {
+            material += type.getValue() * board.pieceCount(colour, type);
+        }
+        return material;
+    }
+}
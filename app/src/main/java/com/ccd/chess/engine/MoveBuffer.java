@@ -0,0 +1,71 @@
+package com.ccd.chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * MoveBuffer - growable stack of encoded moves reused by every node of a search
+ *
+ * A node appends its moves on top of the moves of its parents and drops them again with
+ * release before it returns, so a search allocates no move lists once the buffer has grown
+ * to the deepest line. A buffer belongs to the thread using it.
+ **/
+public final class MoveBuffer {
+
+    /** target words of the piece being generated, scratch of MoveGenerator **/
+    final long[] targets = new long[2];
+    private int[] moves;
+    private int size;
+
+    /** MoveBuffer constructor with room for the moves of a few plies **/
+    public MoveBuffer() {
+        this(1024);
+    }
+
+    /**
+     * MoveBuffer constructor
+     * @param capacity moves held before the buffer grows
+     **/
+    public MoveBuffer(int capacity) {
+        this.moves = new int[Math.max(16, capacity)];
+    }
+
+    /** @return number of moves on the stack, the start of the moves added next **/
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index position on the stack
+     * @return encoded move, see MoveGenerator.move
+     **/
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Pushes a move
+     * @param move encoded move, see MoveGenerator.move
+     **/
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, 2 * size);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Drops the moves added after a size was taken
+     * @param mark earlier result of size()
+     **/
+    public void release(int mark) {
+        size = mark;
+    }
+
+    /**
+     * The backing array for sorting a range in place, replaced when the buffer grows
+     * @return backing array, valid up to size()
+     **/
+    public int[] array() {
+        return moves;
+    }
+}
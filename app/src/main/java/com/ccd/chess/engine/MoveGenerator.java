@@ -0,0 +1,323 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+
+import java.util.Arrays;
+
+/**
+ * MoveGenerator - legal move rules on a BitBoard, shared by the game and the engine tools
+ *
+ * A move is legal when the piece can reach the end cell and its own king is not attacked after
+ * the move. The tests play the move on the board and take it back, so no board copy is made.
+ *
+ * The moves can be generated in stages, the captures first and the quiet moves only when they
+ * are needed, so a search which cuts off on a capture and a mate test which finds an escape
+ * never test the legality of the other moves.
+ *
+ * A generated move is packed in an int: the end cell in bits 0-7, the start cell in bits 8-15,
+ * the moving piece in bits 16-20 and the captured piece in bits 21-25 as colour * 8 + type, and
+ * the CASTLING, PROMOTION and HAWK_CONTINUES flags above. Moves built with move(int, int) only
+ * hold the cells, squares(int) compares the two kinds.
+ **/
+public final class MoveGenerator {
+
+    /** Flag of a king move which also moves a rook **/
+    public static final int CASTLING = 1 << 26;
+
+    /** Flag of a pawn move which promotes the pawn to a queen **/
+    public static final int PROMOTION = 1 << 27;
+
+    /** Flag of the first capture of a Hawk, after which the same colour moves again **/
+    public static final int HAWK_CONTINUES = 1 << 28;
+
+    private static final int PIECE_SHIFT = 16;
+    private static final int CAPTURED_SHIFT = 21;
+    private static final int PIECE_MASK = 0x1F;
+    private static final int NO_PIECE = PIECE_MASK;
+    private static final PieceType[] TYPES = PieceType.values();
+    private static final Colour[] COLOURS = Colour.values();
+
+    /** Moves generated by a stage **/
+    public enum Stage {
+        /** moves onto a piece of an opponent **/
+        CAPTURES,
+        /** moves onto an empty cell, castling included **/
+        QUIETS,
+        /** both **/
+        ALL
+    }
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Collects the targets of a piece which do not leave its own king in check
+     * @param board board holding the piece
+     * @param start cell of the piece
+     * @param legal receives the legal targets as low and high word
+     **/
+    public static void collectLegalTargets(BitBoard board, int start, long[] legal) {
+        ChessPiece mover = board.pieceAt(start);
+        mover.collectTargets(board, start, legal);
+        Colour moverColour = mover.getColour();
+        for (int word = 0; word < legal.length; word++) {
+            for (long ends = legal[word]; ends != 0; ends &= ends - 1) {
+                long bit = Long.lowestOneBit(ends);
+                int end = 64 * word + Long.numberOfTrailingZeros(ends);
+                if (isKingInCheckAfterMove(board, moverColour, start, end)) {
+                    legal[word] &= ~bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the legal moves of the side to move, see encode(BitBoard, int, int) for the encoding
+     * @param board board to generate on, unchanged on return
+     * @return legal moves in the order of the start and end cell indices
+     **/
+    public static int[] legalMoves(BitBoard board) {
+        MoveBuffer buffer = new MoveBuffer(64);
+        int count = generate(board, Stage.ALL, buffer);
+        return Arrays.copyOf(buffer.array(), count);
+    }
+
+    /**
+     * Appends the legal moves of a stage of the side to move to a buffer, in the order of the
+     * start and end cell indices
+     * @param board board to generate on, unchanged on return
+     * @param stage moves to generate
+     * @param buffer receives the moves, see encode(BitBoard, int, int) for the encoding
+     * @return number of moves added
+     **/
+    public static int generate(BitBoard board, Stage stage, MoveBuffer buffer) {
+        Colour side = board.getSideToMove();
+        long[] targets = buffer.targets;
+        int before = buffer.size();
+        for (int pieceWord = 0; pieceWord < 2; pieceWord++) {
+            long pieces = pieceWord == 0 ? board.colourLo(side) : board.colourHi(side);
+            for (long bits = pieces; bits != 0; bits &= bits - 1) {
+                int start = 64 * pieceWord + Long.numberOfTrailingZeros(bits);
+                collectStageTargets(board, start, side, stage, targets);
+                long lo = targets[0];
+                long hi = targets[1];
+                for (int word = 0; word < 2; word++) {
+                    for (long ends = word == 0 ? lo : hi; ends != 0; ends &= ends - 1) {
+                        int end = 64 * word + Long.numberOfTrailingZeros(ends);
+                        if (!isKingInCheckAfterMove(board, side, start, end)) {
+                            buffer.add(encode(board, start, end));
+                        }
+                    }
+                }
+            }
+        }
+        return buffer.size() - before;
+    }
+
+    /**
+     * Checks if a colour has a legal move, the captures are tried first and the test stops at
+     * the first legal move
+     * @param board board to test on, unchanged on return
+     * @param colour colour to test, need not be the side to move
+     * @return true if a piece of the colour has a legal move
+     **/
+    public static boolean hasLegalMove(BitBoard board, Colour colour) {
+        // snapshot of the pieces, the board is changed and restored while the moves are tried
+        long[] pieces = {board.colourLo(colour), board.colourHi(colour)};
+        long[] targets = new long[2];
+        for (Stage stage : new Stage[]{Stage.CAPTURES, Stage.QUIETS}) {
+            for (int pieceWord = 0; pieceWord < pieces.length; pieceWord++) {
+                for (long bits = pieces[pieceWord]; bits != 0; bits &= bits - 1) {
+                    int start = 64 * pieceWord + Long.numberOfTrailingZeros(bits);
+                    collectStageTargets(board, start, colour, stage, targets);
+                    for (int word = 0; word < targets.length; word++) {
+                        for (long ends = targets[word]; ends != 0; ends &= ends - 1) {
+                            int end = 64 * word + Long.numberOfTrailingZeros(ends);
+                            if (!isKingInCheckAfterMove(board, colour, start, end)) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the targets of a piece reached by the moves of a stage, legal or not
+     **/
+    private static void collectStageTargets(BitBoard board, int start, Colour colour, Stage stage, long[] targets) {
+        board.pieceAt(start).collectTargets(board, start, targets);
+        if (stage == Stage.ALL) {
+            return;
+        }
+        long occupiedLo = board.occupiedLo();
+        long occupiedHi = board.occupiedHi();
+        if (stage == Stage.CAPTURES) {
+            targets[0] &= occupiedLo & ~board.colourLo(colour);
+            targets[1] &= occupiedHi & ~board.colourHi(colour);
+        } else {
+            targets[0] &= ~occupiedLo;
+            targets[1] &= ~occupiedHi;
+        }
+    }
+
+    /**
+     * Encodes the cells of a move in an int
+     * @param start index the piece moves from
+     * @param end index the piece moves to
+     * @return start in bits 8-15, end in bits 0-7
+     **/
+    public static int move(int start, int end) {
+        return start << 8 | end;
+    }
+
+    /**
+     * Encodes a move with its pieces and flags in an int, before the move is played
+     * @param board board the move is played on
+     * @param start index of the moving piece
+     * @param end index the piece moves to
+     * @return packed move, see the class comment
+     **/
+    public static int encode(BitBoard board, int start, int end) {
+        ChessPiece mover = board.pieceAt(start);
+        ChessPiece captured = board.pieceAt(end);
+        int move = move(start, end)
+                | pieceCode(mover) << PIECE_SHIFT
+                | (captured == null ? NO_PIECE : pieceCode(captured)) << CAPTURED_SHIFT;
+        PieceType type = mover.getType();
+        PositionOnBoard from = PositionOnBoard.at(start);
+        PositionOnBoard to = PositionOnBoard.at(end);
+        if (type == PieceType.KING && from.getColumn() == 4 && from.getRow() == 0
+                && (to.getColumn() == 2 || to.getColumn() == 6)) {
+            move |= CASTLING;
+        } else if (type == PieceType.PAWN && to.getRow() == 0 && to.getColour() != mover.getColour()) {
+            move |= PROMOTION;
+        } else if (type == PieceType.HAWK && captured != null && !board.isHawkPending()) {
+            move |= HAWK_CONTINUES;
+        }
+        return move;
+    }
+
+    /**
+     * @param move packed move or a move of the cells only
+     * @return the cells of the move, as move(int, int) encodes them
+     **/
+    public static int squares(int move) {
+        return move & 0xFFFF;
+    }
+
+    /**
+     * @param move packed move
+     * @return type of the moving piece
+     **/
+    public static PieceType movedType(int move) {
+        return TYPES[pieceIndex(move) % TYPES.length];
+    }
+
+    /**
+     * @param move packed move
+     * @return colour of the moving piece
+     **/
+    public static Colour movedColour(int move) {
+        return COLOURS[pieceIndex(move) / TYPES.length];
+    }
+
+    /**
+     * @param move packed move
+     * @return true if the move captures a piece
+     **/
+    public static boolean isCapture(int move) {
+        return (move >>> CAPTURED_SHIFT & PIECE_MASK) != NO_PIECE;
+    }
+
+    /**
+     * @param move packed move
+     * @return type of the captured piece, null if the move captures nothing
+     **/
+    public static PieceType capturedType(int move) {
+        int captured = move >>> CAPTURED_SHIFT & PIECE_MASK;
+        return captured == NO_PIECE ? null : TYPES[captured % TYPES.length];
+    }
+
+    /**
+     * @param move packed move
+     * @return colour * 8 + type of the moving piece
+     **/
+    static int pieceIndex(int move) {
+        return move >>> PIECE_SHIFT & PIECE_MASK;
+    }
+
+    private static int pieceCode(ChessPiece piece) {
+        return piece.getColour().ordinal() * TYPES.length + piece.getType().ordinal();
+    }
+
+    /**
+     * @param move encoded move
+     * @return index the piece moves from
+     **/
+    public static int start(int move) {
+        return move >>> 8 & 0xFF;
+    }
+
+    /**
+     * @param move encoded move
+     * @return index the piece moves to
+     **/
+    public static int end(int move) {
+        return move & 0xFF;
+    }
+
+    /**
+     * Plays the move on the board, tests the king and takes the move back.
+     * The rook stays in place on castling, only the square the king lands on is tested
+     * @param board board to test on, unchanged on return
+     * @param colour colour of the king to test
+     * @param start index the piece moves from
+     * @param end index the piece moves to
+     * @return true if the king of the colour is attacked after the move
+     **/
+    public static boolean isKingInCheckAfterMove(BitBoard board, Colour colour, int start, int end) {
+        board.makeMove(start, end, false);
+        try {
+            return board.isKingInCheck(colour);
+        } finally {
+            board.unmakeMove();
+        }
+    }
+
+    /**
+     * Checks if the king of a colour is in check and no move of that colour takes it out of check
+     * @param board board to test on, unchanged on return
+     * @param colour colour of the king
+     * @return true if the colour is checkmated
+     **/
+    public static boolean isCheckmate(BitBoard board, Colour colour) {
+        return board.isKingInCheck(colour) && !hasLegalMove(board, colour);
+    }
+
+    /**
+     * Checks if the last move made on the board ended the game, like BoardServiceImpl.executeMove does:
+     * a colour other than the mover's is checkmated. The first capture of a Hawk keeps the turn and
+     * never ends the game
+     * @param board board the move was made on
+     * @return true if the game is over after the last move
+     **/
+    public static boolean isGameOverAfterLastMove(BitBoard board) {
+        Colour moverColour = board.lastMove().getMover().getColour();
+        if (board.isHawkPending() && board.getSideToMove() == moverColour) {
+            return false;
+        }
+        for (Colour colour : Colour.values()) {
+            if (colour != moverColour && isCheckmate(board, colour)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
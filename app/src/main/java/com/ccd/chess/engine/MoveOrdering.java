@@ -0,0 +1,124 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+
+import java.util.Arrays;
+
+/**
+ * MoveOrdering - sorts the moves of a position so the moves most likely to cause a cutoff are
+ * searched first
+ *
+ * The hash move comes first, then the captures, the most valuable victim first and for the same
+ * victim the least valuable attacker first (MVV-LVA), then the two killer moves of the ply, quiet
+ * moves which caused a cutoff in another position at the same ply, and then the other quiet moves
+ * by their history score, how often and how deep the piece moving to the cell caused a cutoff.
+ * The killers and the history are learned during a search and belong to the thread running it.
+ * The pieces are read from the packed moves of MoveGenerator, the board is not looked at.
+ **/
+final class MoveOrdering {
+
+    /** plies with killer moves, deeper plies only use the history **/
+    static final int MAX_PLY = 128;
+
+    private static final int HASH_SCORE = Integer.MAX_VALUE;
+    private static final int CAPTURE_SCORE = 1 << 30;
+    private static final int KILLER_SCORE = 1 << 29;
+    private static final int HISTORY_LIMIT = 1 << 28;
+    /** the king is the most valuable attacker, it is captured back by anything **/
+    private static final int KING_ATTACKER_VALUE = 1000;
+    private static final int CELLS = PositionOnBoard.values().length;
+    private static final int TYPES = PieceType.values().length;
+
+    private final int[][] killers = new int[MAX_PLY][2];
+    /** history score per piece, colour and type, and end cell **/
+    private final int[] history = new int[Colour.values().length * TYPES * CELLS];
+    private int[] scores = new int[64];
+
+    MoveOrdering() {
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, TranspositionTable.NO_MOVE);
+        }
+    }
+
+    /**
+     * Sorts the moves of the side to move, moves of the same score keep their order
+     * @param moves legal moves of the position, packed by MoveGenerator
+     * @param hashMove cells of the move of the transposition table searched first, or TranspositionTable.NO_MOVE
+     * @param ply distance of the position from the root
+     **/
+    void order(int[] moves, int hashMove, int ply) {
+        order(moves, 0, moves.length, hashMove, ply);
+    }
+
+    /**
+     * Sorts a range of the moves of the side to move, moves of the same score keep their order
+     * @param moves legal moves of the position, packed by MoveGenerator
+     * @param from first index of the range
+     * @param to index after the range
+     * @param hashMove cells of the move of the transposition table searched first, or TranspositionTable.NO_MOVE
+     * @param ply distance of the position from the root
+     **/
+    void order(int[] moves, int from, int to, int hashMove, int ply) {
+        if (scores.length < to) {
+            scores = new int[Math.max(to, 2 * scores.length)];
+        }
+        for (int i = from; i < to; i++) {
+            scores[i] = MoveGenerator.squares(moves[i]) == hashMove ? HASH_SCORE : score(moves[i], ply);
+        }
+        for (int i = from + 1; i < to; i++) {
+            int move = moves[i];
+            int score = scores[i];
+            int j = i - 1;
+            for (; j >= from && scores[j] < score; j--) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+            }
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * Learns from a move which caused a cutoff, captures are ordered well already and are skipped
+     * @param move packed move which caused the cutoff
+     * @param depth plies searched below the position
+     * @param ply distance of the position from the root
+     **/
+    void cutoff(int move, int depth, int ply) {
+        if (MoveGenerator.isCapture(move)) {
+            return;
+        }
+        int squares = MoveGenerator.squares(move);
+        if (ply < MAX_PLY && killers[ply][0] != squares) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = squares;
+        }
+        int index = historyIndex(move);
+        history[index] += depth * depth;
+        if (history[index] > HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] /= 2;
+            }
+        }
+    }
+
+    private int score(int move, int ply) {
+        PieceType victim = MoveGenerator.capturedType(move);
+        if (victim != null) {
+            PieceType attacker = MoveGenerator.movedType(move);
+            int attackerValue = attacker == PieceType.KING ? KING_ATTACKER_VALUE : MaterialEvaluator.value(attacker);
+            return CAPTURE_SCORE + 16 * MaterialEvaluator.value(victim) - attackerValue;
+        }
+        int squares = MoveGenerator.squares(move);
+        if (ply < MAX_PLY && (killers[ply][0] == squares || killers[ply][1] == squares)) {
+            return killers[ply][0] == squares ? KILLER_SCORE + 1 : KILLER_SCORE;
+        }
+        return history[historyIndex(move)];
+    }
+
+    private static int historyIndex(int move) {
+        return MoveGenerator.pieceIndex(move) * CELLS + MoveGenerator.end(move);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ParallelPerft - Perft with the first plies split across a ForkJoinPool
+ *
+ * Every move of the split plies is a task which plays the move on its own copy of the board, so
+ * the workers share no mutable state. Below the split plies a task counts sequentially with Perft.
+ * The counts are the same as the sequential ones.
+ **/
+public class ParallelPerft {
+
+    private final ForkJoinPool pool;
+    private final int splitPlies;
+
+    /**
+     * ParallelPerft constructor
+     * @param pool pool running the tasks
+     * @param splitPlies number of plies whose moves are split into tasks, 1 for the first moves only
+     **/
+    public ParallelPerft(ForkJoinPool pool, int splitPlies) {
+        if (splitPlies < 1) {
+            throw new IllegalArgumentException("splitPlies must be at least 1: " + splitPlies);
+        }
+        this.pool = pool;
+        this.splitPlies = splitPlies;
+    }
+
+    /**
+     * Counts the move sequences of the given length
+     * @param board position to count from, only read
+     * @param depth number of plies
+     * @return number of positions reached after depth plies
+     **/
+    public long count(BitBoard board, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        for (long moveNodes : divide(board, depth).values()) {
+            nodes += moveNodes;
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the move sequences of the given length per first move
+     * @param board position to count from, only read
+     * @param depth number of plies, at least 1
+     * @return node count per first move, keyed like "Bb2-Bb3", in move generation order
+     **/
+    public Map<String, Long> divide(BitBoard board, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth must be at least 1: " + depth);
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        BitBoard root = new BitBoard(board);
+        List<MoveTask> tasks = MoveTask.split(root, depth, splitPlies);
+        for (MoveTask task : tasks) {
+            pool.execute(task);
+        }
+        for (MoveTask task : tasks) {
+            counts.put(Perft.moveName(task.move), task.join());
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the positions below one move on a copy of the board
+     **/
+    private static final class MoveTask extends RecursiveTask<Long> {
+
+        private final BitBoard parent;
+        private final int move;
+        private final int depth;
+        private final int splitPlies;
+
+        private MoveTask(BitBoard parent, int move, int depth, int splitPlies) {
+            this.parent = parent;
+            this.move = move;
+            this.depth = depth;
+            this.splitPlies = splitPlies;
+        }
+
+        /**
+         * Creates a task for every legal move of the board, the board is not changed afterwards
+         * so the tasks can copy it concurrently
+         **/
+        static List<MoveTask> split(BitBoard board, int depth, int splitPlies) {
+            List<MoveTask> tasks = new ArrayList<>();
+            for (int move : MoveGenerator.legalMoves(board)) {
+                tasks.add(new MoveTask(board, move, depth, splitPlies));
+            }
+            return tasks;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth == 1) {
+                return 1L;
+            }
+            BitBoard board = new BitBoard(parent);
+            board.makeMove(MoveGenerator.start(move), MoveGenerator.end(move));
+            if (MoveGenerator.isGameOverAfterLastMove(board)) {
+                return 0L;
+            }
+            if (splitPlies == 1) {
+                return new Perft(board).count(depth - 1);
+            }
+            List<MoveTask> children = split(board, depth - 1, splitPlies - 1);
+            long nodes = 0;
+            for (MoveTask child : invokeAll(children)) {
+                nodes += child.join();
+            }
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.service.impl.BoardServiceImpl;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Perft - counts the legal move sequences of a given length from a position
+ *
+ * Every move is a ply, so the first capture of a Hawk, which keeps the turn, is followed by
+ * another move of the same colour. Castling moves the rook and pawns are promoted, as in the
+ * game. A move after which a colour is checkmated ends the game and has no continuation.
+ * The counts pin the behaviour of the move generation and the check logic, a change to either
+ * which keeps the counts keeps the rules.
+ *
+ * Arguments: --depth=4 --divide=true --threads=1,2,4,8 --split=1
+ * With --threads the count of the last depth is repeated with ParallelPerft on a pool of each size
+ * and the speedup over the sequential count is reported.
+ **/
+public class Perft {
+
+    private final BitBoard board;
+    /** legal targets per ply and start cell, reused to avoid allocation in the walk **/
+    private long[][] targets = new long[0][];
+
+    /**
+     * Perft constructor
+     * @param board position to count from, changed during a count and restored afterwards
+     **/
+    public Perft(BitBoard board) {
+        this.board = board;
+    }
+
+    /**
+     * Creates the start position of a game with SILVER to move
+     * @return new board
+     **/
+    public static BitBoard initialBoard() {
+        return new BitBoard(new BoardServiceImpl().getBoardMap());
+    }
+
+    /**
+     * Counts the move sequences of the given length
+     * @param depth number of plies
+     * @return number of positions reached after depth plies
+     **/
+    public long count(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        ensureDepth(depth);
+        return count(depth, 0);
+    }
+
+    /**
+     * Counts the move sequences of the given length per first move
+     * @param depth number of plies, at least 1
+     * @return node count per first move, keyed like "Bb2-Bb3", in move generation order
+     **/
+    public Map<String, Long> divide(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth must be at least 1: " + depth);
+        }
+        ensureDepth(depth);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int move : MoveGenerator.legalMoves(board)) {
+            int start = MoveGenerator.start(move);
+            int end = MoveGenerator.end(move);
+            counts.put(moveName(move), countMove(start, end, depth, 0));
+        }
+        return counts;
+    }
+
+    /**
+     * Names a move for the divide output
+     * @param move encoded move, see MoveGenerator.move
+     * @return start and end position, like "Bb2-Bb3"
+     **/
+    static String moveName(int move) {
+        return PositionOnBoard.at(MoveGenerator.start(move)) + "-" + PositionOnBoard.at(MoveGenerator.end(move));
+    }
+
+    private long count(int depth, int ply) {
+        long nodes = 0;
+        nodes += countPieces(board.colourLo(board.getSideToMove()), 0, depth, ply);
+        nodes += countPieces(board.colourHi(board.getSideToMove()), 64, depth, ply);
+        return nodes;
+    }
+
+    private long countPieces(long pieces, int offset, int depth, int ply) {
+        long nodes = 0;
+        long[] legal = targets[ply];
+        for (long bits = pieces; bits != 0; bits &= bits - 1) {
+            int start = offset + Long.numberOfTrailingZeros(bits);
+            MoveGenerator.collectLegalTargets(board, start, legal);
+            if (depth == 1) {
+                nodes += Long.bitCount(legal[0]) + Long.bitCount(legal[1]);
+                continue;
+            }
+            long lo = legal[0];
+            long hi = legal[1];
+            for (long ends = lo; ends != 0; ends &= ends - 1) {
+                nodes += countMove(start, Long.numberOfTrailingZeros(ends), depth, ply);
+            }
+            for (long ends = hi; ends != 0; ends &= ends - 1) {
+                nodes += countMove(start, 64 + Long.numberOfTrailingZeros(ends), depth, ply);
+            }
+        }
+        return nodes;
+    }
+
+    private long countMove(int start, int end, int depth, int ply) {
+        if (depth == 1) {
+            return 1;
+        }
+        board.makeMove(start, end);
+        try {
+            return MoveGenerator.isGameOverAfterLastMove(board) ? 0 : count(depth - 1, ply + 1);
+        } finally {
+            board.unmakeMove();
+        }
+    }
+
+    private void ensureDepth(int depth) {
+        if (targets.length < depth) {
+            targets = new long[depth][2];
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseArgs(args);
+        int depth = Integer.parseInt(options.getOrDefault("depth", "4"));
+        boolean divide = Boolean.parseBoolean(options.getOrDefault("divide", "false"));
+
+        Perft perft = new Perft(initialBoard());
+        if (divide) {
+            long total = 0;
+            for (Map.Entry<String, Long> entry : perft.divide(depth).entrySet()) {
+                System.out.printf("%s %d%n", entry.getKey(), entry.getValue());
+                total += entry.getValue();
+            }
+            System.out.printf("moves=%d nodes=%d%n", perft.divide(1).size(), total);
+        }
+        double sequentialSeconds = 0;
+        for (int d = 1; d <= depth; d++) {
+            long begin = System.nanoTime();
+            long nodes = perft.count(d);
+            sequentialSeconds = (System.nanoTime() - begin) / 1e9;
+            System.out.printf("depth=%d nodes=%d time=%.3fs nps=%.0f%n", d, nodes, sequentialSeconds, nodes / Math.max(sequentialSeconds, 1e-9));
+        }
+
+        if (options.containsKey("threads")) {
+            int splitPlies = Integer.parseInt(options.getOrDefault("split", "1"));
+            for (String threads : options.get("threads").split(",")) {
+                ForkJoinPool pool = new ForkJoinPool(Integer.parseInt(threads.trim()));
+                try {
+                    long begin = System.nanoTime();
+                    long nodes = new ParallelPerft(pool, splitPlies).count(initialBoard(), depth);
+                    double seconds = (System.nanoTime() - begin) / 1e9;
+                    System.out.printf("threads=%s depth=%d nodes=%d time=%.3fs nps=%.0f speedup=%.2f%n", threads.trim(), depth, nodes,
+                            seconds, nodes / Math.max(seconds, 1e-9), sequentialSeconds / Math.max(seconds, 1e-9));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
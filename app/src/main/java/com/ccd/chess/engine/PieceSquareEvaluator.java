@@ -0,0 +1,94 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.util.MoveTables;
+import com.ccd.chess.util.PieceSquareTables;
+
+/**
+ * PieceSquareEvaluator - scores a position by material, piece placement, mobility and king safety
+ *
+ * Material and placement come from the piece square tables of the evaluator. prepare hands them to
+ * the board of a search, which then keeps the piece square score per colour up to date with every
+ * move, so it costs nothing to read; a board without these tables is scored from scratch.
+ * Mobility counts the cells the pieces of the colour can move to which are not held by its own
+ * pieces, king safety takes off the cells next to the king an opponent can move to. Both are read
+ * from the attack maps of the board. As in MaterialEvaluator the score of the colour is set against
+ * the average score of its two opponents, so the start position scores 0.
+ **/
+public class PieceSquareEvaluator implements Evaluator {
+
+    private final PieceSquareTables tables;
+
+    /**
+     * PieceSquareEvaluator constructor
+     * @param tables piece square tables and weights of the mobility and king safety terms
+     **/
+    public PieceSquareEvaluator(PieceSquareTables tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * PieceSquareEvaluator constructor with the default tables, see PieceSquareTables.getDefault()
+     **/
+    public PieceSquareEvaluator() {
+        this(PieceSquareTables.getDefault());
+    }
+
+    /**
+     * Hands the piece square tables to the board, so it keeps the scores of the colours up to date
+     * @param board root position of the search
+     **/
+    @Override
+    public void prepare(BitBoard board) {
+        board.setPieceSquareTables(tables);
+    }
+
+    /**
+     * Scores the position for one colour
+     * @param board position to score, not changed
+     * @param colour colour the score is for
+     * @return own score minus the average score of the opponents
+     **/
+    @Override
+    public int evaluate(BitBoard board, Colour colour) {
+        int own = 0;
+        int opponents = 0;
+        for (Colour c : Colour.values()) {
+            int score = score(board, c);
+            if (c == colour) {
+                own = score;
+            } else {
+                opponents += score;
+            }
+        }
+        return own - opponents / 2;
+    }
+
+    /**
+     * @param board position to score
+     * @param colour colour to score
+     * @return piece square score, mobility and king safety of the colour
+     **/
+    int score(BitBoard board, Colour colour) {
+        int placement = board.getPieceSquareTables() == tables ? board.pieceSquareScore(colour) : tables.compute(board, colour);
+        long mobileLo = board.attacksLo(colour) & ~board.colourLo(colour);
+        long mobileHi = board.attacksHi(colour) & ~board.colourHi(colour);
+        int mobility = Long.bitCount(mobileLo) + Long.bitCount(mobileHi);
+        return placement + tables.mobilityWeight() * mobility - tables.kingZoneWeight() * kingZoneAttacks(board, colour);
+    }
+
+    private static int kingZoneAttacks(BitBoard board, Colour colour) {
+        int king = board.kingSquare(colour);
+        if (king < 0) {
+            return 0;
+        }
+        int attacked = 0;
+        for (int cell : MoveTables.kingSteps(king)) {
+            if (board.isAttackedByOpponents(cell, colour)) {
+                attacked++;
+            }
+        }
+        return attacked;
+    }
+}
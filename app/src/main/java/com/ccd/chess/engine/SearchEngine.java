@@ -0,0 +1,533 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SearchEngine - paranoid alpha-beta search for a computer player
+ *
+ * The colour to move at the root assumes its two opponents play together against it, so the
+ * three player game becomes a two sided one: the root colour maximises its score and every
+ * opponent move minimises it, and alpha-beta pruning applies unchanged. Turns follow the board,
+ * so the first capture of a Hawk, which keeps the turn, is followed by another move of the same
+ * colour. A move which checkmates any colour wins the game for the mover.
+ *
+ * The search deepens iteratively, one ply per iteration up to the depth, with the best move of the
+ * last iteration searched first. No iteration is started once half of the time budget is used up,
+ * as it would likely not finish; an iteration running out of time is abandoned and the move of the
+ * last completed one is played. Searched positions are kept in an optional transposition table;
+ * positions reached again through another move order reuse the stored score and search the stored
+ * best move first. The other moves are searched in the order of MoveOrdering, captures by MVV-LVA,
+ * then killer moves and quiet moves by their history; the quiet moves are only generated when no
+ * capture cut the node off. Apart from the table the engine holds no state between searches and
+ * can be shared by all games.
+ *
+ * With more than one thread the search is Lazy SMP: helper threads search the same root on their
+ * own copies of the board, every second one a ply deeper and each with its first moves in another
+ * order, and fill the shared table for the main thread. The move of the main thread is played,
+ * the helpers are stopped when it is done.
+ *
+ * Arguments: --depth=5 --threads=1,2,4,8 --hash-mb=64 --ordering=true
+ * Searches the start position to the depth once per thread count and reports the nodes per
+ * second and the speedup over the first thread count. A search a ply shallower warms up the JIT.
+ * With --ordering=false the moves are searched without MoveOrdering, to compare the nodes.
+ **/
+public class SearchEngine {
+
+    /** Plies searched when no depth is configured **/
+    public static final int DEFAULT_DEPTH = 3;
+
+    /** Time a search may take when no budget is configured, in milliseconds **/
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 300;
+
+    /** Score of a won game, reduced by the number of plies to the win **/
+    public static final int WIN = 1_000_000;
+
+    /** scores beyond this are wins, stored relative to the position instead of the root **/
+    private static final int WIN_THRESHOLD = WIN - 1000;
+
+    /** stages of the move generation of a node **/
+    private static final MoveGenerator.Stage[] ALL_AT_ONCE = {MoveGenerator.Stage.ALL};
+    private static final MoveGenerator.Stage[] CAPTURES_FIRST = {MoveGenerator.Stage.CAPTURES, MoveGenerator.Stage.QUIETS};
+
+    /** number of positions between two looks at the clock **/
+    private static final int CLOCK_INTERVAL = 256;
+
+    private final Evaluator evaluator;
+    private final int maxDepth;
+    private final long timeBudgetMillis;
+    private final TranspositionTable table;
+    private final int threads;
+    private final boolean orderMoves;
+    private final ExecutorService helpers;
+
+    /**
+     * SearchEngine constructor without a transposition table
+     * @param evaluator scores the positions at the leaves
+     * @param maxDepth plies to search, at least 1
+     * @param timeBudgetMillis time a search may take
+     **/
+    public SearchEngine(Evaluator evaluator, int maxDepth, long timeBudgetMillis) {
+        this(evaluator, maxDepth, timeBudgetMillis, null);
+    }
+
+    /**
+     * SearchEngine constructor
+     * @param evaluator scores the positions at the leaves
+     * @param maxDepth plies to search, at least 1
+     * @param timeBudgetMillis time a search may take
+     * @param table transposition table shared by the searches, null for none
+     **/
+    public SearchEngine(Evaluator evaluator, int maxDepth, long timeBudgetMillis, TranspositionTable table) {
+        this(evaluator, maxDepth, timeBudgetMillis, table, 1);
+    }
+
+    /**
+     * SearchEngine constructor
+     * @param evaluator scores the positions at the leaves
+     * @param maxDepth plies to search, at least 1
+     * @param timeBudgetMillis time a search may take
+     * @param table transposition table shared by the searches, null for none
+     * @param threads threads searching a move, the calling one and threads - 1 helpers
+     **/
+    public SearchEngine(Evaluator evaluator, int maxDepth, long timeBudgetMillis, TranspositionTable table, int threads) {
+        this(evaluator, maxDepth, timeBudgetMillis, table, threads, true);
+    }
+
+    /**
+     * SearchEngine constructor
+     * @param evaluator scores the positions at the leaves
+     * @param maxDepth plies to search, at least 1
+     * @param timeBudgetMillis time a search may take
+     * @param table transposition table shared by the searches, null for none
+     * @param threads threads searching a move, the calling one and threads - 1 helpers
+     * @param orderMoves false to search the moves in generation order with only the hash move first,
+     *                   to measure what the ordering saves
+     **/
+    public SearchEngine(Evaluator evaluator, int maxDepth, long timeBudgetMillis, TranspositionTable table, int threads,
+                        boolean orderMoves) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth must be at least 1: " + maxDepth);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        this.evaluator = evaluator;
+        this.maxDepth = maxDepth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.table = table;
+        this.threads = threads;
+        this.orderMoves = orderMoves;
+        this.helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, helperThreadFactory()) : null;
+    }
+
+    /** @return threads searching a move **/
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Starts a new generation of the transposition table, entries of the searches before are replaced
+     * first. The searches do not start one themselves, the engine may be searching for several games
+     * at once; the owner of the engine calls this between searches or on a timer
+     **/
+    public void newGeneration() {
+        if (table != null) {
+            table.newSearch();
+        }
+    }
+
+    /** Stops the helper threads, searches started afterwards fail **/
+    public void shutdown() {
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * Searches the best move of the side to move within the configured time budget
+     * @param board position to search, changed during the search and restored afterwards
+     * @return the chosen move, without a move if the side to move has no legal move
+     **/
+    public SearchResult findBestMove(BitBoard board) {
+        return findBestMove(board, timeBudgetMillis);
+    }
+
+    /**
+     * Searches the best move of the side to move
+     * @param board position to search, changed during the search and restored afterwards, prepared
+     *              for the evaluator
+     * @param timeBudgetMillis time the search may take, for example from a TimeManager
+     * @return the chosen move, without a move if the side to move has no legal move
+     **/
+    public SearchResult findBestMove(BitBoard board, long timeBudgetMillis) {
+        long begin = System.nanoTime();
+        long deadline = begin + timeBudgetMillis * 1_000_000L;
+        long iterationDeadline = begin + timeBudgetMillis * 500_000L;
+        AtomicBoolean abort = new AtomicBoolean();
+        evaluator.prepare(board);
+        List<Search> helperSearches = new ArrayList<>();
+        List<Future<?>> helperFutures = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            Search helper = new Search(new BitBoard(board), deadline, iterationDeadline, abort, maxDepth + i % 2, i);
+            helperSearches.add(helper);
+            helperFutures.add(helpers.submit(helper));
+        }
+
+        Search main = new Search(board, deadline, iterationDeadline, abort, maxDepth, 0);
+        SearchResult result = main.searchRoot();
+        if (helperSearches.isEmpty()) {
+            return result;
+        }
+        abort.set(true);
+        long nodes = result.getNodes();
+        for (int i = 0; i < helperSearches.size(); i++) {
+            Search helper = helperSearches.get(i);
+            if (helper.claimed.compareAndSet(false, true)) {
+                continue; // not started yet, it never will
+            }
+            try {
+                helperFutures.get(i).get();
+                nodes += helper.nodes;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // a failed helper only costs its contribution to the table
+            }
+        }
+        return new SearchResult(result.getMove(), result.getScore(), result.getDepth(), nodes);
+    }
+
+    private static ThreadFactory helperThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "search-helper-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * State of one search, confined to the thread running it
+     **/
+    private final class Search implements Runnable {
+
+        private final BitBoard board;
+        private final Colour root;
+        private final long deadline;
+        private final long iterationDeadline;
+        private final AtomicBoolean abort;
+        private final int depth;
+        private final int rotation;
+        private final MoveOrdering ordering;
+        private final MoveBuffer buffer = new MoveBuffer();
+        /** set by the thread which runs the search or by the main thread to skip it **/
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private long nodes;
+        private boolean stopped;
+
+        /**
+         * @param deadline the search stops when the clock passes it
+         * @param iterationDeadline no iteration is started after it
+         * @param rotation the first moves are rotated by this many places after the hash move
+         **/
+        private Search(BitBoard board, long deadline, long iterationDeadline, AtomicBoolean abort, int depth, int rotation) {
+            this.board = board;
+            this.root = board.getSideToMove();
+            this.deadline = deadline;
+            this.iterationDeadline = iterationDeadline;
+            this.abort = abort;
+            this.depth = depth;
+            this.rotation = rotation;
+            this.ordering = orderMoves ? new MoveOrdering() : null;
+        }
+
+        /** Runs a helper search, the table keeps its results **/
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true) && !abort.get()) {
+                searchRoot();
+            }
+        }
+
+        private SearchResult searchRoot() {
+            int[] moves = MoveGenerator.legalMoves(board);
+            if (moves.length == 0) {
+                return new SearchResult(SearchResult.NO_MOVE, evaluator.evaluate(board, root), 0, 0);
+            }
+            rotate(moves, rotation);
+            long key = board.getZobristKey();
+            int hashMove = TranspositionTable.NO_MOVE;
+            if (table != null) {
+                long entry = table.probe(key);
+                if (entry != TranspositionTable.MISS) {
+                    hashMove = TranspositionTable.move(entry);
+                }
+            }
+            order(moves, 0, moves.length, hashMove, 0);
+            SearchResult completed = null;
+            for (int iteration = 1; iteration <= depth; iteration++) {
+                if (completed != null && System.nanoTime() > iterationDeadline) {
+                    break;
+                }
+                int bestMove = moves[0];
+                int bestScore = -WIN - 1;
+                int alpha = -WIN - 1;
+                for (int move : moves) {
+                    int score = searchMove(move, iteration, 0, alpha, WIN + 1);
+                    if (stopped) {
+                        break;
+                    }
+                    if (score > bestScore) {
+                        bestScore = score;
+                        bestMove = move;
+                        alpha = Math.max(alpha, score);
+                    }
+                }
+                if (stopped) {
+                    if (completed == null) { // not even the first iteration finished
+                        int score = bestScore < -WIN ? evaluator.evaluate(board, root) : bestScore;
+                        completed = new SearchResult(bestMove, score, 0, nodes);
+                    }
+                    break;
+                }
+                completed = new SearchResult(bestMove, bestScore, iteration, nodes);
+                moveToFront(moves, bestMove);
+                if (table != null) {
+                    table.store(key, bestMove, iteration, TranspositionTable.EXACT, root, toTable(bestScore, 0));
+                }
+                if (bestScore > WIN_THRESHOLD) {
+                    break; // a forced win, deeper iterations find no faster one
+                }
+            }
+            return new SearchResult(completed.getMove(), completed.getScore(), completed.getDepth(), nodes);
+        }
+
+        /**
+         * Stages of the move generation of a node: the captures first, unless the hash move is a quiet
+         * move, which is searched before the captures, or the moves are not ordered
+         **/
+        private MoveGenerator.Stage[] stages(int hashMove) {
+            if (ordering == null || hashMove != TranspositionTable.NO_MOVE && !board.isOccupied(MoveGenerator.end(hashMove))) {
+                return ALL_AT_ONCE;
+            }
+            return CAPTURES_FIRST;
+        }
+
+        private void order(int[] moves, int from, int to, int hashMove, int ply) {
+            if (ordering != null) {
+                ordering.order(moves, from, to, hashMove, ply);
+            } else {
+                moveToFront(moves, from, to, hashMove);
+            }
+        }
+
+        /**
+         * Plays a move and searches the position after it
+         * @return score for the root colour
+         **/
+        private int searchMove(int move, int depth, int ply, int alpha, int beta) {
+            Colour mover = board.getSideToMove();
+            board.makeMove(MoveGenerator.start(move), MoveGenerator.end(move));
+            try {
+                if (MoveGenerator.isGameOverAfterLastMove(board)) {
+                    return mover == root ? WIN - ply : -WIN + ply;
+                }
+                return search(depth - 1, ply + 1, alpha, beta);
+            } finally {
+                board.unmakeMove();
+            }
+        }
+
+        private int search(int depth, int ply, int alpha, int beta) {
+            if (++nodes % CLOCK_INTERVAL == 0 && (System.nanoTime() > deadline || abort.get())) {
+                stopped = true;
+            }
+            if (stopped) {
+                return 0;
+            }
+            if (depth == 0) {
+                return evaluator.evaluate(board, root);
+            }
+
+            long key = board.getZobristKey();
+            int hashMove = TranspositionTable.NO_MOVE;
+            if (table != null) {
+                long entry = table.probe(key);
+                if (entry != TranspositionTable.MISS) {
+                    hashMove = TranspositionTable.move(entry);
+                    if (TranspositionTable.root(entry) == root && TranspositionTable.depth(entry) >= depth) {
+                        int score = fromTable(TranspositionTable.score(entry), ply);
+                        int bound = TranspositionTable.bound(entry);
+                        if (bound == TranspositionTable.EXACT) {
+                            return score;
+                        } else if (bound == TranspositionTable.LOWER) {
+                            alpha = Math.max(alpha, score);
+                        } else {
+                            beta = Math.min(beta, score);
+                        }
+                        if (alpha >= beta) {
+                            return score;
+                        }
+                    }
+                }
+            }
+
+            Colour side = board.getSideToMove();
+            boolean maximising = side == root;
+            int alphaOriginal = alpha;
+            int betaOriginal = beta;
+            int best = maximising ? -WIN - 1 : WIN + 1;
+            int bestMove = TranspositionTable.NO_MOVE;
+            boolean anyMove = false;
+            int mark = buffer.size();
+            try {
+                stages:
+                for (MoveGenerator.Stage stage : stages(hashMove)) {
+                    int from = buffer.size();
+                    int to = from + MoveGenerator.generate(board, stage, buffer);
+                    order(buffer.array(), from, to, hashMove, ply);
+                    for (int i = from; i < to; i++) {
+                        int move = buffer.get(i);
+                        anyMove = true;
+                        int score = searchMove(move, depth, ply, alpha, beta);
+                        if (stopped) {
+                            return 0;
+                        }
+                        if (maximising ? score > best : score < best) {
+                            best = score;
+                            bestMove = move;
+                        }
+                        if (maximising) {
+                            alpha = Math.max(alpha, best);
+                        } else {
+                            beta = Math.min(beta, best);
+                        }
+                        if (alpha >= beta) {
+                            if (ordering != null) {
+                                ordering.cutoff(move, depth, ply);
+                            }
+                            break stages;
+                        }
+                    }
+                }
+            } finally {
+                buffer.release(mark);
+            }
+            if (!anyMove) {
+                if (!board.isKingInCheck(side)) {
+                    return evaluator.evaluate(board, root);
+                }
+                return maximising ? -WIN + ply : WIN - ply;
+            }
+            if (table != null) {
+                int bound = best <= alphaOriginal ? TranspositionTable.UPPER
+                        : best >= betaOriginal ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+                table.store(key, bestMove, depth, bound, root, toTable(best, ply));
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Moves the move to the front of the list, keeping the order of the others
+     * @param moves legal moves
+     * @param move move to search first, ignored if it is not in the list
+     **/
+    private static void moveToFront(int[] moves, int move) {
+        moveToFront(moves, 0, moves.length, move);
+    }
+
+    /**
+     * Moves the move to the front of a range of the list, keeping the order of the others
+     * @param moves legal moves
+     * @param from first index of the range
+     * @param to index after the range
+     * @param move move to search first, ignored if it is not in the range
+     **/
+    private static void moveToFront(int[] moves, int from, int to, int move) {
+        for (int i = from; i < to; i++) {
+            if (MoveGenerator.squares(moves[i]) == MoveGenerator.squares(move)) {
+                int found = moves[i];
+                System.arraycopy(moves, from, moves, from + 1, i - from);
+                moves[from] = found;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Rotates the moves to the left, so helper threads start with different moves
+     * @param moves legal moves
+     * @param by places to rotate
+     **/
+    private static void rotate(int[] moves, int by) {
+        int shift = by % moves.length;
+        if (shift == 0) {
+            return;
+        }
+        int[] head = Arrays.copyOf(moves, shift);
+        System.arraycopy(moves, shift, moves, 0, moves.length - shift);
+        System.arraycopy(head, 0, moves, moves.length - shift, shift);
+    }
+
+    /** win scores count the plies from the root, the table keeps them relative to the position **/
+    private static int toTable(int score, int ply) {
+        return score > WIN_THRESHOLD ? score + ply : score < -WIN_THRESHOLD ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return score > WIN_THRESHOLD ? score - ply : score < -WIN_THRESHOLD ? score + ply : score;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseArgs(args);
+        int depth = Integer.parseInt(options.getOrDefault("depth", "5"));
+        int hashMegabytes = Integer.parseInt(options.getOrDefault("hash-mb", "64"));
+        boolean orderMoves = Boolean.parseBoolean(options.getOrDefault("ordering", "true"));
+        new SearchEngine(new MaterialEvaluator(), Math.max(1, depth - 1), 3_600_000L).findBestMove(Perft.initialBoard());
+        double firstSeconds = 0;
+        for (String value : options.getOrDefault("threads", "1").split(",")) {
+            int threads = Integer.parseInt(value.trim());
+            TranspositionTable table = TranspositionTable.ofMegabytes(hashMegabytes, TranspositionTable.Replacement.DEPTH_PREFERRED);
+            SearchEngine engine = new SearchEngine(new MaterialEvaluator(), depth, 3_600_000L, table, threads, orderMoves); // to the depth
+            try {
+                long begin = System.nanoTime();
+                SearchResult result = engine.findBestMove(Perft.initialBoard());
+                double seconds = (System.nanoTime() - begin) / 1e9;
+                if (firstSeconds == 0) {
+                    firstSeconds = seconds;
+                }
+                System.out.printf("threads=%d depth=%d move=%s score=%d nodes=%d time=%.3fs nps=%.0f speedup=%.2f%n", threads, depth,
+                        Perft.moveName(result.getMove()), result.getScore(), result.getNodes(), seconds,
+                        result.getNodes() / Math.max(seconds, 1e-9), firstSeconds / Math.max(seconds, 1e-9));
+            } finally {
+                engine.shutdown();
+            }
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+
+/**
+ * SearchResult - the move chosen by a search with its score and the work done
+ **/
+public class SearchResult {
+
+    /** Move of a result when the side to move has no legal move **/
+    public static final int NO_MOVE = -1;
+
+    private final int move;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+
+    /**
+     * SearchResult constructor
+     * @param move chosen move, see MoveGenerator.move, or NO_MOVE
+     * @param score score of the move for the searching colour
+     * @param depth plies searched
+     * @param nodes positions visited
+     **/
+    public SearchResult(int move, int score, int depth, long nodes) {
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+
+    /** @return chosen move, see MoveGenerator.move, or NO_MOVE **/
+    public int getMove() {
+        return move;
+    }
+
+    /** @return true if a move was found **/
+    public boolean hasMove() {
+        return move != NO_MOVE;
+    }
+
+    /** @return position the chosen piece moves from **/
+    public PositionOnBoard getStart() {
+        return PositionOnBoard.at(MoveGenerator.start(move));
+    }
+
+    /** @return position the chosen piece moves to **/
+    public PositionOnBoard getEnd() {
+        return PositionOnBoard.at(MoveGenerator.end(move));
+    }
+
+    /** @return score of the move for the searching colour in centipawns **/
+    public int getScore() {
+        return score;
+    }
+
+    /** @return plies searched **/
+    public int getDepth() {
+        return depth;
+    }
+
+    /** @return positions visited **/
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{move=" + (hasMove() ? Perft.moveName(move) : "none") + ", score=" + score
+                + ", depth=" + depth + ", nodes=" + nodes + "}";
+    }
+}
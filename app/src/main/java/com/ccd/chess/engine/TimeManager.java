@@ -0,0 +1,51 @@
+package com.ccd.chess.engine;
+
+/**
+ * TimeManager - splits the thinking time of a computer player over its moves
+ *
+ * A seat of the engine gets a clock of thinking time for the whole game. Every move may use the
+ * time left divided by the moves the game is expected to last, so the moves get shorter as the
+ * clock runs down instead of the engine running out of time. The budget of a move is kept between
+ * a minimum, so a move is always searched at least a ply, and a maximum, so a game with a long
+ * clock still answers quickly.
+ **/
+public class TimeManager {
+
+    /** Thinking time of a seat for the whole game when none is configured, in milliseconds **/
+    public static final long DEFAULT_CLOCK_MILLIS = 300_000;
+
+    /** Moves a game is expected to last from any position when none is configured **/
+    public static final int DEFAULT_MOVES_TO_GO = 30;
+
+    /** Time a move may always take, even when the clock has run out, in milliseconds **/
+    public static final long MIN_BUDGET_MILLIS = 10;
+
+    private final long clockMillis;
+    private final int movesToGo;
+    private final long maxBudgetMillis;
+
+    /**
+     * TimeManager constructor
+     * @param clockMillis thinking time of a seat for the whole game
+     * @param movesToGo moves the time left is divided over, at least 1
+     * @param maxBudgetMillis time a move may take at most
+     **/
+    public TimeManager(long clockMillis, int movesToGo, long maxBudgetMillis) {
+        if (movesToGo < 1) {
+            throw new IllegalArgumentException("movesToGo must be at least 1: " + movesToGo);
+        }
+        this.clockMillis = clockMillis;
+        this.movesToGo = movesToGo;
+        this.maxBudgetMillis = Math.max(MIN_BUDGET_MILLIS, maxBudgetMillis);
+    }
+
+    /**
+     * Computes the time budget of the next move of a seat
+     * @param usedMillis thinking time the seat used so far in the game
+     * @return milliseconds the search of the move may take
+     **/
+    public long budgetMillis(long usedMillis) {
+        long left = Math.max(0, clockMillis - usedMillis);
+        return Math.max(MIN_BUDGET_MILLIS, Math.min(maxBudgetMillis, left / movesToGo));
+    }
+}
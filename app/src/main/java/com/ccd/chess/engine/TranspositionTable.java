@@ -0,0 +1,192 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.enums.Colour;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TranspositionTable - fixed size table of searched positions shared by the search threads
+ *
+ * Every entry is two longs, the packed data and the Zobrist key XOR the data. Both are written
+ * and read without locks; an entry whose two words were written by different threads does not
+ * verify against the key of the probe and reads as a miss. The number of entries is the largest
+ * power of two fitting the memory budget, the slot is the low bits of the key.
+ *
+ * The search is paranoid, so a score only holds for the colour the search was run for. The entry
+ * keeps that colour, a probe of another colour only uses the best move.
+ *
+ * Every entry is stamped with the generation it was stored in. A table used by one search at a time
+ * starts a generation per search; a table shared by concurrent searches starts one on a timer
+ * instead, as a generation per search would end the generation of every other running search.
+ **/
+public class TranspositionTable {
+
+    /** Which entry is kept when a position lands in an occupied slot **/
+    public enum Replacement {
+        /** the new entry always replaces the old one **/
+        ALWAYS,
+        /** the old entry is kept if it was searched deeper in the current generation **/
+        DEPTH_PREFERRED
+    }
+
+    /** Result of a probe which found no entry for the key **/
+    public static final long MISS = 0;
+
+    /** Bound types of a stored score **/
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    /** Move of an entry without a best move **/
+    public static final int NO_MOVE = 0xFFFF;
+
+    /** Bytes used by one entry **/
+    public static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    private static final Colour[] COLOURS = Colour.values();
+    private static final int SCORE_BITS = 21;
+    private static final int SCORE_OFFSET = 1 << (SCORE_BITS - 1);
+    private static final int BOUND_SHIFT = 21;
+    private static final int ROOT_SHIFT = 23;
+    private static final int DEPTH_SHIFT = 25;
+    private static final int MAX_DEPTH = 127;
+    private static final int MOVE_SHIFT = 32;
+    private static final int GENERATION_SHIFT = 48;
+    private static final long VALID = 1L << 63;
+
+    private final AtomicLongArray words;
+    private final long mask;
+    private final Replacement replacement;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * TranspositionTable constructor
+     * @param memoryBytes memory budget, at least one entry
+     * @param replacement replacement policy
+     **/
+    public TranspositionTable(long memoryBytes, Replacement replacement) {
+        long entries = Long.highestOneBit(Math.max(1, memoryBytes / ENTRY_BYTES));
+        entries = Math.min(entries, 1 << 29); // two words per entry in an int indexed array
+        this.words = new AtomicLongArray((int) (2 * entries));
+        this.mask = entries - 1;
+        this.replacement = replacement;
+    }
+
+    /**
+     * Creates a table with a memory budget in megabytes
+     * @param megabytes memory budget
+     * @param replacement replacement policy
+     * @return new table
+     **/
+    public static TranspositionTable ofMegabytes(int megabytes, Replacement replacement) {
+        return new TranspositionTable((long) megabytes << 20, replacement);
+    }
+
+    /** @return number of entries **/
+    public int capacity() {
+        return words.length() / 2;
+    }
+
+    /** Starts a new generation, entries of earlier generations are replaced first **/
+    public void newSearch() {
+        generation.updateAndGet(g -> (g + 1) & 0xFF);
+    }
+
+    /** Removes all entries **/
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.setOpaque(i, 0);
+        }
+    }
+
+    /**
+     * Looks up a position
+     * @param key Zobrist key of the position
+     * @return packed data of the entry, read with the static accessors, or MISS
+     **/
+    public long probe(long key) {
+        int slot = slot(key);
+        long data = words.getOpaque(slot + 1);
+        long check = words.getOpaque(slot);
+        return (data & VALID) != 0 && (check ^ data) == key ? data : MISS;
+    }
+
+    /**
+     * Stores the result of a search of a position
+     * @param key Zobrist key of the position
+     * @param move best move, see MoveGenerator.move, or NO_MOVE
+     * @param depth plies searched below the position
+     * @param bound EXACT, LOWER or UPPER
+     * @param root colour the score is for
+     * @param score score of the position
+     **/
+    public void store(long key, int move, int depth, int bound, Colour root, int score) {
+        int slot = slot(key);
+        int current = generation.get();
+        if (replacement == Replacement.DEPTH_PREFERRED) {
+            long old = words.getOpaque(slot + 1);
+            boolean sameKey = (words.getOpaque(slot) ^ old) == key;
+            if ((old & VALID) != 0 && !sameKey && generation(old) == current && depth(old) > depth) {
+                return;
+            }
+        }
+        long data = VALID
+                | (long) current << GENERATION_SHIFT
+                | (long) (move & 0xFFFF) << MOVE_SHIFT
+                | (long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT
+                | (long) root.ordinal() << ROOT_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (score + SCORE_OFFSET);
+        words.setOpaque(slot, key ^ data);
+        words.setOpaque(slot + 1, data);
+    }
+
+    private int slot(long key) {
+        return (int) (key & mask) << 1;
+    }
+
+    /**
+     * @param data packed entry
+     * @return best move, or NO_MOVE
+     **/
+    public static int move(long data) {
+        return (int) (data >>> MOVE_SHIFT) & 0xFFFF;
+    }
+
+    /**
+     * @param data packed entry
+     * @return plies searched below the position
+     **/
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+    }
+
+    /**
+     * @param data packed entry
+     * @return EXACT, LOWER or UPPER
+     **/
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * @param data packed entry
+     * @return colour the score is for
+     **/
+    public static Colour root(long data) {
+        return COLOURS[(int) (data >>> ROOT_SHIFT) & 0x3];
+    }
+
+    /**
+     * @param data packed entry
+     * @return score of the position
+     **/
+    public static int score(long data) {
+        return (int) (data & ((1 << SCORE_BITS) - 1)) - SCORE_OFFSET;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+}
@@ -0,0 +1,10 @@
+package com.ccd.chess.exceptions;
+
+/**
+ *  Class to throw a custom exception when no more games can be hosted
+ **/
+public class GameCapacityException extends Exception{
+    public GameCapacityException(String msg){
+        super("Game capacity reached: "+msg);
+    }
+}
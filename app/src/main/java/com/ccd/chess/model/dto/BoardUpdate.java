@@ -0,0 +1,99 @@
+package com.ccd.chess.model.dto;
+
+import java.util.Map;
+
+/**
+ * BoardUpdate - the board of a game as the cells changed since a version the client knows,
+ * or the whole board when the client has to resync. Pushed over the game's WebSocket and
+ * returned by the game endpoints which take the known version.
+ */
+public final class BoardUpdate {
+
+    /** base version of a full update, it does not depend on a known board **/
+    public static final long NO_VERSION = -1;
+
+    private final long version;
+    private final long baseVersion;
+    private final boolean full;
+    private final Map<String, String> cells;
+    private final String currentPlayer;
+    private final String winner;
+
+    private BoardUpdate(GameSnapshot snapshot, long baseVersion, boolean full, Map<String, String> cells) {
+        this.version = snapshot.getVersion();
+        this.baseVersion = baseVersion;
+        this.full = full;
+        this.cells = cells;
+        this.currentPlayer = snapshot.getCurrentTurn().toString();
+        this.winner = snapshot.getWinner();
+    }
+
+    /**
+     * Creates an update with the whole board
+     * @param snapshot snapshot of the game
+     * @return update replacing the board of the client
+     */
+    public static BoardUpdate full(GameSnapshot snapshot) {
+        return new BoardUpdate(snapshot, NO_VERSION, true, snapshot.getBoard());
+    }
+
+    /**
+     * Creates an update with the cells changed since a known version
+     * @param snapshot snapshot of the game
+     * @param baseVersion version the changes apply to
+     * @param changes cells changed between the base version and the snapshot, "" for an empty cell
+     * @return update applied on top of the board of the client
+     */
+    public static BoardUpdate delta(GameSnapshot snapshot, long baseVersion, Map<String, String> changes) {
+        return new BoardUpdate(snapshot, baseVersion, false, changes);
+    }
+
+    /**
+     * @return version of the board after the update
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return version the changed cells apply to, NO_VERSION for a full update
+     */
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    /**
+     * @return true if the cells are the whole board, false if they are the changed cells
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * @return board position and piece, "" for a cell which became empty
+     */
+    public Map<String, String> getCells() {
+        return cells;
+    }
+
+    /**
+     * @return colour to move in the short form of the web app, e.g. B
+     */
+    public String getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return winner != null;
+    }
+
+    /**
+     * @return name of the winning colour, null while the game is running
+     */
+    public String getWinner() {
+        return winner;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ccd.chess.model.dto;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.util.PositionCodec;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.Map;
+
+/**
+ * GameSnapshot - immutable copy of the board and the turn of a game, published after every
+ * processed request which changed the game, so reads never wait for the game's mailbox.
+ * Each published snapshot gets the next version and keeps the cells changed since the previous one.
+ * The next snapshot is made from the changed cells alone; the board in the string representation
+ * of the web app is only built when it is read, for a client which needs the whole board.
+ */
+public final class GameSnapshot {
+
+    /** piece of every cell index in the string representation, null for an empty cell **/
+    private final String[] cells;
+    private final Colour currentTurn;
+    private final String winner;
+    private final long version;
+    private final ImmutableMap<String, String> changes;
+    private volatile ImmutableMap<String, String> board;
+
+    /**
+     * GameSnapshot constructor
+     * @param board board in the string representation of the web app, copied
+     * @param currentTurn colour to move
+     * @param winner name of the winning colour, null while the game is running
+     * @param version version of the board, 0 for the start position
+     * @param changes cells changed since the previous version, "" for a cell which became empty
+     */
+    public GameSnapshot(Map<String, String> board, Colour currentTurn, String winner,
+                        long version, Map<String, String> changes) {
+        this(new String[BitBoard.SIZE], currentTurn, winner, version, changes);
+        board.forEach((cell, piece) -> cells[PositionCodec.index(cell)] = piece);
+    }
+
+    private GameSnapshot(String[] cells, Colour currentTurn, String winner, long version, Map<String, String> changes) {
+        this.cells = cells;
+        this.currentTurn = currentTurn;
+        this.winner = winner;
+        this.version = version;
+        this.changes = ImmutableMap.copyOf(changes);
+    }
+
+    /**
+     * Creates the snapshot of the next version from the cells changed since this one
+     * @param currentTurn colour to move
+     * @param winner name of the winning colour, null while the game is running
+     * @param changes cells changed since this version, "" for a cell which became empty
+     * @return snapshot of the next version
+     */
+    public GameSnapshot next(Colour currentTurn, String winner, Map<String, String> changes) {
+        String[] next = cells.clone();
+        changes.forEach((cell, piece) -> next[PositionCodec.index(cell)] = piece.isEmpty() ? null : piece);
+        return new GameSnapshot(next, currentTurn, winner, version + 1, changes);
+    }
+
+    /**
+     * @return Map with board position and piece, unmodifiable, built on the first call
+     */
+    public Map<String, String> getBoard() {
+        ImmutableMap<String, String> built = board;
+        if (built == null) {
+            ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+            for (int index = 0; index < cells.length; index++) {
+                if (cells[index] != null) {
+                    builder.put(PositionCodec.label(index), cells[index]);
+                }
+            }
+            built = builder.build();
+            board = built;
+        }
+        return built;
+    }
+
+    /**
+     * @return colour to move
+     */
+    public Colour getCurrentTurn() {
+        return currentTurn;
+    }
+
+    /**
+     * @return name of the winning colour, null while the game is running
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return version of the board
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return cells changed since the previous version, "" for a cell which became empty, unmodifiable
+     */
+    public Map<String, String> getChanges() {
+        return changes;
+    }
+}
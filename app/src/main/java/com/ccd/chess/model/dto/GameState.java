@@ -1,10 +1,13 @@
 package com.ccd.chess.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 import java.util.Map;
 
 /**
  * GameState class to store the state of the game
+ * The board is either the whole board or, for clients which sent their known version, a BoardUpdate
  */
 public class GameState {
 
@@ -12,6 +15,7 @@ public class GameState {
     private final Map<String, String> board;
     private boolean isGameOver;
     private String winner;
+    private BoardUpdate boardUpdate;
 
     /**
      * GameState constructor
@@ -31,12 +35,35 @@ public class GameState {
 
     /**
      * Method to share the board info to the web app
-     * @return Map with board position and piece
+     * @return Map with board position and piece, null if the state carries a BoardUpdate
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public Map<String, String> getBoard() {
         return board;
     }
 
+    /**
+     * Method to share the changed cells instead of the whole board
+     * @return BoardUpdate, null if the state carries the whole board
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public BoardUpdate getBoardUpdate() {
+        return boardUpdate;
+    }
+
+    /**
+     * Copies the state with a board update in place of the whole board
+     * @param update cells changed since the version known by the client
+     * @return GameState without the board
+     */
+    public GameState withBoardUpdate(BoardUpdate update) {
+        GameState state = new GameState(null, highlightedPolygons);
+        state.isGameOver = isGameOver;
+        state.winner = winner;
+        state.boardUpdate = update;
+        return state;
+    }
+
     /**
      * Method to share the winner info to the web app
      * @param winner is set
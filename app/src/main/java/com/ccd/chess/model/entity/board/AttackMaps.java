@@ -0,0 +1,99 @@
+package com.ccd.chess.model.entity.board;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+import com.ccd.chess.util.MoveTables;
+
+/**
+ * AttackMaps - per colour union of the cells the pieces of that colour can move to
+ *
+ * The target words of every piece are cached per cell. Changed cells are collected in a dirty
+ * mask and on the next query only the pieces standing on a dirty cell, or whose reach from
+ * MoveTables crosses one, are regenerated. Sliders far away from the changed cells keep their
+ * cached targets.
+ **/
+class AttackMaps {
+
+    private static final int COLOURS = Colour.values().length;
+
+    /** target words of the piece on each cell, low word at 2 * index and high word at 2 * index + 1 **/
+    private final long[] targets;
+    /** union of the target words per colour, low word at 2 * colour and high word at 2 * colour + 1 **/
+    private final long[] attacks;
+    private final long[] dirty;
+    private final long[] scratch = new long[2];
+
+    /**
+     * AttackMaps constructor, every cell starts dirty
+     **/
+    AttackMaps() {
+        targets = new long[2 * BitBoard.SIZE];
+        attacks = new long[2 * COLOURS];
+        dirty = new long[]{-1L, -1L};
+    }
+
+    /**
+     * Copy constructor
+     * @param other attack maps to copy
+     **/
+    AttackMaps(AttackMaps other) {
+        targets = other.targets.clone();
+        attacks = other.attacks.clone();
+        dirty = other.dirty.clone();
+    }
+
+    /**
+     * Marks a cell whose content changed
+     * @param index cell index
+     **/
+    void markDirty(int index) {
+        BitBoard.setBit(dirty, index);
+    }
+
+    /** Marks every cell as changed **/
+    void markAllDirty() {
+        dirty[0] = -1L;
+        dirty[1] = -1L;
+    }
+
+    /**
+     * Get the attacked cells of a colour, regenerating the pieces affected by changed cells first
+     * @param board board the maps belong to
+     * @param colour colour of the attacking pieces
+     * @param word 0 for the low word, 1 for the high word
+     * @return attacked cells
+     **/
+    long attacks(BitBoard board, Colour colour, int word) {
+        refresh(board);
+        return attacks[2 * colour.ordinal() + word];
+    }
+
+    private void refresh(BitBoard board) {
+        if ((dirty[0] | dirty[1]) == 0) {
+            return;
+        }
+        for (int word = 0; word < attacks.length; word++) {
+            attacks[word] = 0;
+        }
+        refreshWord(board, board.occupiedLo(), 0);
+        refreshWord(board, board.occupiedHi(), 64);
+        dirty[0] = 0;
+        dirty[1] = 0;
+    }
+
+    private void refreshWord(BitBoard board, long occupied, int offset) {
+        for (long bits = occupied; bits != 0; bits &= bits - 1) {
+            int index = offset + Long.numberOfTrailingZeros(bits);
+            ChessPiece piece = board.pieceAt(index);
+            long[] reach = MoveTables.reach(piece.getColour(), piece.getType(), index);
+            if (BitBoard.testBit(dirty, index) || (reach[0] & dirty[0]) != 0 || (reach[1] & dirty[1]) != 0) {
+                piece.collectTargets(board, index, scratch);
+                targets[2 * index] = scratch[0];
+                targets[2 * index + 1] = scratch[1];
+            }
+            int colour = 2 * piece.getColour().ordinal();
+            attacks[colour] |= targets[2 * index];
+            attacks[colour + 1] |= targets[2 * index + 1];
+        }
+    }
+}
@@ -0,0 +1,687 @@
+package com.ccd.chess.model.entity.board;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+import com.ccd.chess.model.entity.pieces.Hawk;
+import com.ccd.chess.model.entity.pieces.King;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Queen;
+import com.ccd.chess.util.PieceSquareTables;
+import com.ccd.chess.util.ZobristKeys;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * BitBoard - board model for the 96 cell three player board
+ *
+ * Occupancy is stored per colour and per piece type in two 64 bit words indexed by
+ * PositionOnBoard.ordinal(): the low word holds cells 0-63 and the high word cells 64-95.
+ * A mailbox array keeps the piece instances so the board can still be used as a
+ * Map of positions to pieces by the pieces and the web adapter.
+ *
+ * The board also owns the side to move and the Hawk double-capture state, and supports a
+ * reversible makeMove/unmakeMove pair so legality tests mutate and restore one board in place.
+ * Attack maps per colour are kept up to date incrementally, so check detection is a mask test.
+ * Piece lists hold the cells of the pieces of each colour grouped by type, so the king square and
+ * the material of a colour are read without scanning the board. Once the engine hands the board
+ * piece square tables, the piece square score of each colour is summed as pieces are placed and
+ * removed.
+ **/
+public class BitBoard extends AbstractMap<PositionOnBoard, ChessPiece> {
+
+    /** Number of cells on the board **/
+    public static final int SIZE = 96;
+
+    private static final int COLOURS = Colour.values().length;
+    private static final int TYPES = PieceType.values().length;
+    private static final ChessPiece[] PROMOTION_QUEENS = new ChessPiece[COLOURS];
+
+    static {
+        for (Colour colour : Colour.values()) {
+            PROMOTION_QUEENS[colour.ordinal()] = new Queen(colour);
+        }
+    }
+
+    private final ChessPiece[] squares;
+    private final long[] colourLo;
+    private final long[] colourHi;
+    private final long[] typeLo;
+    private final long[] typeHi;
+    /** cells of the pieces per colour and type, list colour * TYPES + type **/
+    private final int[][] pieceLists;
+    private final int[] pieceCounts;
+    /** slot of the piece on each cell in its piece list **/
+    private final int[] slots;
+    private int size;
+    private Colour sideToMove;
+    private boolean hawkPending;
+    /** Zobrist key of the position, updated with every placed or removed piece and turn change **/
+    private long zobristKey;
+    /** tables the piece square scores are summed with, null while no evaluator needs them **/
+    private PieceSquareTables pieceSquareTables;
+    /** sum of the piece square values of the pieces per colour, updated like the Zobrist key **/
+    private final int[] pieceSquareScores;
+    private MoveUndo[] history;
+    private int historySize;
+    private final AttackMaps attackMaps;
+
+    /**
+     * BitBoard constructor, creates an empty board with SILVER to move
+     **/
+    public BitBoard() {
+        squares = new ChessPiece[SIZE];
+        colourLo = new long[COLOURS];
+        colourHi = new long[COLOURS];
+        typeLo = new long[TYPES];
+        typeHi = new long[TYPES];
+        pieceLists = new int[COLOURS * TYPES][8];
+        pieceCounts = new int[COLOURS * TYPES];
+        slots = new int[SIZE];
+        sideToMove = Colour.SILVER;
+        zobristKey = ZobristKeys.sideToMove(sideToMove);
+        pieceSquareScores = new int[COLOURS];
+        history = new MoveUndo[16];
+        attackMaps = new AttackMaps();
+    }
+
+    /**
+     * Copy constructor, copies the occupancy words, the mailbox and the side to move of the other board.
+     * The move history is not copied, so the copy cannot unmake moves made on the original.
+     * @param other board to copy
+     **/
+    public BitBoard(BitBoard other) {
+        squares = other.squares.clone();
+        colourLo = other.colourLo.clone();
+        colourHi = other.colourHi.clone();
+        typeLo = other.typeLo.clone();
+        typeHi = other.typeHi.clone();
+        pieceLists = new int[COLOURS * TYPES][];
+        for (int list = 0; list < pieceLists.length; list++) {
+            pieceLists[list] = other.pieceLists[list].clone();
+        }
+        pieceCounts = other.pieceCounts.clone();
+        slots = other.slots.clone();
+        size = other.size;
+        sideToMove = other.sideToMove;
+        hawkPending = other.hawkPending;
+        zobristKey = other.zobristKey;
+        pieceSquareTables = other.pieceSquareTables;
+        pieceSquareScores = other.pieceSquareScores.clone();
+        history = new MoveUndo[16];
+        attackMaps = new AttackMaps(other.attackMaps);
+    }
+
+    /**
+     * Creates a board holding the same pieces as the given map
+     * @param boardMap map of positions to pieces
+     **/
+    public BitBoard(Map<PositionOnBoard, ChessPiece> boardMap) {
+        this();
+        putAll(boardMap);
+    }
+
+    /**
+     * Checks if the cell is set in the given pair of occupancy words
+     * @param lo low word, cells 0-63
+     * @param hi high word, cells 64-95
+     * @param index cell index
+     * @return boolean
+     **/
+    public static boolean testBit(long lo, long hi, int index) {
+        return index < 64 ? (lo & (1L << index)) != 0 : (hi & (1L << (index - 64))) != 0;
+    }
+
+    /**
+     * Checks if the cell is set in a pair of words, low word first
+     * @param words low and high word
+     * @param index cell index
+     * @return boolean
+     **/
+    public static boolean testBit(long[] words, int index) {
+        return (words[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * Sets the cell in a pair of words, low word first
+     * @param words low and high word
+     * @param index cell index
+     **/
+    public static void setBit(long[] words, int index) {
+        words[index >>> 6] |= 1L << (index & 63);
+    }
+
+    /**
+     * Converts a pair of words to the set of positions
+     * @param words low and high word
+     * @return Set of the positions whose cell is set
+     **/
+    public static Set<PositionOnBoard> toPositions(long[] words) {
+        Set<PositionOnBoard> positions = EnumSet.noneOf(PositionOnBoard.class);
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                positions.add(PositionOnBoard.at(64 * word + Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Get the piece on the given cell
+     * @param index cell index
+     * @return ChessPiece or null if the cell is empty
+     **/
+    public ChessPiece pieceAt(int index) {
+        return squares[index];
+    }
+
+    /**
+     * @param index cell index
+     * @return true if a piece stands on the cell
+     **/
+    public boolean isOccupied(int index) {
+        return squares[index] != null;
+    }
+
+    /**
+     * Places a piece on a cell, replacing any piece already standing there
+     * @param index cell index
+     * @param piece piece to place, null empties the cell
+     * @return the piece previously on the cell
+     **/
+    public ChessPiece place(int index, ChessPiece piece) {
+        ChessPiece previous = squares[index];
+        if (previous != null) {
+            clearBits(index, previous);
+            size--;
+        }
+        squares[index] = piece;
+        if (piece != null) {
+            setBits(index, piece);
+            size++;
+        }
+        attackMaps.markDirty(index);
+        return previous;
+    }
+
+    /**
+     * Removes the piece standing on a cell
+     * @param index cell index
+     * @return the removed piece or null if the cell was empty
+     **/
+    public ChessPiece clearSquare(int index) {
+        return place(index, null);
+    }
+
+    /** @return low occupancy word of all pieces **/
+    public long occupiedLo() {
+        return colourLo[0] | colourLo[1] | colourLo[2];
+    }
+
+    /** @return high occupancy word of all pieces **/
+    public long occupiedHi() {
+        return colourHi[0] | colourHi[1] | colourHi[2];
+    }
+
+    /** @return low occupancy word of the given colour **/
+    public long colourLo(Colour colour) {
+        return colourLo[colour.ordinal()];
+    }
+
+    /** @return high occupancy word of the given colour **/
+    public long colourHi(Colour colour) {
+        return colourHi[colour.ordinal()];
+    }
+
+    /** @return low occupancy word of the given colour and piece type **/
+    public long piecesLo(Colour colour, PieceType type) {
+        return colourLo[colour.ordinal()] & typeLo[type.ordinal()];
+    }
+
+    /** @return high occupancy word of the given colour and piece type **/
+    public long piecesHi(Colour colour, PieceType type) {
+        return colourHi[colour.ordinal()] & typeHi[type.ordinal()];
+    }
+
+    /**
+     * Checks if the cell holds a piece of the given colour
+     * @param index cell index
+     * @param colour colour to check
+     * @return boolean
+     **/
+    public boolean isColourAt(int index, Colour colour) {
+        return testBit(colourLo[colour.ordinal()], colourHi[colour.ordinal()], index);
+    }
+
+    /**
+     * Finds the first cell holding a piece of the given colour and type
+     * @param colour colour of the piece
+     * @param type type of the piece
+     * @return cell index or -1 if there is no such piece
+     **/
+    public int findFirst(Colour colour, PieceType type) {
+        long lo = piecesLo(colour, type);
+        if (lo != 0) {
+            return Long.numberOfTrailingZeros(lo);
+        }
+        long hi = piecesHi(colour, type);
+        if (hi != 0) {
+            return 64 + Long.numberOfTrailingZeros(hi);
+        }
+        return -1;
+    }
+
+    /**
+     * @param colour colour of the pieces
+     * @param type type of the pieces
+     * @return number of pieces of the colour and type on the board
+     **/
+    public int pieceCount(Colour colour, PieceType type) {
+        return pieceCounts[colour.ordinal() * TYPES + type.ordinal()];
+    }
+
+    /**
+     * Get a cell from the piece list of a colour and type. The order of the list changes when
+     * pieces are placed or removed, so callers which move pieces while iterating need a copy.
+     * @param colour colour of the pieces
+     * @param type type of the pieces
+     * @param slot slot in the list, in range [0, pieceCount)
+     * @return cell index of the piece
+     **/
+    public int pieceSquare(Colour colour, PieceType type, int slot) {
+        return pieceLists[colour.ordinal() * TYPES + type.ordinal()][slot];
+    }
+
+    /**
+     * @param colour colour of the pieces
+     * @return number of pieces of the colour on the board
+     **/
+    public int pieceCount(Colour colour) {
+        return Long.bitCount(colourLo[colour.ordinal()]) + Long.bitCount(colourHi[colour.ordinal()]);
+    }
+
+    /**
+     * @param colour colour of the king
+     * @return cell index of the king of the colour or -1 if it has no king
+     **/
+    public int kingSquare(Colour colour) {
+        int list = colour.ordinal() * TYPES + PieceType.KING.ordinal();
+        return pieceCounts[list] == 0 ? -1 : pieceLists[list][0];
+    }
+
+    /**
+     * Sets the tables the piece square scores are summed with from now on, the scores of the
+     * pieces on the board are computed once
+     * @param tables piece square tables, or null to stop keeping the scores
+     **/
+    public void setPieceSquareTables(PieceSquareTables tables) {
+        if (tables == pieceSquareTables) {
+            return;
+        }
+        pieceSquareTables = tables;
+        for (Colour colour : Colour.values()) {
+            pieceSquareScores[colour.ordinal()] = tables == null ? 0 : tables.compute(this, colour);
+        }
+    }
+
+    /** @return tables the piece square scores are summed with, or null **/
+    public PieceSquareTables getPieceSquareTables() {
+        return pieceSquareTables;
+    }
+
+    /**
+     * @param colour colour to score
+     * @return sum of the piece square values of the pieces of the colour, 0 without piece square tables
+     **/
+    public int pieceSquareScore(Colour colour) {
+        return pieceSquareScores[colour.ordinal()];
+    }
+
+    /** @return low word of the cells the pieces of the colour can move to **/
+    public long attacksLo(Colour colour) {
+        return attackMaps.attacks(this, colour, 0);
+    }
+
+    /** @return high word of the cells the pieces of the colour can move to **/
+    public long attacksHi(Colour colour) {
+        return attackMaps.attacks(this, colour, 1);
+    }
+
+    /**
+     * Checks if any piece of the other two colours can move to the cell
+     * @param index cell index
+     * @param colour colour the cell is defended for
+     * @return boolean
+     **/
+    public boolean isAttackedByOpponents(int index, Colour colour) {
+        Colour first = colour.next();
+        Colour second = first.next();
+        return testBit(attacksLo(first) | attacksLo(second), attacksHi(first) | attacksHi(second), index);
+    }
+
+    /**
+     * Checks if the king of the colour is attacked by a piece of the other two colours
+     * @param colour colour of the king
+     * @return false if the colour is not in check or has no king
+     **/
+    public boolean isKingInCheck(Colour colour) {
+        int king = kingSquare(colour);
+        return king >= 0 && isAttackedByOpponents(king, colour);
+    }
+
+    /** @return the colour whose turn it is **/
+    public Colour getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the colour whose turn it is
+     * @param sideToMove colour to move next
+     **/
+    public void setSideToMove(Colour sideToMove) {
+        zobristKey ^= ZobristKeys.sideToMove(this.sideToMove) ^ ZobristKeys.sideToMove(sideToMove);
+        this.sideToMove = sideToMove;
+    }
+
+    /** @return true if a Hawk has made its first capture and the side to move may move again **/
+    public boolean isHawkPending() {
+        return hawkPending;
+    }
+
+    /**
+     * Sets whether a Hawk has made its first capture, used when a stored position is restored
+     * @param hawkPending true if the side to move may move its Hawk again
+     **/
+    public void setHawkPending(boolean hawkPending) {
+        if (this.hawkPending != hawkPending) {
+            zobristKey ^= ZobristKeys.hawkPending();
+            this.hawkPending = hawkPending;
+        }
+    }
+
+    /**
+     * Get the Zobrist key of the position, the pieces, the side to move and a pending Hawk capture
+     * @return key, equal for equal positions
+     **/
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /** @return number of moves on the history stack **/
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * @param index position on the history stack, 0 for the first move made
+     * @return the record of the move
+     **/
+    public MoveUndo moveAt(int index) {
+        return history[index];
+    }
+
+    /** @return the record of the last move made, or null if there is none **/
+    public MoveUndo lastMove() {
+        return historySize == 0 ? null : history[historySize - 1];
+    }
+
+    /**
+     * Moves the piece on start to end without validating the move. Handles the Hawk's first capture,
+     * which keeps the turn for a second move, pawn promotion on an opponent's first row and the rook
+     * relocation of castling, then passes the turn. The changes are recorded on the history stack.
+     * @param start index the piece moves from
+     * @param end index the piece moves to
+     **/
+    public void makeMove(int start, int end) {
+        makeMove(start, end, true);
+    }
+
+    /**
+     * Moves the piece on start to end without validating the move, see makeMove(int, int)
+     * @param start index the piece moves from
+     * @param end index the piece moves to
+     * @param castleRook false to leave the rook in place when the king castles, legality tests only
+     *                   check the square the king lands on
+     **/
+    public void makeMove(int start, int end, boolean castleRook) {
+        MoveUndo undo = pushUndo();
+        ChessPiece mover = clearSquare(start);
+        ChessPiece captured = squares[end];
+        undo.start = start;
+        undo.end = end;
+        undo.mover = mover;
+        undo.captured = captured;
+        undo.promoted = false;
+        undo.rookFrom = MoveUndo.NO_CASTLING;
+        undo.rookTo = MoveUndo.NO_CASTLING;
+        undo.hawkPending = hawkPending;
+        undo.sideToMove = sideToMove;
+
+        // Handle Hawk's special executeMove
+        if (mover instanceof Hawk) {
+            if (captured != null) {  // Only if Hawk captures a piece
+                if (!hawkPending) {
+                    setHawkPending(true);
+                    place(end, mover);
+                    return; // Don't change turn yet, allow second executeMove
+                }
+                setHawkPending(false); // Reset for next turn
+            } else {
+                // If Hawk moves without capturing, treat as normal executeMove
+                setHawkPending(false);
+            }
+        }
+
+        PositionOnBoard endPosition = PositionOnBoard.at(end);
+        Colour moverColour = mover.getColour();
+        if (mover instanceof Pawn && endPosition.getRow() == 0 && endPosition.getColour() != moverColour) {
+            place(end, PROMOTION_QUEENS[moverColour.ordinal()]);  //promote pawn
+            undo.promoted = true;
+        } else {
+            place(end, mover);
+        }
+
+        PositionOnBoard startPosition = PositionOnBoard.at(start);
+        if (castleRook && mover instanceof King && startPosition.getColumn() == 4 && startPosition.getRow() == 0) {
+            if (endPosition.getColumn() == 2) { //castle left, update rook
+                moveRook(undo, PositionOnBoard.getIndex(moverColour, 0, 0), PositionOnBoard.getIndex(moverColour, 0, 3));
+            } else if (endPosition.getColumn() == 6) { //castle right, update rook
+                moveRook(undo, PositionOnBoard.getIndex(moverColour, 0, 7), PositionOnBoard.getIndex(moverColour, 0, 5));
+            }
+        }
+
+        setSideToMove(sideToMove.next());
+    }
+
+    /**
+     * Restores the board to the state before the last makeMove
+     **/
+    public void unmakeMove() {
+        MoveUndo undo = history[--historySize];
+        if (undo.rookFrom != MoveUndo.NO_CASTLING) {
+            place(undo.rookFrom, undo.rook);
+            place(undo.rookTo, undo.rookToPrevious);
+        }
+        place(undo.end, undo.captured);
+        place(undo.start, undo.mover);
+        setHawkPending(undo.hawkPending);
+        setSideToMove(undo.sideToMove);
+    }
+
+    private void moveRook(MoveUndo undo, int rookFrom, int rookTo) {
+        undo.rookFrom = rookFrom;
+        undo.rookTo = rookTo;
+        undo.rook = clearSquare(rookFrom);
+        undo.rookToPrevious = place(rookTo, undo.rook);
+    }
+
+    private MoveUndo pushUndo() {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+        }
+        MoveUndo undo = history[historySize];
+        if (undo == null) {
+            undo = new MoveUndo();
+            history[historySize] = undo;
+        }
+        historySize++;
+        return undo;
+    }
+
+    private void setBits(int index, ChessPiece piece) {
+        int colour = piece.getColour().ordinal();
+        int type = piece.getType().ordinal();
+        int list = colour * TYPES + type;
+        if (pieceCounts[list] == pieceLists[list].length) {
+            pieceLists[list] = Arrays.copyOf(pieceLists[list], 2 * pieceCounts[list]);
+        }
+        slots[index] = pieceCounts[list];
+        pieceLists[list][pieceCounts[list]++] = index;
+        zobristKey ^= ZobristKeys.piece(colour, type, index);
+        if (pieceSquareTables != null) {
+            pieceSquareScores[colour] += pieceSquareTables.value(colour, type, index);
+        }
+        if (index < 64) {
+            long bit = 1L << index;
+            colourLo[colour] |= bit;
+            typeLo[type] |= bit;
+        } else {
+            long bit = 1L << (index - 64);
+            colourHi[colour] |= bit;
+            typeHi[type] |= bit;
+        }
+    }
+
+    private void clearBits(int index, ChessPiece piece) {
+        int colour = piece.getColour().ordinal();
+        int type = piece.getType().ordinal();
+        int list = colour * TYPES + type;
+        int last = pieceLists[list][--pieceCounts[list]]; // move the last cell into the freed slot
+        pieceLists[list][slots[index]] = last;
+        slots[last] = slots[index];
+        zobristKey ^= ZobristKeys.piece(colour, type, index);
+        if (pieceSquareTables != null) {
+            pieceSquareScores[colour] -= pieceSquareTables.value(colour, type, index);
+        }
+        if (index < 64) {
+            long bit = ~(1L << index);
+            colourLo[colour] &= bit;
+            typeLo[type] &= bit;
+        } else {
+            long bit = ~(1L << (index - 64));
+            colourHi[colour] &= bit;
+            typeHi[type] &= bit;
+        }
+    }
+
+    /**     Map view used by the pieces and the web adapter **/
+
+    @Override
+    public ChessPiece get(Object key) {
+        return key instanceof PositionOnBoard ? squares[((PositionOnBoard) key).ordinal()] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public ChessPiece put(PositionOnBoard key, ChessPiece value) {
+        return place(key.ordinal(), value);
+    }
+
+    @Override
+    public ChessPiece remove(Object key) {
+        return key instanceof PositionOnBoard ? clearSquare(((PositionOnBoard) key).ordinal()) : null;
+    }
+
+    @Override
+    public void clear() {
+        for (int index = 0; index < SIZE; index++) {
+            squares[index] = null;
+        }
+        for (int colour = 0; colour < COLOURS; colour++) {
+            colourLo[colour] = 0;
+            colourHi[colour] = 0;
+        }
+        for (int type = 0; type < TYPES; type++) {
+            typeLo[type] = 0;
+            typeHi[type] = 0;
+        }
+        Arrays.fill(pieceCounts, 0);
+        Arrays.fill(pieceSquareScores, 0);
+        size = 0;
+        zobristKey = ZobristKeys.sideToMove(sideToMove) ^ (hawkPending ? ZobristKeys.hawkPending() : 0);
+        attackMaps.markAllDirty();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<PositionOnBoard, ChessPiece>> entrySet() {
+        return new AbstractSet<Entry<PositionOnBoard, ChessPiece>>() {
+            @Override
+            public Iterator<Entry<PositionOnBoard, ChessPiece>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates the occupied cells in index order. The iterator reads the mailbox directly,
+     * so pieces moved and restored while iterating do not invalidate it.
+     **/
+    private class EntryIterator implements Iterator<Entry<PositionOnBoard, ChessPiece>> {
+        private int next = advance(0);
+        private int last = -1;
+
+        private int advance(int from) {
+            int index = from;
+            while (index < SIZE && squares[index] == null) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < SIZE;
+        }
+
+        @Override
+        public Entry<PositionOnBoard, ChessPiece> next() {
+            if (next >= SIZE) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return new SimpleImmutableEntry<>(PositionOnBoard.at(last), squares[last]);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            clearSquare(last);
+            last = -1;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ccd.chess.model.entity.board;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+
+/**
+ * MoveUndo - small record of everything BitBoard.makeMove changed, so that unmakeMove can
+ * restore the board in place. Records are owned and reused by the board's history stack.
+ **/
+public class MoveUndo {
+
+    /** Value of rookFrom and rookTo when the move was not a castling move **/
+    public static final int NO_CASTLING = -1;
+
+    int start;
+    int end;
+    ChessPiece mover;
+    ChessPiece captured;
+    boolean promoted;
+    int rookFrom;
+    int rookTo;
+    ChessPiece rook;
+    ChessPiece rookToPrevious;
+    boolean hawkPending;
+    Colour sideToMove;
+
+    /** @return index the piece moved from **/
+    public int getStart() {
+        return start;
+    }
+
+    /** @return index the piece moved to **/
+    public int getEnd() {
+        return end;
+    }
+
+    /** @return the piece that moved **/
+    public ChessPiece getMover() {
+        return mover;
+    }
+
+    /** @return the piece captured on the end position, null if the move was quiet **/
+    public ChessPiece getCaptured() {
+        return captured;
+    }
+
+    /** @return true if a pawn was promoted to a queen **/
+    public boolean isPromotion() {
+        return promoted;
+    }
+
+    /** @return true if the move was a castling move which relocated a rook **/
+    public boolean isCastling() {
+        return rookFrom != NO_CASTLING;
+    }
+
+    /** @return index the castling rook moved from, NO_CASTLING if the move was not a castling move **/
+    public int getRookFrom() {
+        return rookFrom;
+    }
+
+    /** @return index the castling rook moved to, NO_CASTLING if the move was not a castling move **/
+    public int getRookTo() {
+        return rookTo;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ccd.chess.model.entity.enums;
+
+/**
+ * Enum to represent the types of the pieces
+ * The ordinal is used to index the per type occupancy words of the board
+ * The value in centipawns is the material of the piece for the engine, the only place it is defined
+ */
+public enum PieceType {
+
+    ROOK('R', 500), KNIGHT('N', 300), BISHOP('B', 325), QUEEN('Q', 900), KING('K', 0), PAWN('P', 100),
+    HAWK('H', 350), // jumps over a cell and may capture twice in a turn
+    VORTEX('V', 250);
+
+    private final char symbol;
+    private final int value;
+
+    /**
+     * PieceType enum constructor
+     **/
+    PieceType(char symbol, int value) {
+        this.symbol = symbol;
+        this.value = value;
+    }
+
+    /**
+     * Method to get the symbol used in the string representation of a piece
+     * @return char symbol
+     **/
+    public char getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Method to get the material value of the piece type
+     * @return value in centipawns, 0 for the king which is never traded
+     **/
+    public int getValue() {
+        return value;
+    }
+}
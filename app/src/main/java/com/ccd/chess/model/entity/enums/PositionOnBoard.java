@@ -35,6 +35,11 @@ public enum PositionOnBoard{
     RG1(Colour.GOLD,0,6), RG2(Colour.GOLD,1,6), RG3(Colour.GOLD,2,6), RG4(Colour.GOLD,3,6),
     RH1(Colour.GOLD,0,7), RH2(Colour.GOLD,1,7), RH3(Colour.GOLD,2,7), RH4(Colour.GOLD,3,7);
 
+    /** Index returned by the exception free lookups for a position outside the board **/
+    public static final int OFF_BOARD = -1;
+
+    private static final PositionOnBoard[] POSITIONS = values();
+
     private final Colour colour; //silver red bronze
     private final int row; //0-3
     private final int column; //0-7
@@ -79,15 +84,24 @@ public enum PositionOnBoard{
      * @throws InvalidPositionException if outside the bounds of the board.
      **/
     public static PositionOnBoard get(Colour colour, int row, int column) throws InvalidPositionException {
+        int index = getIndex(colour, row, column);
+        if(index != OFF_BOARD){
+            return POSITIONS[index];
+        }
+        throw new InvalidPositionException("No such position.");
+    }
+
+    /**
+     * Gets the index of the position corresponding to the specified colour, row and column.
+     * Exception free variant of get(Colour, int, int) for move generation.
+     * @return the polygon index of the specified colour, row and column, or OFF_BOARD if outside the bounds of the board.
+     **/
+    public static int getIndex(Colour colour, int row, int column) {
         int index= row+4*column;
         if(index>=0 && index<32){
-            switch(colour){
-                case SILVER: return PositionOnBoard.values()[index];
-                case BRONZE: return PositionOnBoard.values()[index+32];
-                case GOLD: return PositionOnBoard.values()[index+64];
-            }
+            return index + 32*colour.ordinal();
         }
-        throw new InvalidPositionException("No such position.");
+        return OFF_BOARD;
     }
 
     /**
@@ -97,11 +111,21 @@ public enum PositionOnBoard{
      **/
     public static PositionOnBoard get(int polygonIndex) throws InvalidPositionException {
         if(polygonIndex >=0 && polygonIndex <=95) {
-            return PositionOnBoard.values()[polygonIndex];
+            return POSITIONS[polygonIndex];
         }
         throw new InvalidPositionException("No such position.");
     }
 
+    /**
+     * Gets the position for an index already known to be on the board, e.g. from the precomputed move tables.
+     * Unlike get(int) this does not copy the values array or validate the index.
+     * @param index polygon index in range [0, 95]
+     * @return the position of the specified polygon Index
+     **/
+    public static PositionOnBoard at(int index) {
+        return POSITIONS[index];
+    }
+
     /**
      * Get the position of next neighbour after a calculateNextPosition
      * @param direction direction input to get its neighbour
@@ -109,32 +133,45 @@ public enum PositionOnBoard{
      * @throws InvalidPositionException if outside the bounds of the board.
      **/
     public PositionOnBoard neighbour(Direction direction) throws InvalidPositionException {
+        int index = neighbourIndex(direction);
+        if(index == OFF_BOARD) {
+            throw new InvalidPositionException("Moved off board");
+        }
+        return POSITIONS[index];
+    }
+
+    /**
+     * Get the index of the next neighbour, exception free variant of neighbour(Direction) for move generation
+     * @param direction direction input to get its neighbour
+     * @return polygon index of the neighbour, or OFF_BOARD if the step leaves the board.
+     **/
+    public int neighbourIndex(Direction direction) {
         switch(direction){
             case FORWARD:
                 if(row<3) {
-                    return get(colour, row+1, column);
+                    return getIndex(colour, row+1, column);
                 }
                 if(column<4) {
-                    return get(Colour.values()[(colour.ordinal()+1)%3], 3, 7-column);
+                    return getIndex(Colour.values()[(colour.ordinal()+1)%3], 3, 7-column);
                 }
-                return get(Colour.values()[(colour.ordinal()+2)%3],3,7-column);
+                return getIndex(Colour.values()[(colour.ordinal()+2)%3],3,7-column);
             case BACKWARD:
                 if(row==0) {
-                    throw new InvalidPositionException("Moved off board");
+                    return OFF_BOARD;
                 }
-                return get(colour,row-1,column);
+                return getIndex(colour,row-1,column);
             case LEFT:
                 if(column==0) {
-                    throw new InvalidPositionException("Moved off board");
+                    return OFF_BOARD;
                 }
-                return get(colour,row,column-1);
+                return getIndex(colour,row,column-1);
             case RIGHT:
                 if(column==7) {
-                    throw new InvalidPositionException("Moved off board");
+                    return OFF_BOARD;
                 }
-                return get(colour,row,column+1);
+                return getIndex(colour,row,column+1);
         }
-        throw new InvalidPositionException("Unreachable code?");
+        return OFF_BOARD;
     }
 
     /**
@@ -1,16 +1,11 @@
 package com.ccd.chess.model.entity.pieces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
-import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.enums.PieceType;
 
-import com.ccd.chess.util.Logger;
-import com.ccd.chess.util.MovementUtil;
-
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import static com.ccd.chess.util.MovementUtil.calculateNextPositionOrNull;
+import com.ccd.chess.util.MoveTables;
 
 /**
  * Bishop class extends ChessPiece. Move directions for the bishop, the polygons
@@ -18,8 +13,6 @@ import static com.ccd.chess.util.MovementUtil.calculateNextPositionOrNull;
  **/
 public class Bishop extends ChessPiece {
 
-    private static final String TAG = "BISHOP";
-
     /**
      * Bishop constructor
      * @param colour: Colour of the chess piece being initiated
@@ -39,40 +32,22 @@ public class Bishop extends ChessPiece {
     }
 
     /**
-     * Fetch all the possible positions where a piece can executeMove on board
-     * @param boardMap: Board Map instance representing current game board
-     * @param start: position of piece on board
-     * @return Set of possible positions a piece is allowed to executeMove
+     * Adds the cells the piece can executeMove to on board
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells
      * */
     @Override
-    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-
-        Set<PositionOnBoard> positionSet = new HashSet<>();
-
-        ChessPiece mover = this;
-        Direction[][] steps = this.directions;
-
-        for (Direction[] step : steps) {
-            PositionOnBoard tmp = MovementUtil.calculateNextPositionOrNull(mover, step, start);
-            while(tmp != null && !positionSet.contains(tmp) && boardMap.get(tmp)==null) {
-                Logger.d(TAG, "tmp: "+tmp);
-                positionSet.add(tmp); // to prevent same position to add in list again
-                tmp = calculateNextPositionOrNull(mover, step, tmp, tmp.getColour()!=start.getColour());
-            }
-
-            // found a piece diagonally
-            if(tmp!=null && boardMap.get(tmp)!=null) {
-                if(boardMap.get(tmp).getColour()!=mover.getColour()) {
-                    Logger.d(TAG, "Opponent tmp: " + tmp);
-                    positionSet.add(tmp);
-                } else {
-                    Logger.d(TAG, "Mine tmp: " + tmp);
-                }
-            }
-        }
-
+    protected void addTargets(BitBoard board, int start, long[] targets) {
+        addRayTargets(board, MoveTables.bishopRays(start), targets);
+    }
 
-        return positionSet;
+    /**
+     * @return PieceType of the chess piece
+     * */
+    @Override
+    public PieceType getType() {
+        return PieceType.BISHOP;
     }
 
     /**
@@ -1,7 +1,9 @@
 package com.ccd.chess.model.entity.pieces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
+import com.ccd.chess.model.entity.enums.PieceType;
 import com.ccd.chess.model.entity.enums.PositionOnBoard;
 
 import java.util.Map;
@@ -63,7 +65,84 @@ public abstract class ChessPiece {
      * @param start: position of piece on board
      * @return Set of possible positions a piece is allowed to executeMove
      * */
-    public abstract Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start);
+    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
+        BitBoard board = boardMap instanceof BitBoard ? (BitBoard) boardMap : new BitBoard(boardMap);
+        long[] targets = new long[2];
+        collectTargets(board, start.ordinal(), targets);
+        return BitBoard.toPositions(targets);
+    }
+
+    /**
+     * Fetch the cells the piece can executeMove to as a pair of occupancy words
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word, overwritten with the target cells
+     * */
+    public final void collectTargets(BitBoard board, int start, long[] targets) {
+        targets[0] = 0;
+        targets[1] = 0;
+        addTargets(board, start, targets);
+    }
+
+    /**
+     * Adds the movement rules of the piece to the target words
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells, empty when called
+     * */
+    protected abstract void addTargets(BitBoard board, int start, long[] targets);
+
+    /**
+     * Walks precomputed slider rays. A ray stops at the first occupied position, which is added
+     * if it holds an opponent piece, or at a position already reached along another ray.
+     * @param board: current game board
+     * @param rays: rays of position indices from MoveTables
+     * @param targets: low and high word of the target cells
+     * */
+    protected void addRayTargets(BitBoard board, int[][] rays, long[] targets) {
+        for (int[] ray : rays) {
+            for (int index : ray) {
+                if (BitBoard.testBit(targets, index)) {
+                    break;
+                }
+                ChessPiece target = board.pieceAt(index);
+                if (target == null) {
+                    BitBoard.setBit(targets, index);
+                    continue;
+                }
+                if (target.getColour() != this.colour) {
+                    BitBoard.setBit(targets, index);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Adds precomputed jump targets which are empty or hold an opponent piece
+     * @param board: current game board
+     * @param jumps: position indices from MoveTables
+     * @param targets: low and high word of the target cells
+     * */
+    protected void addJumpTargets(BitBoard board, int[] jumps, long[] targets) {
+        for (int index : jumps) {
+            if (!board.isColourAt(index, this.colour)) {
+                BitBoard.setBit(targets, index);
+            }
+        }
+    }
+
+    /**
+     * @return PieceType of the chess piece, used to index the board occupancy words
+     * */
+    public abstract PieceType getType();
+
+    /**
+     * @return the movement steps of the chess piece, used to build the precomputed move tables
+     * */
+    public Direction[][] getDirections() {
+        return this.directions;
+    }
 
     /**
      * @return Colour of the chess piece
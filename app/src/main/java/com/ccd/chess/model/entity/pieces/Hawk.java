@@ -1,13 +1,10 @@
 package com.ccd.chess.model.entity.pieces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
-import com.ccd.chess.model.entity.enums.PositionOnBoard;
-import com.ccd.chess.util.MovementUtil;
-
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.util.MoveTables;
 
 
 /**
@@ -31,34 +28,36 @@ public class Hawk extends Knight {
         };
     }
 
-@Override
-public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-    Set<PositionOnBoard> positionSet = new HashSet<>();
-
-    for (Direction[] step : this.directions) {
-        // Check the adjacent square first (one calculateNextPosition)
-        PositionOnBoard adjacent = MovementUtil.calculateNextPositionOrNull(this, new Direction[]{step[0]}, start);
-
-        if (adjacent != null) {
-            // If adjacent square is blocked, can't executeMove in this direction
-            if (boardMap.get(adjacent) != null) {
+    /**
+     * Adds the cells the piece can executeMove to on board. The Hawk jumps two cells in a straight
+     * line and needs the cell in between to be empty
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells
+     * */
+    @Override
+    protected void addTargets(BitBoard board, int start, long[] targets) {
+        int[] adjacentIndices = MoveTables.hawkAdjacent(start);
+        int[] destinationIndices = MoveTables.hawkJumps(start);
+        for (int i = 0; i < adjacentIndices.length; i++) {
+            // If adjacent square is off board or blocked, can't executeMove in this direction
+            if (adjacentIndices[i] == MoveTables.OFF_BOARD || board.isOccupied(adjacentIndices[i])) {
                 continue;
             }
-
-            // Check the final destination (two steps)
-            PositionOnBoard destination = MovementUtil.calculateNextPositionOrNull(this, step, start);
-            if (destination != null) {
-                ChessPiece targetPiece = boardMap.get(destination);
-                // Can executeMove if square is empty or contains enemy piece
-                if (targetPiece == null || targetPiece.getColour() != this.getColour()) {
-                    positionSet.add(destination);
-                }
+            // Can executeMove if the destination is empty or contains enemy piece
+            if (destinationIndices[i] != MoveTables.OFF_BOARD && !board.isColourAt(destinationIndices[i], this.getColour())) {
+                BitBoard.setBit(targets, destinationIndices[i]);
             }
         }
     }
 
-    return positionSet;
-}
+        /**
+         * @return PieceType of the chess piece
+         * */
+        @Override
+        public PieceType getType() {
+            return PieceType.HAWK;
+        }
 
         /**
          * Returns custom string representation of the class
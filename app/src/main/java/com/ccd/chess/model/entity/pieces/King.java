@@ -1,19 +1,17 @@
 package com.ccd.chess.model.entity.pieces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
+import com.ccd.chess.model.entity.enums.PieceType;
 import com.ccd.chess.model.entity.enums.PositionOnBoard;
-import com.ccd.chess.exceptions.InvalidPositionException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import com.ccd.chess.util.Logger;
-import com.ccd.chess.util.MovementUtil;
+import com.ccd.chess.util.MoveTables;
 
 
 /**
@@ -34,15 +32,11 @@ public class King extends ChessPiece {
         super(colour);
         castlingPositionMapping = new HashMap<>();
 
-        try {
-            for (Colour c : Colour.values()) {
-                List<PositionOnBoard> castlingPositions = castlingPositionMapping.getOrDefault(c, new ArrayList<>());
-                castlingPositions.add(PositionOnBoard.get(c, 0, 6));
-                castlingPositions.add(PositionOnBoard.get(c, 0, 2));
-                castlingPositionMapping.put(c, castlingPositions);
-            }
-        } catch (Exception e) {
-            Logger.e(TAG, "Exception while adding castling end position: " + e.getMessage());
+        for (Colour c : Colour.values()) {
+            List<PositionOnBoard> castlingPositions = castlingPositionMapping.getOrDefault(c, new ArrayList<>());
+            castlingPositions.add(firstRow(c, 6));
+            castlingPositions.add(firstRow(c, 2));
+            castlingPositionMapping.put(c, castlingPositions);
         }
     }
 
@@ -61,45 +55,22 @@ public class King extends ChessPiece {
     }
 
     /**
-     * Fetch all the possible positions where a piece can executeMove on board
-     * @param boardMap: Board Map instance representing current game board
-     * @param start: position of piece on board
-     * @return Set of possible positions a piece is allowed to executeMove
+     * Adds the cells the piece can executeMove to on board
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells
      * */
     @Override
-    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-        Set<PositionOnBoard> positionSet = new HashSet<>();
-        ChessPiece mover = this;
-        Direction[][] steps = this.directions;
-
-        for (Direction[] step : steps) {
-            PositionOnBoard end = MovementUtil.calculateNextPositionOrNull(mover, step, start);
-            if (positionSet.contains(end)) {
-                continue;
-            }
-
-            if (end != null) {
-                if (boardMap.get(end) != null) {
-                    if (boardMap.get(end).getColour() != mover.getColour()) {
-                        Logger.d(TAG, "position enemy: " + end);
-                        positionSet.add(end);
-                    }
-                } else {
-                    Logger.d(TAG, "position: " + end);
-                    positionSet.add(end);
-                }
-            }
-        }
+    protected void addTargets(BitBoard board, int start, long[] targets) {
+        addJumpTargets(board, MoveTables.kingSteps(start), targets);
 
-        List<PositionOnBoard> castlingPositions = castlingPositionMapping.getOrDefault(mover.getColour(), new ArrayList<>());
+        PositionOnBoard startPosition = PositionOnBoard.at(start);
+        List<PositionOnBoard> castlingPositions = castlingPositionMapping.getOrDefault(this.getColour(), new ArrayList<>());
         for (PositionOnBoard end : castlingPositions) {
-            if (boardMap.get(end) == null && isCastlingPossible(boardMap, start, end)) {
-                Logger.d(TAG, "position castling: " + end);
-                positionSet.add(end);
+            if (!board.isOccupied(end.ordinal()) && isCastlingPossible(board, startPosition, end)) {
+                BitBoard.setBit(targets, end.ordinal());
             }
         }
-
-        return positionSet;
     }
 
     /**
@@ -110,40 +81,50 @@ public class King extends ChessPiece {
      * @return bool if castling is possible
      * */
     private boolean isCastlingPossible(Map<PositionOnBoard, ChessPiece> board, PositionOnBoard start, PositionOnBoard end) {
-        Logger.d(TAG, "isCastlingPossible: start: " + start + ", end: " + end);
         ChessPiece mover = this;
         Colour moverCol = mover.getColour();
-        try {
-            if (start == PositionOnBoard.get(moverCol, 0, 4)) {
-                if (end == PositionOnBoard.get(moverCol, 0, 6)) {
-                    ChessPiece castle = board.get(PositionOnBoard.get(moverCol, 0, 7));
-                    ChessPiece empty1 = board.get(PositionOnBoard.get(moverCol, 0, 5));
-                    ChessPiece empty2 = board.get(PositionOnBoard.get(moverCol, 0, 6));
-                    if (castle instanceof Rook && castle.getColour() == mover.getColour()
-                            && empty1 == null && empty2 == null) {
-                        Logger.d(TAG, "Castling Legal Move 1: True");
-                        return true;
-                    }
+        if (start == firstRow(moverCol, 4)) {
+            if (end == firstRow(moverCol, 6)) {
+                ChessPiece castle = board.get(firstRow(moverCol, 7));
+                ChessPiece empty1 = board.get(firstRow(moverCol, 5));
+                ChessPiece empty2 = board.get(firstRow(moverCol, 6));
+                if (castle instanceof Rook && castle.getColour() == mover.getColour()
+                        && empty1 == null && empty2 == null) {
+                    return true;
                 }
-                if (end == PositionOnBoard.get(moverCol, 0, 2)) {
-                    ChessPiece castle = board.get(PositionOnBoard.get(moverCol, 0, 0));
-                    ChessPiece empty1 = board.get(PositionOnBoard.get(moverCol, 0, 1));
-                    ChessPiece empty2 = board.get(PositionOnBoard.get(moverCol, 0, 2));
-                    ChessPiece empty3 = board.get(PositionOnBoard.get(moverCol, 0, 3));
-                    if (castle instanceof Rook && castle.getColour() == mover.getColour()
-                            && empty1 == null && empty2 == null && empty3 == null) {
-                        Logger.d(TAG, "Castling Legal Move 2: True");
-                        return true;
-                    }
+            }
+            if (end == firstRow(moverCol, 2)) {
+                ChessPiece castle = board.get(firstRow(moverCol, 0));
+                ChessPiece empty1 = board.get(firstRow(moverCol, 1));
+                ChessPiece empty2 = board.get(firstRow(moverCol, 2));
+                ChessPiece empty3 = board.get(firstRow(moverCol, 3));
+                if (castle instanceof Rook && castle.getColour() == mover.getColour()
+                        && empty1 == null && empty2 == null && empty3 == null) {
+                    return true;
                 }
             }
-        } catch (InvalidPositionException e) {
-            // do nothing, steps went off board.
-            Logger.e(TAG, "InvalidPositionException: " + e.getMessage());
         }
         return false;
     }
 
+    /**
+     * Exception free lookup of a position on the first row of a section
+     * @param colour: colour of the section
+     * @param column: column in range [0, 7]
+     * @return PositionOnBoard
+     * */
+    private static PositionOnBoard firstRow(Colour colour, int column) {
+        return PositionOnBoard.at(PositionOnBoard.getIndex(colour, 0, column));
+    }
+
+    /**
+     * @return PieceType of the chess piece
+     * */
+    @Override
+    public PieceType getType() {
+        return PieceType.KING;
+    }
+
     /**
      * Returns custom string representation of the class
      * @return String
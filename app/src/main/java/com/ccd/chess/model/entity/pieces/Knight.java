@@ -2,16 +2,13 @@ package com.ccd.chess.model.entity.pieces;
 
 
 
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
-import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.enums.PieceType;
 
-import com.ccd.chess.util.Logger;
-import com.ccd.chess.util.MovementUtil;
+import com.ccd.chess.util.MoveTables;
 
 
 
@@ -22,8 +19,6 @@ import com.ccd.chess.util.MovementUtil;
  **/
 public class Knight extends ChessPiece {
 
-    private static final String TAG = "KNIGHT";
-
     /**
      * Knight constructor
      * @param colour: Colour of the chess piece being initiated
@@ -49,40 +44,22 @@ public class Knight extends ChessPiece {
     }
 
     /**
-     * Fetch all the possible positions where a piece can executeMove on board
-     * @param boardMap: Board class instance representing current game board
-     * @param start: position of piece on board
-     * @return Set of possible positions a piece is allowed to executeMove
+     * Adds the cells the piece can executeMove to on board
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells
      * */
     @Override
-    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-        Set<PositionOnBoard> positionSet = new HashSet<>();
-        ChessPiece mover = this;
-        Direction[][] steps = this.directions;
-
-        for(Direction[] step: steps) {
-            PositionOnBoard end = MovementUtil.calculateNextPositionOrNull(mover, step, start);
-
-            if(positionSet.contains(end)) {
-                continue;
-            }
-
-            if(end != null) {
-                ChessPiece target = boardMap.get(end);
-
-                if(target!=null) {
-                    if(target.getColour()!=mover.getColour()) {
-                        Logger.d(TAG, "position enemy: "+end);
-                        positionSet.add(end);
-                    }
-                } else {
-                    Logger.d(TAG, "position: "+end);
-                    positionSet.add(end);
-                }
-            }
-        }
+    protected void addTargets(BitBoard board, int start, long[] targets) {
+        addJumpTargets(board, MoveTables.knightJumps(start), targets);
+    }
 
-        return positionSet;
+    /**
+     * @return PieceType of the chess piece
+     * */
+    @Override
+    public PieceType getType() {
+        return PieceType.KNIGHT;
     }
 
     /**
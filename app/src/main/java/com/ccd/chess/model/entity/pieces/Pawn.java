@@ -1,17 +1,11 @@
 package com.ccd.chess.model.entity.pieces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
+import com.ccd.chess.model.entity.enums.PieceType;
 import com.ccd.chess.model.entity.enums.PositionOnBoard;
-import com.ccd.chess.exceptions.InvalidPositionException;
-import com.ccd.chess.util.Logger;
-import com.ccd.chess.util.MovementUtil;
-
-
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import com.ccd.chess.util.MoveTables;
 
 
 /**
@@ -20,8 +14,6 @@ import java.util.Set;
  **/
 public class Pawn extends ChessPiece {
 
-    private static final String TAG = "PAWN";
-
     /**
      * Pawn constructor
      *
@@ -42,44 +34,42 @@ public class Pawn extends ChessPiece {
     }
 
     /**
-     * Fetch all the possible positions where a piece can executeMove on board
+     * Adds the cells the piece can executeMove to on board
      *
-     * @param boardMap: Board Map instance representing current game board
-     * @param start:    position of piece on board
-     * @return Set of possible positions a piece is allowed to executeMove
+     * @param board:   current game board
+     * @param start:   index of the piece on board
+     * @param targets: low and high word of the target cells
      */
     @Override
-    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-        Set<PositionOnBoard> positionSet = new HashSet<>();
-        ChessPiece mover = this;
-        Colour moverCol = mover.getColour();
-        Direction[][] steps = this.directions;
+    protected void addTargets(BitBoard board, int start, long[] targets) {
+        Colour moverCol = this.getColour();
+        PositionOnBoard startPosition = PositionOnBoard.at(start);
+        int[] steps = MoveTables.pawnSteps(moverCol, start);
 
         for (int i = 0; i < steps.length; i++) {
-            Direction[] step = steps[i];
-            PositionOnBoard end = MovementUtil.calculateNextPositionOrNull(mover, step, start);
-
-            if (end != null && !positionSet.contains(end)) {
-                ChessPiece target = boardMap.get(end);
-                Logger.d(TAG, "end: " + end + ", calculateNextPosition: " + Arrays.toString(step));
-                try {
-                    boolean isOneStepForwardAndNotTakingPieceCase = (target == null && i == 0); // 1 calculateNextPosition forward, not taking
-                    boolean isTwoStepForwardAndNotTakingPieceCase = (target == null && i == 1 // 2 steps forward,
-                            && start.getColour() == moverCol && start.getRow() == 1 //must be in initial position
-                            && boardMap.get(PositionOnBoard.get(moverCol, 2, start.getColumn())) == null); //and can't jump a piece;
-                    boolean isDiagonalMoveAndTakingPieceCase = (target != null && target.getColour() != moverCol && i > 1); //or taking diagonally
+            int end = steps[i];
+            if (end == PositionOnBoard.OFF_BOARD || BitBoard.testBit(targets, end)) {
+                continue;
+            }
+            ChessPiece target = board.pieceAt(end);
+            boolean isOneStepForwardAndNotTakingPieceCase = (target == null && i == 0); // 1 calculateNextPosition forward, not taking
+            boolean isTwoStepForwardAndNotTakingPieceCase = (target == null && i == 1 // 2 steps forward,
+                    && startPosition.getColour() == moverCol && startPosition.getRow() == 1 //must be in initial position
+                    && !board.isOccupied(PositionOnBoard.getIndex(moverCol, 2, startPosition.getColumn()))); //and can't jump a piece;
+            boolean isDiagonalMoveAndTakingPieceCase = (target != null && target.getColour() != moverCol && i > 1); //or taking diagonally
 
-                    if (isOneStepForwardAndNotTakingPieceCase || isTwoStepForwardAndNotTakingPieceCase || isDiagonalMoveAndTakingPieceCase) {
-                        Logger.d(TAG, "position: " + end);
-                        positionSet.add(end);
-                    }
-                } catch (InvalidPositionException e) {
-                    Logger.d(TAG, "InvalidPositionException: " + e.getMessage());
-                }
+            if (isOneStepForwardAndNotTakingPieceCase || isTwoStepForwardAndNotTakingPieceCase || isDiagonalMoveAndTakingPieceCase) {
+                BitBoard.setBit(targets, end);
             }
         }
+    }
 
-        return positionSet;
+    /**
+     * @return PieceType of the chess piece
+     * */
+    @Override
+    public PieceType getType() {
+        return PieceType.PAWN;
     }
 
     /**
@@ -1,14 +1,10 @@
 package com.ccd.chess.model.entity.pieces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
-import com.ccd.chess.model.entity.enums.PositionOnBoard;
-import com.ccd.chess.util.Logger;
-import com.ccd.chess.util.MovementUtil;
-
-import static com.ccd.chess.util.MovementUtil.calculateNextPositionOrNull;
-
-import java.util.*;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.util.MoveTables;
 
 /**
  * Queen class extends ChessPiece. Move directions for the Queen, the polygons
@@ -17,8 +13,6 @@ import java.util.*;
  **/
 public class Queen extends ChessPiece {
 
-    private static final String TAG = "QUEEN";
-
     /**
      * Queen constructor
      * @param colour: Colour of the chess piece being initiated
@@ -41,37 +35,22 @@ public class Queen extends ChessPiece {
     }
 
     /**
-     * Fetch all the possible positions where a piece can executeMove on board
-     * @param boardMap: Board Map instance representing current game board
-     * @param start: position of piece on board
-     * @return Set of possible positions a piece is allowed to executeMove
+     * Adds the cells the piece can executeMove to on board
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells
      * */
     @Override
-    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-        Set<PositionOnBoard> positionSet = new HashSet<>();
-        ChessPiece mover = this;
-        Direction[][] steps = this.directions;
-
-        for (Direction[] step : steps) {
-            PositionOnBoard tmp = MovementUtil.calculateNextPositionOrNull(mover, step, start);
-            while(tmp != null && !positionSet.contains(tmp)) {
-                ChessPiece target = boardMap.get(tmp);
-                if(target == null) {
-                    Logger.d(TAG, "Empty position: " + tmp);
-                    positionSet.add(tmp);
-                    tmp = calculateNextPositionOrNull(mover, step, tmp, tmp.getColour()!=start.getColour());
-                } else if(target.getColour() != mover.getColour()) {
-                    Logger.d(TAG, "Can capture: " + tmp);
-                    positionSet.add(tmp);
-                    break;
-                } else {
-                    Logger.d(TAG, "Blocked by own piece: " + tmp);
-                    break;
-                }
-            }
-        }
+    protected void addTargets(BitBoard board, int start, long[] targets) {
+        addRayTargets(board, MoveTables.queenRays(start), targets);
+    }
 
-        return positionSet;
+    /**
+     * @return PieceType of the chess piece
+     * */
+    @Override
+    public PieceType getType() {
+        return PieceType.QUEEN;
     }
 
     /**
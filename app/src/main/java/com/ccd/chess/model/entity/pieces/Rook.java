@@ -1,14 +1,10 @@
 package com.ccd.chess.model.entity.pieces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
-import com.ccd.chess.model.entity.enums.PositionOnBoard;
-import com.ccd.chess.util.Logger;
-import com.ccd.chess.util.MovementUtil;
-
-import static com.ccd.chess.util.MovementUtil.calculateNextPositionOrNull;
-
-import java.util.*;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.util.MoveTables;
 
 /**
  * Rook class extends ChessPiece. Move directions for the Rook, the polygons
@@ -16,8 +12,6 @@ import java.util.*;
  **/
 public class Rook extends ChessPiece {
 
-    private static final String TAG = "ROOK";
-
     /**
      * Rook constructor
      * @param colour: Colour of the chess piece being initiated
@@ -36,37 +30,22 @@ public class Rook extends ChessPiece {
     }
 
     /**
-     * Fetch all the possible positions where a piece can executeMove on board
-     * @param boardMap: Board Map instance representing current game board
-     * @param start: position of piece on board
-     * @return Set of possible positions a piece is allowed to executeMove
+     * Adds the cells the piece can executeMove to on board
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells
      * */
     @Override
-    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-        Set<PositionOnBoard> positionSet = new HashSet<>();
-        ChessPiece mover = this;
-        Direction[][] steps = this.directions;
-
-        for (Direction[] step : steps) {
-            PositionOnBoard tmp = MovementUtil.calculateNextPositionOrNull(mover, step, start);
-            while(tmp != null && !positionSet.contains(tmp) && boardMap.get(tmp)==null) {
-                Logger.d(TAG, "tmp: "+tmp);
-                positionSet.add(tmp);
-                tmp = calculateNextPositionOrNull(mover, step, tmp, tmp.getColour()!=start.getColour());
-            }
-
-            // found a piece in direction
-            if(tmp!=null && boardMap.get(tmp)!=null) {
-                if(boardMap.get(tmp).getColour()!=mover.getColour()) {
-                    Logger.d(TAG, "Opponent tmp: " + tmp);
-                    positionSet.add(tmp);
-                } else {
-                    Logger.d(TAG, "Mine tmp: " + tmp);
-                }
-            }
-        }
+    protected void addTargets(BitBoard board, int start, long[] targets) {
+        addRayTargets(board, MoveTables.rookRays(start), targets);
+    }
 
-        return positionSet;
+    /**
+     * @return PieceType of the chess piece
+     * */
+    @Override
+    public PieceType getType() {
+        return PieceType.ROOK;
     }
 
     /**
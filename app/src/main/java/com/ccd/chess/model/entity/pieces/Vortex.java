@@ -1,13 +1,9 @@
 package com.ccd.chess.model.entity.pieces;
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.Direction;
-import com.ccd.chess.model.entity.enums.PositionOnBoard;
-import com.ccd.chess.util.Logger;
-import com.ccd.chess.util.MovementUtil;
-
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.util.MoveTables;
 
 
 /**
@@ -17,8 +13,6 @@ import java.util.Set;
  */
 public class Vortex extends ChessPiece {
 
-    private static final String TAG = "VORTEX";
-
     /**
      * Vortex constructor
      * @param colour: Colour of the chess piece being initiated
@@ -42,40 +36,35 @@ public class Vortex extends ChessPiece {
     }
 
     /**
-     * Fetch all possible positions where Vortex can executeMove on board
+     * Adds the cells the Vortex can executeMove to on board
      * First moves one square diagonally, then can executeMove one square left from those positions
-     * @param boardMap: Board Map instance representing current game board
-     * @param start: position of piece on board
-     * @return Set of possible PositionOnBoardds piece is allowed to executeMove
+     * @param board: current game board
+     * @param start: index of the piece on board
+     * @param targets: low and high word of the target cells
      */
     @Override
-    public Set<PositionOnBoard> getMovablePositions(Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start) {
-        Set<PositionOnBoard> positionSet = new HashSet<>();
-
+    protected void addTargets(BitBoard board, int start, long[] targets) {
         // First get all diagonal positions (one square)
-        for (Direction[] step : this.directions) {
-            PositionOnBoard diagonalPos = MovementUtil.calculateNextPositionOrNull(this, step, start);
-            if (diagonalPos != null) {
-                ChessPiece targetPiece = boardMap.get(diagonalPos);
-                // Can executeMove to or capture at diagonal position
-                if (targetPiece == null || targetPiece.getColour() != this.getColour()) {
-                    Logger.d(TAG, "Adding diagonal executeMove position: " + diagonalPos);
-                    positionSet.add(diagonalPos);
-                    
-                    // From diagonal position, try to executeMove one square left
-                    PositionOnBoard leftPos = MovementUtil.calculateNextPositionOrNull(this, new Direction[]{Direction.LEFT}, diagonalPos);
-                    if (leftPos != null) {
-                        ChessPiece leftPiece = boardMap.get(leftPos);
-                        if (leftPiece == null || leftPiece.getColour() != this.getColour()) {
-                            Logger.d(TAG, "Adding left executeMove position from diagonal: " + leftPos);
-                            positionSet.add(leftPos);
-                        }
-                    }
+        for (int diagonalIndex : MoveTables.vortexDiagonals(start)) {
+            // Can executeMove to or capture at diagonal position
+            if (!board.isColourAt(diagonalIndex, this.getColour())) {
+                BitBoard.setBit(targets, diagonalIndex);
+
+                // From diagonal position, try to executeMove one square left
+                int leftIndex = MoveTables.neighbour(diagonalIndex, Direction.LEFT);
+                if (leftIndex != MoveTables.OFF_BOARD && !board.isColourAt(leftIndex, this.getColour())) {
+                    BitBoard.setBit(targets, leftIndex);
                 }
             }
         }
+    }
 
-        return positionSet;
+    /**
+     * @return PieceType of the chess piece
+     * */
+    @Override
+    public PieceType getType() {
+        return PieceType.VORTEX;
     }
 
     /**
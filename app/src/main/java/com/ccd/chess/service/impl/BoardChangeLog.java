@@ -0,0 +1,90 @@
+package com.ccd.chess.service.impl;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * BoardChangeLog - ring buffer of the cells changed by the last versions of a board
+ *
+ * Written only by the game's mailbox and read by any thread without locks. Every entry keeps
+ * its version, so a reader notices when an entry it needs was overwritten by a newer one and
+ * falls back to the whole board.
+ */
+class BoardChangeLog {
+
+    /** number of versions kept, older clients get the whole board **/
+    static final int CAPACITY = 64;
+
+    private final AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<>(CAPACITY);
+
+    /**
+     * Records the cells changed by a version, versions are recorded in order
+     * @param version version of the board after the changes
+     * @param changes changed cells, "" for a cell which became empty
+     */
+    void record(long version, ImmutableMap<String, String> changes) {
+        entries.set(slot(version), new Entry(version, changes));
+    }
+
+    /**
+     * Merges the changes of the versions after a known version up to a newer one
+     * @param from version the client knows
+     * @param to version to bring the client to, already recorded
+     * @return the changed cells with their value at version to, empty if a version is not kept anymore
+     */
+    Optional<Map<String, String>> changesBetween(long from, long to) {
+        if (from < 0 || from > to || to - from > CAPACITY) {
+            return Optional.empty();
+        }
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (long version = from + 1; version <= to; version++) {
+            Entry entry = entries.get(slot(version));
+            if (entry == null || entry.version != version) {
+                return Optional.empty();
+            }
+            merged.putAll(entry.changes);
+        }
+        return Optional.of(merged);
+    }
+
+    /**
+     * Compares two boards of the web view
+     * @param before board before the change
+     * @param after board after the change
+     * @return the cells whose piece differs, with the piece after the change or "" if the cell became empty
+     */
+    static ImmutableMap<String, String> diff(Map<String, String> before, Map<String, String> after) {
+        Map<String, String> changes = new HashMap<>();
+        after.forEach((cell, piece) -> {
+            if (!piece.equals(before.get(cell))) {
+                changes.put(cell, piece);
+            }
+        });
+        before.keySet().forEach(cell -> {
+            if (!after.containsKey(cell)) {
+                changes.put(cell, "");
+            }
+        });
+        return ImmutableMap.copyOf(changes);
+    }
+
+    private static int slot(long version) {
+        return (int) (version % CAPACITY);
+    }
+
+    /** changes of one version **/
+    private static final class Entry {
+        private final long version;
+        private final ImmutableMap<String, String> changes;
+
+        private Entry(long version, ImmutableMap<String, String> changes) {
+            this.version = version;
+            this.changes = changes;
+        }
+    }
+}
@@ -1,26 +1,26 @@
 package com.ccd.chess.service.impl;
 
+import com.ccd.chess.engine.MoveGenerator;
 import com.ccd.chess.exceptions.InvalidPositionException;
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.board.MoveUndo;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.PositionOnBoard;
 import com.ccd.chess.model.entity.pieces.ChessPiece;
 import com.ccd.chess.model.entity.pieces.Hawk;
-import com.ccd.chess.model.entity.pieces.King;
-import com.ccd.chess.model.entity.pieces.Pawn;
-import com.ccd.chess.model.entity.pieces.Queen;
 import com.ccd.chess.exceptions.InvalidMoveException;
 import com.ccd.chess.util.Logger;
 import com.ccd.chess.util.PieceFactory;
 import com.ccd.chess.util.BoardAdapter;
+import com.ccd.chess.util.PositionCodec;
 import com.google.common.collect.ImmutableSet;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.HashMap;
 import java.util.HashSet;
 
 import com.ccd.chess.service.interfaces.BoardService;
-import org.springframework.stereotype.Service;
 
 /**
  * BoardServiceImpl - Main service handling board state and game logic
@@ -37,25 +37,33 @@ import org.springframework.stereotype.Service;
  * ✅ Depends on interfaces rather than concrete implementations
  * ✅ Uses PieceFactory for piece creation
  */
-@Service
 public class BoardServiceImpl implements BoardService {
 
     private static final String TAG = "Board";
 
-    /** A map from board positions to the pieces at that position **/
-    protected Map<PositionOnBoard, ChessPiece> boardMap;
-    private Colour turn;
+    /** A map from board positions to the pieces at that position, backed by per colour and per type bitboards.
+     *  The board also keeps the turn and the Hawk double-capture state **/
+    protected BitBoard boardMap;
     private boolean gameOver;
     private String winner;
     private Set<PositionOnBoard> highlightPolygons = new HashSet<>();
-    private boolean hasHawkMoved = false;
+    /** legal targets per position and piece, shared with the boards of the other games **/
+    private final LegalMoveCache legalMoves;
 
     /**
      * Board constructor. Places pieces on the board and initializes variables
      * */
     public BoardServiceImpl(){
-        boardMap = new HashMap<PositionOnBoard,ChessPiece>();
-        turn = Colour.SILVER;
+        this(LegalMoveCache.shared());
+    }
+
+    /**
+     * Board constructor with the cache of the legal moves to use
+     * @param legalMoves cache of the legal targets
+     * */
+    BoardServiceImpl(LegalMoveCache legalMoves){
+        this.legalMoves = legalMoves;
+        boardMap = new BitBoard();
         gameOver = false;
         winner = null;
         try{
@@ -141,58 +149,24 @@ public class BoardServiceImpl implements BoardService {
 
         if(validateMove(start, end)) {
             ChessPiece mover = boardMap.get(start);
-            ChessPiece taken = boardMap.get(end);
-            boardMap.remove(start);
+            Colour moverTurn = boardMap.getSideToMove();
             highlightPolygons.clear();
 
-            // Handle Hawk's special executeMove
-            if(mover instanceof Hawk) {
-                if(taken != null) {  // Only if Hawk captures a piece
-                    if(!hasHawkMoved) {
-                        hasHawkMoved = true;
-                        boardMap.put(end, mover);
-                        return; // Don't change turn yet, allow second executeMove
-                    } else {
-                        hasHawkMoved = false; // Reset for next turn
-                    }
-                } else {
-                    // If Hawk moves without capturing, treat as normal executeMove
-                    hasHawkMoved = false;
-                }
-            }
-
-            if(mover instanceof Pawn && end.getRow()==0 && end.getColour()!=mover.getColour()){
-                boardMap.put(end, new Queen(mover.getColour()));  //promote pawn
-            } else {
-                boardMap.put(end,mover);  //executeMove piece
-            }
-
-            if(mover instanceof King && start.getColumn()==4 && start.getRow()==0) {
-                if(end.getColumn()==2) {//castle left, update rook
-                    PositionOnBoard rookPos = PositionOnBoard.get(mover.getColour(),0,0);
-                    boardMap.put(PositionOnBoard.get(mover.getColour(),0,3), boardMap.get(rookPos));
-                    boardMap.remove(rookPos);
-                }else if(end.getColumn()==6){//castle right, update rook
-                    PositionOnBoard rookPos = PositionOnBoard.get(mover.getColour(),0,7);
-                    boardMap.put(PositionOnBoard.get(mover.getColour(),0,5), boardMap.get(rookPos));
-                    boardMap.remove(rookPos);
-                }
+            // moves the piece, promotes pawns, moves the rook when castling and passes the turn
+            boardMap.makeMove(start.ordinal(), end.ordinal());
+            if(mover instanceof Hawk && boardMap.isHawkPending()) {
+                return; // Hawk's first capture, the turn is kept for a second executeMove
             }
 
             for(Colour c: Colour.values()) {
-                if(c!=turn) {
-                    if(isKingInCheckMate(c, boardMap)) {
+                if(c!=moverTurn) {
+                    if(isKingInCheckMate(c)) {
                         gameOver = true;
                         winner = mover.getColour().toString();
 
                     }
                 }
             }
-
-            // Only change turn if it's not a Hawk's first capture
-            if (!(mover instanceof Hawk && hasHawkMoved)) {
-                turn = Colour.values()[(turn.ordinal()+1)%3];
-            }
         } else {
             throw new InvalidMoveException("Invalid executeMove");
         }
@@ -215,10 +189,11 @@ public class BoardServiceImpl implements BoardService {
         highlightPolygons = mover.getMovablePositions(this.boardMap, start);
 
         if(highlightPolygons.contains(end)) {
-            if(isKingInCheck(turn, boardMap) && isKingInCheckAfterMove(turn, boardMap, start, end)) {
+            Colour turn = boardMap.getSideToMove();
+            if(isKingInCheck(turn) && isKingInCheckAfterMove(turn, start.ordinal(), end.ordinal())) {
                 Logger.d(TAG, "Colour "+moverCol+" is in check, this executeMove doesn't help. Do again!!");
                 return false;
-            } else if(isKingInCheckAfterMove(turn, boardMap, start, end)) {
+            } else if(isKingInCheckAfterMove(turn, start.ordinal(), end.ordinal())) {
                 Logger.d(TAG, "Colour "+moverCol+" will be in check after this executeMove");
                 return false;
             } else{
@@ -234,7 +209,7 @@ public class BoardServiceImpl implements BoardService {
      * @return Colour
      * */
     public Colour getCurrentTurn() {
-        return turn;
+        return boardMap.getSideToMove();
     }
 
     /**
@@ -255,7 +230,43 @@ public class BoardServiceImpl implements BoardService {
     }
 
     /**
-     * For the current selected piece, returns the possible moves
+     * @return number of moves executed on the board
+     * */
+    @Override
+    public int getMoveCount() {
+        return boardMap.getHistorySize();
+    }
+
+    /**
+     * For the web app to use, the cells changed by the moves executed after a move count. They are read
+     * from the move records of the board, start and end of every move and the rook of a castling, so the
+     * rest of the board is not converted
+     * @param moveCount number of moves executed before the changes
+     * @return map of changed position and piece converted to strings, "" for a cell which became empty
+     * */
+    @Override
+    public Map<String, String> convertChangedCellsToWebView(int moveCount) {
+        Map<String, String> cells = new HashMap<>();
+        for(int i = moveCount; i < boardMap.getHistorySize(); i++) {
+            MoveUndo move = boardMap.moveAt(i);
+            putCell(cells, move.getStart());
+            putCell(cells, move.getEnd());
+            if(move.isCastling()) {
+                putCell(cells, move.getRookFrom());
+                putCell(cells, move.getRookTo());
+            }
+        }
+        return cells;
+    }
+
+    private void putCell(Map<String, String> cells, int index) {
+        ChessPiece piece = boardMap.pieceAt(index);
+        cells.put(PositionCodec.label(index), piece == null ? "" : piece.toString());
+    }
+
+    /**
+     * For the current selected piece, returns the possible moves. The legal targets are looked up
+     * in the shared cache by the Zobrist key of the position and only calculated on a miss
      * @param position The current selected piece position
      * @return Set of possible movements
      * */
@@ -265,18 +276,14 @@ public class BoardServiceImpl implements BoardService {
             return ImmutableSet.of();
         }
 
-        // Always calculate fresh highlight polygons
-        highlightPolygons = mover.getMovablePositions(this.boardMap, position);
-
-        Colour moverColour = mover.getColour();
-        Set<PositionOnBoard> nonCheckPositions = new HashSet<>();
-        for(PositionOnBoard endPos: highlightPolygons) {
-            if(!isKingInCheckAfterMove(moverColour, this.boardMap, position, endPos)) {
-                nonCheckPositions.add(endPos);
-            }
+        int start = position.ordinal();
+        long key = boardMap.getZobristKey();
+        long[] legal = new long[2];
+        if(!legalMoves.lookup(key, start, legal)) {
+            MoveGenerator.collectLegalTargets(boardMap, start, legal);
+            legalMoves.store(key, start, legal);
         }
-
-        return nonCheckPositions;
+        return BitBoard.toPositions(legal);
     }
 
     /**
@@ -285,7 +292,16 @@ public class BoardServiceImpl implements BoardService {
      * @return boolean
      * */
     public boolean isPieceOwnedByCurrentPlayer(PositionOnBoard position) {
-        return fetchPieceAtPosition(position) != null && fetchPieceAtPosition(position).getColour()==turn;
+        return boardMap.isColourAt(position.ordinal(), boardMap.getSideToMove());
+    }
+
+    /**
+     * Copies the board, e.g. for the engine to search on without changing the game
+     * @return copy of the board with the side to move, without the move history
+     */
+    @Override
+    public BitBoard copyBoard() {
+        return new BitBoard(boardMap);
     }
 
     /**
@@ -298,63 +314,16 @@ public class BoardServiceImpl implements BoardService {
 
     /**     Check / Check-mate logic helper functions **/
 
-    private boolean isKingInCheck(Colour colour, Map<PositionOnBoard, ChessPiece> boardMap) {
-        PositionOnBoard kingPosition = findKingPosition(colour, boardMap);
-
-        for(PositionOnBoard position: boardMap.keySet()) {
-            ChessPiece piece = boardMap.get(position);
-            if(piece.getColour() != colour) {
-                Set<PositionOnBoard> possibleTargetPositions = piece.getMovablePositions(boardMap, position);
-                if(possibleTargetPositions.contains(kingPosition)) {
-                    Logger.d(TAG, "Piece "+piece+" is attacking King of colour "+colour);
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private boolean isKingInCheckMate(Colour colour, Map<PositionOnBoard, ChessPiece> boardMap) {
-        if(!isKingInCheck(colour, boardMap)) {
-            return false;
-        }
-
-        for(PositionOnBoard position: boardMap.keySet()) {
-            ChessPiece piece = boardMap.get(position);
-            if(piece.getColour()==colour) {
-                Set<PositionOnBoard> possibleMoves = piece.getMovablePositions(boardMap, position);
-                for(PositionOnBoard endPos: possibleMoves) {
-                    if(!isKingInCheckAfterMove(colour, boardMap, position, endPos)) {
-                        Logger.d(TAG, "Piece "+piece+" can help colour "+colour+" to come out of check: st: "+position+", end: "+endPos);
-                        return false;
-                    }
-                }
-            }
-        }
-
-        return true;
+    private boolean isKingInCheck(Colour colour) {
+        // a single test against the attack maps of the other two colours
+        return boardMap.isKingInCheck(colour);
     }
 
-    private boolean isKingInCheckAfterMove(Colour colour, Map<PositionOnBoard, ChessPiece> boardMap, PositionOnBoard start, PositionOnBoard end) {
-        Map<PositionOnBoard, ChessPiece> copyBoardMap = new HashMap<>(boardMap);
-        ChessPiece piece = copyBoardMap.get(start);
-        copyBoardMap.remove(start);
-        copyBoardMap.put(end, piece);
-
-        if(!isKingInCheck(colour, copyBoardMap)) {
-            return false;
-        }
-
-        return true;
+    private boolean isKingInCheckMate(Colour colour) {
+        return MoveGenerator.isCheckmate(boardMap, colour);
     }
 
-    private PositionOnBoard findKingPosition(Colour colour, Map<PositionOnBoard, ChessPiece> boardMap) {
-        for(PositionOnBoard position: boardMap.keySet()) {
-            ChessPiece piece = boardMap.get(position);
-            if(piece instanceof King && piece.getColour()==colour) {
-                return position;
-            }
-        }
-        return null;
+    private boolean isKingInCheckAfterMove(Colour colour, int start, int end) {
+        return MoveGenerator.isKingInCheckAfterMove(boardMap, colour, start, end);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.ccd.chess.service.impl;
+
+import com.ccd.chess.model.entity.enums.Colour;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * GameClock - thinking time used by every colour of a game, kept on the server
+ *
+ * The time of a turn is charged to the colour to move when the turn passes on. Only used on
+ * the game's mailbox, so it needs no locking.
+ */
+class GameClock {
+
+    private final Map<Colour, Long> usedMillis = new EnumMap<>(Colour.class);
+    private Colour turn;
+    private long turnStart;
+
+    /**
+     * GameClock constructor
+     * @param turn colour to move first
+     * @param now start of the game in milliseconds
+     */
+    GameClock(Colour turn, long now) {
+        for (Colour colour : Colour.values()) {
+            usedMillis.put(colour, 0L);
+        }
+        this.turn = turn;
+        this.turnStart = now;
+    }
+
+    /**
+     * Charges the running turn to its colour and starts the turn of the next colour,
+     * nothing happens if the turn did not change
+     * @param next colour to move now
+     * @param now time in milliseconds
+     */
+    void switchTurn(Colour next, long now) {
+        if (next == turn) {
+            return;
+        }
+        usedMillis.merge(turn, Math.max(0, now - turnStart), Long::sum);
+        turn = next;
+        turnStart = now;
+    }
+
+    /**
+     * @param colour colour to look up
+     * @param now time in milliseconds
+     * @return thinking time used by the colour, with the running turn if it is the colour's
+     */
+    long usedMillis(Colour colour, long now) {
+        long used = usedMillis.get(colour);
+        return colour == turn ? used + Math.max(0, now - turnStart) : used;
+    }
+}
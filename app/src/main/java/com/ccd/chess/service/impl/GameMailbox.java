@@ -0,0 +1,67 @@
+package com.ccd.chess.service.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GameMailbox - serial executor of one game on top of a shared worker pool
+ *
+ * Tasks are queued and run one after another in submission order. At most one drain of the
+ * queue is scheduled on the shared pool at any time, so the game state is only touched by
+ * one thread at a time without locking, and thousands of games can share a few threads.
+ * A drain gives the worker back after BATCH tasks so a busy game cannot starve the others.
+ */
+class GameMailbox implements Executor {
+
+    private static final int BATCH = 64;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Executor workers;
+
+    /**
+     * GameMailbox constructor
+     * @param workers shared pool the mailbox drains on
+     */
+    GameMailbox(Executor workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Queues a task behind the tasks already in the mailbox
+     * @param task task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                workers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            for (int count = 0; count < BATCH && (task = tasks.poll()) != null; count++) {
+                task.run();
+            }
+        } finally {
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.ccd.chess.service.impl;
+
+import com.ccd.chess.engine.PieceSquareEvaluator;
+import com.ccd.chess.engine.SearchEngine;
+import com.ccd.chess.engine.TimeManager;
+import com.ccd.chess.engine.TranspositionTable;
+import com.ccd.chess.exceptions.GameCapacityException;
+import com.ccd.chess.service.interfaces.GameRegistry;
+import com.ccd.chess.service.interfaces.GameSession;
+import com.ccd.chess.util.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * GameRegistryImpl - hosts many independent games in one JVM
+ *
+ * Games are kept in a concurrent map keyed by a random game id, each with its own
+ * BoardServiceImpl and GameServiceImpl. The number of games is capped and games which
+ * are not used within the idle timeout are evicted, so memory stays bounded.
+ *
+ * Every game runs on its own mailbox, and all mailboxes share one small pool of worker
+ * threads. A game is only ever used by one worker at a time. The moves of computer players
+ * are searched by one engine shared by all games, on a separate bounded pool of search
+ * threads, so games played by the engine never keep the workers from the clicks of the
+ * other games. A search runs on a copy of the board and only the move found is played on
+ * the mailbox of the game.
+ */
+@Service
+public class GameRegistryImpl implements GameRegistry {
+
+    private static final String TAG = GameRegistryImpl.class.getSimpleName();
+
+    private final Map<String, GameSessionImpl> games = new ConcurrentHashMap<>();
+    private final int maxGames;
+    private final long idleTimeoutMillis;
+    private final LongSupplier clock;
+    private final Executor workers;
+    private final Executor searches;
+    private final SearchEngine engine;
+    private final TimeManager timeManager;
+
+    /**
+     * GameRegistryImpl constructor used by Spring
+     * @param maxGames maximum number of games hosted at the same time
+     * @param idleTimeoutMillis games not used for this long are evicted
+     * @param workerThreads size of the worker pool shared by all games, 0 for one per processor
+     * @param searchThreads size of the pool the moves of computer players are searched on, 0 for one per processor
+     * @param botDepth plies the engine searches at most for a computer player
+     * @param botTimeBudgetMillis time the engine may take at most for a move of a computer player
+     * @param botClockMillis thinking time of a computer player for the whole game
+     * @param botMovesToGo moves the thinking time left is divided over
+     * @param botHashMegabytes memory of the transposition table shared by the searches of all games, 0 for none
+     * @param botHashReplacement replacement policy of the transposition table
+     * @param botThreads threads searching a move of a computer player, more than one for Lazy SMP
+     */
+    @Autowired
+    public GameRegistryImpl(@Value("${chess.games.max-active:1000}") int maxGames,
+                            @Value("${chess.games.idle-timeout-ms:1800000}") long idleTimeoutMillis,
+                            @Value("${chess.games.worker-threads:0}") int workerThreads,
+                            @Value("${chess.bot.search-threads:0}") int searchThreads,
+                            @Value("${chess.bot.depth:6}") int botDepth,
+                            @Value("${chess.bot.time-budget-ms:300}") long botTimeBudgetMillis,
+                            @Value("${chess.bot.clock-ms:300000}") long botClockMillis,
+                            @Value("${chess.bot.moves-to-go:30}") int botMovesToGo,
+                            @Value("${chess.bot.hash-mb:16}") int botHashMegabytes,
+                            @Value("${chess.bot.hash-replacement:DEPTH_PREFERRED}") TranspositionTable.Replacement botHashReplacement,
+                            @Value("${chess.bot.threads:1}") int botThreads) {
+        this(maxGames, idleTimeoutMillis, System::currentTimeMillis,
+                Executors.newFixedThreadPool(threadCount(workerThreads), threadFactory("game-worker-")),
+                Executors.newFixedThreadPool(threadCount(searchThreads), threadFactory("bot-search-")),
+                new SearchEngine(new PieceSquareEvaluator(), botDepth, botTimeBudgetMillis,
+                        botHashMegabytes > 0 ? TranspositionTable.ofMegabytes(botHashMegabytes, botHashReplacement) : null,
+                        botThreads),
+                new TimeManager(botClockMillis, botMovesToGo, botTimeBudgetMillis));
+    }
+
+    /**
+     * Constructor with an injectable clock and worker pool for testing, the searches run on the workers
+     * @param maxGames maximum number of games hosted at the same time
+     * @param idleTimeoutMillis games not used for this long are evicted
+     * @param clock source of the current time in milliseconds
+     * @param workers pool the mailboxes of the games run on
+     */
+    GameRegistryImpl(int maxGames, long idleTimeoutMillis, LongSupplier clock, Executor workers) {
+        this(maxGames, idleTimeoutMillis, clock, workers, workers,
+                new SearchEngine(new PieceSquareEvaluator(), SearchEngine.DEFAULT_DEPTH, SearchEngine.DEFAULT_TIME_BUDGET_MILLIS),
+                new TimeManager(TimeManager.DEFAULT_CLOCK_MILLIS, TimeManager.DEFAULT_MOVES_TO_GO, SearchEngine.DEFAULT_TIME_BUDGET_MILLIS));
+    }
+
+    /**
+     * Constructor with an injectable clock, worker pool, search pool and engine
+     * @param maxGames maximum number of games hosted at the same time
+     * @param idleTimeoutMillis games not used for this long are evicted
+     * @param clock source of the current time in milliseconds
+     * @param workers pool the mailboxes of the games run on
+     * @param searches pool the moves of the computer players are searched on
+     * @param engine engine playing the seats of the computer in all games
+     * @param timeManager time budget of a move of the engine from the time its seat used
+     */
+    GameRegistryImpl(int maxGames, long idleTimeoutMillis, LongSupplier clock, Executor workers, Executor searches,
+                     SearchEngine engine, TimeManager timeManager) {
+        this.maxGames = maxGames;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.clock = clock;
+        this.workers = workers;
+        this.searches = searches;
+        this.engine = engine;
+        this.timeManager = timeManager;
+    }
+
+    private static int threadCount(int configured) {
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, namePrefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates a new game with a fresh board. If the registry is full the idle games are
+     * evicted first.
+     * @return id of the new game
+     * @throws GameCapacityException if the registry is still full
+     */
+    @Override
+    public synchronized String createGame() throws GameCapacityException {
+        if (games.size() >= maxGames && evictIdleGames() == 0) {
+            throw new GameCapacityException(games.size() + " games are active");
+        }
+        String gameId = UUID.randomUUID().toString();
+        games.put(gameId, new GameSessionImpl(gameId, workers, searches, clock, engine, timeManager));
+        Logger.d(TAG, "Created game " + gameId + ", active games: " + games.size());
+        return gameId;
+    }
+
+    /**
+     * Looks up a game and marks it as used
+     * @param gameId id of the game
+     * @return the session of the game or empty if the id is unknown or the game was evicted
+     */
+    @Override
+    public Optional<GameSession> findGame(String gameId) {
+        GameSessionImpl session = gameId == null ? null : games.get(gameId);
+        if (session == null) {
+            return Optional.empty();
+        }
+        session.touch(clock.getAsLong());
+        return Optional.of(session);
+    }
+
+    /**
+     * Ends a game, stops its engine and frees its board
+     * @param gameId id of the game
+     * @return true if the game existed
+     */
+    @Override
+    public boolean removeGame(String gameId) {
+        GameSessionImpl session = gameId == null ? null : games.remove(gameId);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    /**
+     * Removes and closes the games which were not used within the idle timeout, runs periodically
+     * @return number of evicted games
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${chess.games.eviction-interval-ms:60000}")
+    public int evictIdleGames() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, GameSessionImpl> game : games.entrySet()) {
+            GameSessionImpl session = game.getValue();
+            if (session.isIdle(now, idleTimeoutMillis) && games.remove(game.getKey(), session)) {
+                session.close();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            Logger.d(TAG, "Evicted " + evicted + " idle games, active games: " + games.size());
+        }
+        return evicted;
+    }
+
+    /**
+     * Starts a new generation of the transposition table shared by the searches of all games, runs
+     * periodically. The searches do not start one each, with many games searching at once that would
+     * end the generation of every running search and make DEPTH_PREFERRED replace like ALWAYS
+     */
+    @Scheduled(fixedDelayString = "${chess.bot.hash-generation-ms:1000}")
+    public void newHashGeneration() {
+        engine.newGeneration();
+    }
+
+    /**
+     * @return number of games currently hosted
+     */
+    @Override
+    public int activeGames() {
+        return games.size();
+    }
+
+    /**
+     * @return hits, misses and evictions of the legal move cache shared by all games and its hit rate in percent
+     */
+    @Override
+    public Map<String, Long> legalMoveCacheStats() {
+        return LegalMoveCache.shared().stats();
+    }
+
+    /**
+     * Stops the worker pool, the search pool and the search helpers when the application shuts down
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (workers instanceof ExecutorService) {
+            ((ExecutorService) workers).shutdown();
+        }
+        if (searches instanceof ExecutorService) {
+            ((ExecutorService) searches).shutdownNow();
+        }
+        engine.shutdown();
+    }
+}
@@ -1,7 +1,9 @@
 package com.ccd.chess.service.impl;
 
+import com.ccd.chess.engine.SearchResult;
 import com.ccd.chess.exceptions.InvalidPositionException;
 import com.ccd.chess.model.dto.GameState;
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.entity.enums.PositionOnBoard;
 import com.ccd.chess.service.interfaces.GameService;
@@ -52,6 +54,24 @@ public class GameServiceImpl implements GameService {
         return board.convertBoardToWebView();
     }
 
+    /**
+     * @return number of moves executed in the game
+     */
+    @Override
+    public int moveCount() {
+        return board.getMoveCount();
+    }
+
+    /**
+     * Get the cells changed by the moves executed after a move count, without converting the whole board
+     * @param moveCount number of moves executed before the changes
+     * @return changed cells with their piece, "" for a cell which became empty
+     */
+    @Override
+    public Map<String, String> retrieveChangedCells(int moveCount) {
+        return board.convertChangedCellsToWebView(moveCount);
+    }
+
     /**
      * Responsible for sending mouse click events to backend and apply game logic over it to display
      * updated board layout to player.
@@ -60,6 +80,17 @@ public class GameServiceImpl implements GameService {
      */
     @Override
     public GameState processClickEvent(String polygonLabel) {
+        return processClickEvent(polygonLabel, true);
+    }
+
+    /**
+     * Processes a click like processClickEvent(String), optionally without converting the board
+     * @param polygonLabel The unique label of the polygon which is clicked by player
+     * @param withBoard false to leave the board out of the GameState, for clients tracking it by version
+     * @return GameState which contains the list of polygons to highlight and, if asked for, the board layout
+     */
+    @Override
+    public GameState processClickEvent(String polygonLabel, boolean withBoard) {
         try {
             // polygonPos must be in range [0, 95]
             Logger.d(TAG, ">>> processClickEvent called: polygonLabel: " + polygonLabel);
@@ -95,16 +126,9 @@ public class GameServiceImpl implements GameService {
             highlightPolygons = null;
         }
         List<String> highlightPolygonsList = BoardAdapter.convertPossibleMovesToStringRep(highlightPolygons);
-        GameState clickResponse = new GameState(retrieveBoardState(), highlightPolygonsList);
-        if (board.checkIfGameOver()) {
-            String winner = board.retrieveWinner();
-            if ("B".equals(winner)) {
-                winner = "SILVER";
-            } else if ("G".equals(winner)) {
-                winner = "BRONZE";
-            } else if ("R".equals(winner)) {
-                winner = "GOLD";
-            }
+        GameState clickResponse = new GameState(withBoard ? retrieveBoardState() : null, highlightPolygonsList);
+        String winner = retrieveWinner();
+        if (winner != null) {
             Logger.d(TAG, "Winner: " + winner);
             clickResponse.setGameOver(winner);
         }
@@ -112,6 +136,25 @@ public class GameServiceImpl implements GameService {
         return clickResponse;
     }
 
+    /**
+     * @return name of the winning colour, e.g. SILVER, null while the game is running
+     */
+    @Override
+    public String retrieveWinner() {
+        if (!board.checkIfGameOver()) {
+            return null;
+        }
+        String winner = board.retrieveWinner();
+        if ("B".equals(winner)) {
+            winner = "SILVER";
+        } else if ("G".equals(winner)) {
+            winner = "BRONZE";
+        } else if ("R".equals(winner)) {
+            winner = "GOLD";
+        }
+        return winner;
+    }
+
     /**
      * @return returns which colour turn it is currently
      */
@@ -120,4 +163,37 @@ public class GameServiceImpl implements GameService {
         Logger.d(TAG, "Current turn: " + board.getCurrentTurn());
         return board.getCurrentTurn();
     }
+
+    /**
+     * Copies the board for the engine, the search runs on the copy and leaves the game untouched
+     * @return copy of the board, null if the game is over
+     */
+    @Override
+    public BitBoard searchPosition() {
+        return board.checkIfGameOver() ? null : board.copyBoard();
+    }
+
+    /**
+     * Plays the move the engine chose for the colour to move with executeMove, a pending
+     * selection of a player is dropped
+     * @param result search of the position of searchPosition
+     * @return true if a move was played, false if the colour has no legal move or the move is rejected
+     */
+    @Override
+    public boolean playBotMove(SearchResult result) {
+        Logger.d(TAG, "Bot " + board.getCurrentTurn() + ": " + result);
+        if (!result.hasMove()) {
+            return false;
+        }
+        moveStartPos = null;
+        moveEndPos = null;
+        highlightPolygons = ImmutableSet.of();
+        try {
+            board.executeMove(result.getStart(), result.getEnd());
+            return true;
+        } catch (InvalidMoveException | InvalidPositionException e) {
+            Logger.e(TAG, "Bot move " + result + " rejected: " + e.getMessage());
+            return false;
+        }
+    }
 }
\ No newline at end of file
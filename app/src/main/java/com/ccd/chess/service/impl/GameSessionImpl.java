@@ -0,0 +1,320 @@
+package com.ccd.chess.service.impl;
+
+import com.ccd.chess.engine.SearchEngine;
+import com.ccd.chess.engine.SearchResult;
+import com.ccd.chess.engine.TimeManager;
+import com.ccd.chess.model.dto.BoardUpdate;
+import com.ccd.chess.model.dto.GameSnapshot;
+import com.ccd.chess.model.dto.GameState;
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.service.interfaces.GameService;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.service.interfaces.GameSession;
+import com.ccd.chess.util.Logger;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * GameSessionImpl - one hosted game of the GameRegistry: its game service with its own board,
+ * the mailbox the game runs on, the last published snapshot with the log of the recent board
+ * changes, the seats played by the engine, the clock of the game and the time it was last used
+ *
+ * Whenever a published snapshot hands the turn to a seat of the engine, the mailbox copies the
+ * board and the engine searches the copy on the search pool, so a search never holds up a worker
+ * of the mailboxes. Only the move found is queued on the mailbox again, like a click, and it is
+ * dropped if the game moved on during the search. The time budget of the search follows the
+ * thinking time the seat has used on the clock of the game. Moves of the engine keep the game from being evicted as
+ * idle, but after MAX_UNATTENDED_BOT_MOVES of them without a request to the game the engine
+ * pauses until the game is used again. A closed session queues no more moves of the engine.
+ */
+class GameSessionImpl implements GameSession {
+
+    private static final String TAG = GameSessionImpl.class.getSimpleName();
+
+    /** moves the engine plays in a row without a request to the game before it pauses **/
+    static final int MAX_UNATTENDED_BOT_MOVES = 500;
+
+    private final String gameId;
+    private final GameService game;
+    private final Executor mailbox;
+    private final Executor searches;
+    private final List<Consumer<GameSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private final BoardChangeLog changeLog = new BoardChangeLog();
+    private final SearchEngine engine;
+    private final TimeManager timeManager;
+    private final LongSupplier clock;
+    private final GameClock gameClock;
+    private final Set<Colour> botSeats = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean botMoveQueued = new AtomicBoolean();
+    private final AtomicInteger unattendedBotMoves = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile GameSnapshot snapshot;
+    /** moves of the game the published snapshot shows, only used on the mailbox **/
+    private int publishedMoves;
+    private volatile long lastAccess;
+
+    /**
+     * GameSessionImpl constructor, creates a fresh board for the game
+     * @param gameId id of the game
+     * @param workers shared pool the mailbox of the game runs on
+     * @param searches shared pool the engine searches the moves of the seats of the computer on
+     * @param clock source of the current time in milliseconds
+     * @param engine engine playing the seats of the computer
+     * @param timeManager time budget of a move of the engine from the time its seat used
+     */
+    GameSessionImpl(String gameId, Executor workers, Executor searches, LongSupplier clock, SearchEngine engine,
+                    TimeManager timeManager) {
+        this.gameId = gameId;
+        this.searches = searches;
+        this.engine = engine;
+        this.timeManager = timeManager;
+        this.clock = clock;
+        this.game = new GameServiceImpl(new BoardServiceImpl());
+        this.mailbox = new GameMailbox(workers);
+        this.snapshot = new GameSnapshot(game.retrieveBoardState(), game.currentTurn(), game.retrieveWinner(), 0, ImmutableMap.of());
+        this.lastAccess = clock.getAsLong();
+        this.gameClock = new GameClock(game.currentTurn(), lastAccess);
+    }
+
+    /**
+     * @return id of the game
+     */
+    @Override
+    public String getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Queues a click on a polygon of the board
+     * @param polygonLabel The unique label of the polygon which is clicked by player
+     * @return GameState of the game after the click
+     */
+    @Override
+    public CompletableFuture<GameState> processClickEvent(String polygonLabel) {
+        return submit(game -> game.processClickEvent(polygonLabel));
+    }
+
+    /**
+     * Queues a click on a polygon of the board, the response carries the board as changes
+     * @param polygonLabel The unique label of the polygon which is clicked by player
+     * @param knownVersion version of the board the client shows
+     * @return GameState of the game after the click with a BoardUpdate instead of the board
+     */
+    @Override
+    public CompletableFuture<GameState> processClickEvent(String polygonLabel, long knownVersion) {
+        return submit(game -> game.processClickEvent(polygonLabel, false)).thenApply(state -> state.withBoardUpdate(updateSince(knownVersion)));
+    }
+
+    /**
+     * Get the cells changed since a version from the change log, without waiting for the mailbox
+     * @param knownVersion version of the board the client shows, NO_VERSION if it shows none
+     * @return the changed cells, or the whole board if the version is unknown or too old
+     */
+    @Override
+    public BoardUpdate updateSince(long knownVersion) {
+        GameSnapshot current = snapshot;
+        if (knownVersion == current.getVersion()) {
+            return BoardUpdate.delta(current, knownVersion, ImmutableMap.of());
+        }
+        return changeLog.changesBetween(knownVersion, current.getVersion())
+                .map(changes -> BoardUpdate.delta(current, knownVersion, changes))
+                .orElseGet(() -> BoardUpdate.full(current));
+    }
+
+    /**
+     * Queues an action on the game and publishes a new snapshot after it
+     * @param action action to run with the game service
+     * @param <T> result type
+     * @return result of the action
+     */
+    @Override
+    public <T> CompletableFuture<T> submit(Function<GameService, T> action) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return action.apply(game);
+            } finally {
+                publish();
+            }
+        }, mailbox);
+    }
+
+    /**
+     * Registers a listener for the snapshots published after the game changed
+     * @param listener called on the game's mailbox with every changed snapshot
+     * @return action removing the listener again
+     */
+    @Override
+    public Runnable subscribe(Consumer<GameSnapshot> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Puts the engine in a seat or gives the seat back, if it is the colour's turn the engine moves
+     * @param colour colour of the seat
+     * @param bot true to let the engine play the colour
+     */
+    @Override
+    public void setBotSeat(Colour colour, boolean bot) {
+        if (bot && !closed) {
+            botSeats.add(colour);
+            scheduleBotMove();
+        } else {
+            botSeats.remove(colour);
+        }
+    }
+
+    /**
+     * @return colours played by the engine
+     */
+    @Override
+    public Set<Colour> getBotSeats() {
+        return Sets.immutableEnumSet(botSeats);
+    }
+
+    /**
+     * Gives all seats of the engine back and queues no more moves of the engine, a move already
+     * queued is skipped
+     */
+    @Override
+    public void close() {
+        closed = true;
+        botSeats.clear();
+    }
+
+    /**
+     * Queues a search of the engine if the game is running and it is the turn of a seat of the engine.
+     * At most one search is queued or running at a time, the next one is queued by the snapshot its
+     * move publishes
+     */
+    private void scheduleBotMove() {
+        GameSnapshot current = snapshot;
+        if (!closed && current.getWinner() == null && botSeats.contains(current.getCurrentTurn())
+                && unattendedBotMoves.get() < MAX_UNATTENDED_BOT_MOVES && botMoveQueued.compareAndSet(false, true)) {
+            mailbox.execute(this::startBotSearch);
+        }
+    }
+
+    /**
+     * Starts the search of a copy of the board on the search pool, only called on the mailbox.
+     * The move found is queued on the mailbox with the turn and version the search started from
+     */
+    private void startBotSearch() {
+        Colour turn = game.currentTurn();
+        BitBoard position = closed || !botSeats.contains(turn) ? null : game.searchPosition();
+        if (position == null) {
+            botMoveQueued.set(false);
+            return;
+        }
+        long version = snapshot.getVersion();
+        long budget = timeManager.budgetMillis(gameClock.usedMillis(turn, clock.getAsLong()));
+        try {
+            CompletableFuture.supplyAsync(() -> engine.findBestMove(position, budget), searches)
+                    .whenComplete((result, error) -> submit(game -> playBotMove(game, turn, version, result, error)));
+        } catch (RejectedExecutionException e) {
+            botMoveQueued.set(false);
+            Logger.e(TAG, "Game " + gameId + " search rejected: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Plays the move found by a search, only called on the mailbox. The move is dropped if the game
+     * was closed, the seat given back or the game moved on since the search started, then the
+     * position reached is searched if it is the turn of a seat of the engine
+     * @param game game service of the session
+     * @param turn colour the search was for
+     * @param version version of the snapshot the search started from
+     * @param result move found, null if the search failed
+     * @param error exception of a failed search
+     * @return true if the move was played
+     */
+    private boolean playBotMove(GameService game, Colour turn, long version, SearchResult result, Throwable error) {
+        botMoveQueued.set(false);
+        if (error != null) {
+            Logger.e(TAG, "Game " + gameId + " search failed: " + error.getMessage());
+            return false;
+        }
+        if (closed || !botSeats.contains(turn) || snapshot.getVersion() != version || game.currentTurn() != turn) {
+            scheduleBotMove();
+            return false;
+        }
+        boolean moved = game.playBotMove(result);
+        if (moved) {
+            lastAccess = clock.getAsLong();
+            unattendedBotMoves.incrementAndGet();
+        }
+        return moved;
+    }
+
+    /**
+     * @return the snapshot published after the last processed action
+     */
+    @Override
+    public GameSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes a new version of the snapshot and notifies the listeners if the board, turn or winner changed,
+     * only called on the mailbox. The changed cells are those of the moves executed since the last
+     * snapshot, the board is not converted
+     */
+    private void publish() {
+        GameSnapshot previous = snapshot;
+        int moves = game.moveCount();
+        ImmutableMap<String, String> changes = moves == publishedMoves ? ImmutableMap.of()
+                : ImmutableMap.copyOf(game.retrieveChangedCells(publishedMoves));
+        publishedMoves = moves;
+        Colour turn = game.currentTurn();
+        String winner = game.retrieveWinner();
+        gameClock.switchTurn(turn, clock.getAsLong());
+        if (changes.isEmpty() && turn == previous.getCurrentTurn() && Objects.equals(winner, previous.getWinner())) {
+            return;
+        }
+        GameSnapshot next = previous.next(turn, winner, changes);
+        changeLog.record(next.getVersion(), changes); // before the snapshot, readers of the snapshot find its changes
+        snapshot = next;
+        for (Consumer<GameSnapshot> listener : listeners) {
+            try {
+                listener.accept(next);
+            } catch (RuntimeException e) {
+                Logger.e(TAG, "Game " + gameId + " listener failed: " + e.getMessage());
+            }
+        }
+        scheduleBotMove();
+    }
+
+    /**
+     * Marks the session as used by a request, an engine paused for lack of requests moves again
+     * @param now time in milliseconds
+     */
+    void touch(long now) {
+        lastAccess = now;
+        if (unattendedBotMoves.getAndSet(0) >= MAX_UNATTENDED_BOT_MOVES) {
+            scheduleBotMove();
+        }
+    }
+
+    /**
+     * @param now time in milliseconds
+     * @param idleTimeoutMillis idle timeout in milliseconds
+     * @return true if the session was not used within the idle timeout
+     */
+    boolean isIdle(long now, long idleTimeoutMillis) {
+        return now - lastAccess > idleTimeoutMillis;
+    }
+}
@@ -0,0 +1,131 @@
+package com.ccd.chess.service.impl;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LegalMoveCache - legal targets of a piece keyed by the Zobrist key of the position and the start cell
+ *
+ * A fixed size table shared by all games, openings repeat across games and a player often clicks the
+ * same piece several times. Each slot holds one immutable entry and a new entry replaces whatever
+ * was in its slot, so the cache never grows and needs no locks. An entry keeps its full key and
+ * start cell, a lookup only hits on an exact match.
+ */
+class LegalMoveCache {
+
+    /** number of slots of the shared cache **/
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final LegalMoveCache SHARED = new LegalMoveCache(DEFAULT_CAPACITY);
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * LegalMoveCache constructor
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    LegalMoveCache(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * @return the cache shared by the boards of all games
+     */
+    static LegalMoveCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Looks up the legal targets of the piece on a cell
+     * @param key Zobrist key of the position
+     * @param start cell of the piece
+     * @param targets receives the legal targets as low and high word on a hit
+     * @return true on a hit
+     */
+    boolean lookup(long key, int start, long[] targets) {
+        Entry entry = slots.get(slot(key, start));
+        if (entry == null || entry.key != key || entry.start != start) {
+            misses.increment();
+            return false;
+        }
+        targets[0] = entry.lo;
+        targets[1] = entry.hi;
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Stores the legal targets of the piece on a cell, replacing the entry in its slot
+     * @param key Zobrist key of the position
+     * @param start cell of the piece
+     * @param targets legal targets as low and high word
+     */
+    void store(long key, int start, long[] targets) {
+        Entry previous = slots.getAndSet(slot(key, start), new Entry(key, start, targets[0], targets[1]));
+        if (previous != null) {
+            evictions.increment();
+        }
+    }
+
+    /** @return number of lookups answered from the cache **/
+    public long hits() {
+        return hits.sum();
+    }
+
+    /** @return number of lookups not found in the cache **/
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** @return number of entries replaced by a newer one **/
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return hits, misses and evictions counted since the start and the hit rate in percent
+     */
+    public ImmutableMap<String, Long> stats() {
+        long hitCount = hits();
+        long missCount = misses();
+        long lookups = hitCount + missCount;
+        return ImmutableMap.of("hits", hitCount, "misses", missCount, "evictions", evictions(),
+                "hitRate", lookups == 0 ? 0 : 100 * hitCount / lookups);
+    }
+
+    @Override
+    public String toString() {
+        long hitCount = hits();
+        long lookups = hitCount + misses();
+        return "LegalMoveCache{hits=" + hitCount + ", misses=" + misses() + ", evictions=" + evictions()
+                + ", hitRate=" + (lookups == 0 ? 0 : 100 * hitCount / lookups) + "%}";
+    }
+
+    private int slot(long key, int start) {
+        long hash = key ^ (start * 0x9E3779B97F4A7C15L);
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /** legal targets of one piece in one position **/
+    private static final class Entry {
+        private final long key;
+        private final int start;
+        private final long lo;
+        private final long hi;
+
+        private Entry(long key, int start, long lo, long hi) {
+            this.key = key;
+            this.start = start;
+            this.lo = lo;
+            this.hi = hi;
+        }
+    }
+}
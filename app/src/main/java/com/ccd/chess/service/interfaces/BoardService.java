@@ -1,5 +1,6 @@
 package com.ccd.chess.service.interfaces;
 
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.PositionOnBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.exceptions.InvalidMoveException;
@@ -24,8 +25,14 @@ public interface BoardService {
     Colour getCurrentTurn();
     
     Map<String, String> convertBoardToWebView();
+
+    int getMoveCount();
+
+    Map<String, String> convertChangedCellsToWebView(int moveCount);
     
     Set<PositionOnBoard> calculatePossibleMoves(PositionOnBoard position);
     
     boolean isPieceOwnedByCurrentPlayer(PositionOnBoard position);
+
+    BitBoard copyBoard();
 }
\ No newline at end of file
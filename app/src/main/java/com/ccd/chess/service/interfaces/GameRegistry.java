@@ -0,0 +1,49 @@
+package com.ccd.chess.service.interfaces;
+
+import com.ccd.chess.exceptions.GameCapacityException;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Interface for the GameRegistry
+ * This interface is responsible for hosting many independent games, each with its own board
+ */
+public interface GameRegistry {
+    /**
+     * Creates a new game with a fresh board
+     * @return id of the new game
+     * @throws GameCapacityException if the maximum number of games is hosted and none is idle
+     * */
+    String createGame() throws GameCapacityException;
+
+    /**
+     * Looks up a game and marks it as used
+     * @param gameId id of the game
+     * @return the session of the game or empty if the id is unknown or the game was evicted
+     * */
+    Optional<GameSession> findGame(String gameId);
+
+    /**
+     * Ends a game and frees its board
+     * @param gameId id of the game
+     * @return true if the game existed
+     * */
+    boolean removeGame(String gameId);
+
+    /**
+     * Removes the games which were not used within the idle timeout
+     * @return number of evicted games
+     * */
+    int evictIdleGames();
+
+    /**
+     * @return number of games currently hosted
+     * */
+    int activeGames();
+
+    /**
+     * @return hits, misses and evictions of the legal move cache shared by all games and its hit rate in percent
+     * */
+    Map<String, Long> legalMoveCacheStats();
+}
@@ -1,5 +1,7 @@
 package com.ccd.chess.service.interfaces;
 
+import com.ccd.chess.engine.SearchResult;
+import com.ccd.chess.model.entity.board.BitBoard;
 import com.ccd.chess.model.entity.enums.Colour;
 import com.ccd.chess.model.dto.GameState;
 import java.util.Map;
@@ -19,8 +21,46 @@ public interface GameService {
      **/
     GameState processClickEvent(String polygonLabel);
 
+    /**
+     * Processes a click like processClickEvent(String), optionally without converting the board
+     * @param  polygonLabel The unique label of the polygon which is clicked by player
+     * @param  withBoard false to leave the board out of the GameState, for clients tracking it by version
+     * @return GameState which contains the list of polygons to highlight and, if asked for, the board layout
+     **/
+    GameState processClickEvent(String polygonLabel, boolean withBoard);
+
+    /**
+     * @return number of moves executed in the game
+     * */
+    int moveCount();
+
+    /**
+     * Get the cells changed by the moves executed after a move count, without converting the whole board
+     * @param moveCount number of moves executed before the changes
+     * @return changed cells with their piece, "" for a cell which became empty
+     * */
+    Map<String, String> retrieveChangedCells(int moveCount);
+
+    /**
+     * @return name of the winning colour, e.g. SILVER, null while the game is running
+     * */
+    String retrieveWinner();
+
     /**
      * @return returns which colour turn it is currently
      * */
     Colour currentTurn();
+
+    /**
+     * Copies the board for the engine to search the move of the colour to move
+     * @return copy of the board, null if the game is over
+     * */
+    BitBoard searchPosition();
+
+    /**
+     * Plays the move the engine chose for the colour to move with executeMove
+     * @param result search of the position of searchPosition
+     * @return true if a move was played, false if the colour has no legal move or the move is rejected
+     * */
+    boolean playBotMove(SearchResult result);
 }
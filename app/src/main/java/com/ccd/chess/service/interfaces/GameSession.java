@@ -0,0 +1,85 @@
+package com.ccd.chess.service.interfaces;
+
+import com.ccd.chess.model.dto.BoardUpdate;
+import com.ccd.chess.model.dto.GameSnapshot;
+import com.ccd.chess.model.dto.GameState;
+import com.ccd.chess.model.entity.enums.Colour;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Interface for a GameSession, one game hosted by the GameRegistry
+ * Every request which changes the game runs on the game's mailbox one after another, so the
+ * game itself needs no locks. Reads are served from the last published snapshot.
+ */
+public interface GameSession {
+    /**
+     * @return id of the game
+     * */
+    String getGameId();
+
+    /**
+     * Queues a click on a polygon of the board
+     * @param polygonLabel The unique label of the polygon which is clicked by player
+     * @return GameState of the game after the click, completed by the mailbox
+     * */
+    CompletableFuture<GameState> processClickEvent(String polygonLabel);
+
+    /**
+     * Queues a click on a polygon of the board, the response carries only the cells changed since the known version
+     * @param polygonLabel The unique label of the polygon which is clicked by player
+     * @param knownVersion version of the board the client shows, BoardUpdate.NO_VERSION if it shows none
+     * @return GameState with a BoardUpdate instead of the board, completed by the mailbox
+     * */
+    CompletableFuture<GameState> processClickEvent(String polygonLabel, long knownVersion);
+
+    /**
+     * Get the board as the cells changed since a version, answered from the published snapshot
+     * @param knownVersion version of the board the client shows, BoardUpdate.NO_VERSION if it shows none
+     * @return the changed cells, or the whole board if the version is unknown or too old
+     * */
+    BoardUpdate updateSince(long knownVersion);
+
+    /**
+     * Queues an action on the game. The snapshot is published again after the action
+     * @param action action to run with the game service, the only thread using it at that time
+     * @param <T> result type
+     * @return result of the action, completed by the mailbox
+     * */
+    <T> CompletableFuture<T> submit(Function<GameService, T> action);
+
+    /**
+     * @return the snapshot published after the last processed action
+     * */
+    GameSnapshot snapshot();
+
+    /**
+     * Registers a listener for the snapshots published after the board, the turn or the winner changed,
+     * each one is the next version and carries its changed cells
+     * @param listener called on the game's mailbox, should return quickly
+     * @return action removing the listener again
+     * */
+    Runnable subscribe(Consumer<GameSnapshot> listener);
+
+    /**
+     * Puts the engine in a seat or gives the seat back to a human player. While a seat is taken by
+     * the engine its moves are queued on the mailbox whenever it is the colour's turn
+     * @param colour colour of the seat
+     * @param bot true to let the engine play the colour
+     * */
+    void setBotSeat(Colour colour, boolean bot);
+
+    /**
+     * @return colours played by the engine
+     * */
+    Set<Colour> getBotSeats();
+
+    /**
+     * Ends the session when its game is removed from the registry. The engine gives its seats back
+     * and no further moves of the engine are queued
+     * */
+    void close();
+}
@@ -0,0 +1,293 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.Direction;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.Bishop;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+import com.ccd.chess.model.entity.pieces.Hawk;
+import com.ccd.chess.model.entity.pieces.King;
+import com.ccd.chess.model.entity.pieces.Knight;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Queen;
+import com.ccd.chess.model.entity.pieces.Rook;
+import com.ccd.chess.model.entity.pieces.Vortex;
+
+import java.util.Arrays;
+
+/**
+ * MoveTables - movement tables precomputed once at class load for each of the 96 positions
+ *
+ * The tables are built by walking the piece directions with the exception free MovementUtil API,
+ * so the cross-section wrap and the reversal of directions after crossing a section boundary are
+ * already applied. All entries are position indices (PositionOnBoard.ordinal()), OFF_BOARD marks a
+ * step off the board.
+ **/
+public class MoveTables {
+
+    /** Index used for a step which leaves the board **/
+    public static final int OFF_BOARD = PositionOnBoard.OFF_BOARD;
+
+    private static final int SIZE = PositionOnBoard.values().length;
+
+    /** neighbour of each position in every direction, indexed by Direction.ordinal() **/
+    private static final int[][] NEIGHBOURS = new int[SIZE][Direction.values().length];
+
+    /** slider rays of each position, one array per direction in the order of the piece directions **/
+    private static final int[][][] ROOK_RAYS;
+    private static final int[][][] BISHOP_RAYS;
+    private static final int[][][] QUEEN_RAYS;
+
+    /** distinct jump targets of each position **/
+    private static final int[][] KNIGHT_JUMPS;
+    private static final int[][] KING_STEPS;
+    private static final int[][] VORTEX_DIAGONALS;
+
+    /** Hawk moves per direction: the adjacent position which must be empty and the destination **/
+    private static final int[][] HAWK_ADJACENT;
+    private static final int[][] HAWK_JUMPS;
+
+    /** Pawn steps per colour, one entry per pawn direction as pawns reverse inside opponent sections **/
+    private static final int[][][] PAWN_STEPS = new int[Colour.values().length][][];
+
+    /** Cells read by the move generation of a piece, per colour, piece type and position, as low and high word **/
+    private static final long[][][][] REACH = new long[Colour.values().length][PieceType.values().length][SIZE][];
+
+    static {
+        for (PositionOnBoard position : PositionOnBoard.values()) {
+            for (Direction direction : Direction.values()) {
+                NEIGHBOURS[position.ordinal()][direction.ordinal()] = position.neighbourIndex(direction);
+            }
+        }
+        ROOK_RAYS = buildRays(new Rook(Colour.SILVER));
+        BISHOP_RAYS = buildRays(new Bishop(Colour.SILVER));
+        QUEEN_RAYS = buildRays(new Queen(Colour.SILVER));
+        KNIGHT_JUMPS = buildJumps(new Knight(Colour.SILVER));
+        KING_STEPS = buildJumps(new King(Colour.SILVER));
+        VORTEX_DIAGONALS = buildJumps(new Vortex(Colour.SILVER));
+
+        ChessPiece hawk = new Hawk(Colour.SILVER);
+        Direction[][] hawkSteps = hawk.getDirections();
+        HAWK_ADJACENT = new int[SIZE][hawkSteps.length];
+        HAWK_JUMPS = new int[SIZE][hawkSteps.length];
+        for (PositionOnBoard start : PositionOnBoard.values()) {
+            for (int i = 0; i < hawkSteps.length; i++) {
+                Direction[] step = hawkSteps[i];
+                HAWK_ADJACENT[start.ordinal()][i] = MovementUtil.calculateNextIndex(hawk, new Direction[]{step[0]}, start.ordinal(), false);
+                HAWK_JUMPS[start.ordinal()][i] = MovementUtil.calculateNextIndex(hawk, step, start.ordinal(), false);
+            }
+        }
+
+        for (Colour colour : Colour.values()) {
+            ChessPiece pawn = new Pawn(colour);
+            Direction[][] pawnSteps = pawn.getDirections();
+            int[][] steps = new int[SIZE][pawnSteps.length];
+            for (int start = 0; start < SIZE; start++) {
+                for (int i = 0; i < pawnSteps.length; i++) {
+                    steps[start][i] = MovementUtil.calculateNextIndex(pawn, pawnSteps[i], start, false);
+                }
+            }
+            PAWN_STEPS[colour.ordinal()] = steps;
+        }
+
+        for (Colour colour : Colour.values()) {
+            for (PieceType type : PieceType.values()) {
+                for (int start = 0; start < SIZE; start++) {
+                    REACH[colour.ordinal()][type.ordinal()][start] = buildReach(colour, type, start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the neighbour of a position in the given direction
+     * @param index position index
+     * @param direction direction of the step
+     * @return neighbour index or OFF_BOARD
+     **/
+    public static int neighbour(int index, Direction direction) {
+        return NEIGHBOURS[index][direction.ordinal()];
+    }
+
+    /** @return the rook rays starting next to the position, in the order of the rook directions **/
+    public static int[][] rookRays(int index) {
+        return ROOK_RAYS[index];
+    }
+
+    /** @return the bishop rays starting next to the position, in the order of the bishop directions **/
+    public static int[][] bishopRays(int index) {
+        return BISHOP_RAYS[index];
+    }
+
+    /** @return the queen rays starting next to the position, in the order of the queen directions **/
+    public static int[][] queenRays(int index) {
+        return QUEEN_RAYS[index];
+    }
+
+    /** @return the distinct knight jump targets of the position **/
+    public static int[] knightJumps(int index) {
+        return KNIGHT_JUMPS[index];
+    }
+
+    /** @return the distinct king step targets of the position, castling excluded **/
+    public static int[] kingSteps(int index) {
+        return KING_STEPS[index];
+    }
+
+    /** @return the distinct diagonal targets of the Vortex from the position **/
+    public static int[] vortexDiagonals(int index) {
+        return VORTEX_DIAGONALS[index];
+    }
+
+    /** @return the position next to the Hawk in each of its directions, OFF_BOARD if there is none **/
+    public static int[] hawkAdjacent(int index) {
+        return HAWK_ADJACENT[index];
+    }
+
+    /** @return the Hawk destination in each of its directions, OFF_BOARD if there is none **/
+    public static int[] hawkJumps(int index) {
+        return HAWK_JUMPS[index];
+    }
+
+    /**
+     * Get the pawn targets of the position for a pawn of the given colour
+     * @param colour colour of the pawn
+     * @param index position index
+     * @return target per pawn direction, OFF_BOARD if the step leaves the board
+     **/
+    public static int[] pawnSteps(Colour colour, int index) {
+        return PAWN_STEPS[colour.ordinal()][index];
+    }
+
+    /**
+     * Get the cells whose content can change the moves of a piece. A piece has to be regenerated only
+     * when one of these cells, or its own cell, changes.
+     * @param colour colour of the piece
+     * @param type type of the piece
+     * @param index position index of the piece
+     * @return low and high word of the cells, must not be modified
+     **/
+    public static long[] reach(Colour colour, PieceType type, int index) {
+        return REACH[colour.ordinal()][type.ordinal()][index];
+    }
+
+    private static long[] buildReach(Colour colour, PieceType type, int start) {
+        long[] reach = new long[2];
+        switch (type) {
+            case ROOK:
+                addRays(reach, ROOK_RAYS[start]);
+                break;
+            case BISHOP:
+                addRays(reach, BISHOP_RAYS[start]);
+                break;
+            case QUEEN:
+                addRays(reach, QUEEN_RAYS[start]);
+                break;
+            case KNIGHT:
+                addCells(reach, KNIGHT_JUMPS[start]);
+                break;
+            case HAWK:
+                addCells(reach, HAWK_ADJACENT[start]);
+                addCells(reach, HAWK_JUMPS[start]);
+                break;
+            case VORTEX:
+                addCells(reach, VORTEX_DIAGONALS[start]);
+                for (int diagonal : VORTEX_DIAGONALS[start]) {
+                    addCell(reach, neighbour(diagonal, Direction.LEFT));
+                }
+                break;
+            case KING:
+                addCells(reach, KING_STEPS[start]);
+                if (start == PositionOnBoard.getIndex(colour, 0, 4)) {
+                    for (int column = 0; column < 8; column++) { // castling reads the whole first row
+                        addCell(reach, PositionOnBoard.getIndex(colour, 0, column));
+                    }
+                }
+                break;
+            case PAWN:
+                addCells(reach, pawnSteps(colour, start));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown piece type " + type);
+        }
+        return reach;
+    }
+
+    private static void addRays(long[] cells, int[][] rays) {
+        for (int[] ray : rays) {
+            addCells(cells, ray);
+        }
+    }
+
+    private static void addCells(long[] cells, int[] indices) {
+        for (int index : indices) {
+            addCell(cells, index);
+        }
+    }
+
+    private static void addCell(long[] cells, int index) {
+        if (index != OFF_BOARD) {
+            cells[index >>> 6] |= 1L << (index & 63);
+        }
+    }
+
+    /**
+     * Walks every direction of a sliding piece until it leaves the board or returns to a position
+     * already on the ray. After crossing into another section the remaining steps are reversed,
+     * exactly as the pieces did when walking the rays at runtime.
+     * @param piece prototype of the sliding piece
+     * @return rays per position, empty rays are left out
+     **/
+    private static int[][][] buildRays(ChessPiece piece) {
+        int[][][] rays = new int[SIZE][][];
+        int[] buffer = new int[SIZE];
+        for (PositionOnBoard start : PositionOnBoard.values()) {
+            int[][] startRays = new int[piece.getDirections().length][];
+            int count = 0;
+            for (Direction[] step : piece.getDirections()) {
+                int length = 0;
+                int tmp = MovementUtil.calculateNextIndex(piece, step, start.ordinal(), false);
+                while (tmp != OFF_BOARD && !contains(buffer, length, tmp)) {
+                    buffer[length++] = tmp;
+                    tmp = MovementUtil.calculateNextIndex(piece, step, tmp, PositionOnBoard.at(tmp).getColour() != start.getColour());
+                }
+                if (length > 0) {
+                    startRays[count++] = Arrays.copyOf(buffer, length);
+                }
+            }
+            rays[start.ordinal()] = Arrays.copyOf(startRays, count);
+        }
+        return rays;
+    }
+
+    /**
+     * Applies every step of a jumping piece once
+     * @param piece prototype of the jumping piece
+     * @return distinct targets per position
+     **/
+    private static int[][] buildJumps(ChessPiece piece) {
+        int[][] jumps = new int[SIZE][];
+        int[] buffer = new int[SIZE];
+        for (PositionOnBoard start : PositionOnBoard.values()) {
+            int count = 0;
+            for (Direction[] step : piece.getDirections()) {
+                int end = MovementUtil.calculateNextIndex(piece, step, start.ordinal(), false);
+                if (end != OFF_BOARD && !contains(buffer, count, end)) {
+                    buffer[count++] = end;
+                }
+            }
+            jumps[start.ordinal()] = Arrays.copyOf(buffer, count);
+        }
+        return jumps;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,27 +18,10 @@ public class MovementUtil {
      * @param step directions to executeMove
      * @param current current position of the piece
      * @return Position of the piece after the calculateNextPosition
+     * @throws InvalidPositionException if the step leaves the board
      **/
     public static PositionOnBoard calculateNextPosition(ChessPiece piece, Direction[] step, PositionOnBoard current) throws InvalidPositionException {
-        boolean reverse = false;
-        PositionOnBoard newPosition = current;
-        for (Direction direction : step) {
-            Direction newDirection = direction;
-            if ((piece.getColour() != newPosition.getColour() && piece instanceof Pawn) || reverse) { // reverse directions for knights
-                switch (newDirection) {
-                    case FORWARD: newDirection = Direction.BACKWARD; break;
-                    case BACKWARD: newDirection = Direction.FORWARD; break;
-                    case LEFT: newDirection = Direction.RIGHT; break;
-                    case RIGHT: newDirection = Direction.LEFT; break;
-                }
-            }
-            PositionOnBoard next = newPosition.neighbour(newDirection);
-            if (next.getColour() != newPosition.getColour()) { // need to reverse directions when switching between sections of the board
-                reverse = true;
-            }
-            newPosition = next;
-        }
-        return newPosition;
+        return calculateNextPosition(piece, step, current, false);
     }
 
     /**
@@ -48,26 +31,14 @@ public class MovementUtil {
      * @param current current position of the piece
      * @param reverse if movement is in reverse direction
      * @return Position of the piece after the calculateNextPosition
+     * @throws InvalidPositionException if the step leaves the board
      **/
     public static PositionOnBoard calculateNextPosition(ChessPiece piece, Direction[] step, PositionOnBoard current, boolean reverse) throws InvalidPositionException {
-        PositionOnBoard newPosition = current;
-        for (Direction direction : step) {
-            Direction newDirection = direction;
-            if ((piece.getColour() != newPosition.getColour() && piece instanceof Pawn) || reverse) { // reverse directions for knights
-                switch (newDirection) {
-                    case FORWARD: newDirection = Direction.BACKWARD; break;
-                    case BACKWARD: newDirection = Direction.FORWARD; break;
-                    case LEFT: newDirection = Direction.RIGHT; break;
-                    case RIGHT: newDirection = Direction.LEFT; break;
-                }
-            }
-            PositionOnBoard next = newPosition.neighbour(newDirection);
-            if (next.getColour() != newPosition.getColour()) { // need to reverse directions when switching between sections of the board
-                reverse = true;
-            }
-            newPosition = next;
+        int index = calculateNextIndex(piece, step, current.ordinal(), reverse);
+        if (index == PositionOnBoard.OFF_BOARD) {
+            throw new InvalidPositionException("Moved off board");
         }
-        return newPosition;
+        return PositionOnBoard.at(index);
     }
 
     /**
@@ -78,11 +49,7 @@ public class MovementUtil {
      * @return Position of the piece after the calculateNextPosition
      **/
     public static PositionOnBoard calculateNextPositionOrNull(ChessPiece piece, Direction[] step, PositionOnBoard current) {
-        try {
-            return calculateNextPosition(piece, step, current);
-        } catch (InvalidPositionException e) {
-            return null;
-        }
+        return calculateNextPositionOrNull(piece, step, current, false);
     }
 
     /**
@@ -94,10 +61,41 @@ public class MovementUtil {
      * @return Position of the piece after the calculateNextPosition
      **/
     public static PositionOnBoard calculateNextPositionOrNull(ChessPiece piece, Direction[] step, PositionOnBoard current, boolean reverse) {
-        try {
-            return calculateNextPosition(piece, step, current, reverse);
-        } catch (InvalidPositionException e) {
-            return null;
+        int index = calculateNextIndex(piece, step, current.ordinal(), reverse);
+        return index == PositionOnBoard.OFF_BOARD ? null : PositionOnBoard.at(index);
+    }
+
+    /**
+     * Exception free calculateNextPosition working on position indices, used for move generation
+     * @param piece piece to be moved
+     * @param step directions to executeMove
+     * @param current index of the current position of the piece
+     * @param reverse if movement is in reverse direction
+     * @return index of the position after the step, or PositionOnBoard.OFF_BOARD if the step leaves the board
+     **/
+    public static int calculateNextIndex(ChessPiece piece, Direction[] step, int current, boolean reverse) {
+        boolean isPawn = piece instanceof Pawn;
+        PositionOnBoard newPosition = PositionOnBoard.at(current);
+        for (Direction direction : step) {
+            Direction newDirection = direction;
+            if ((isPawn && piece.getColour() != newPosition.getColour()) || reverse) { // reverse directions for knights
+                switch (newDirection) {
+                    case FORWARD: newDirection = Direction.BACKWARD; break;
+                    case BACKWARD: newDirection = Direction.FORWARD; break;
+                    case LEFT: newDirection = Direction.RIGHT; break;
+                    case RIGHT: newDirection = Direction.LEFT; break;
+                }
+            }
+            int next = newPosition.neighbourIndex(newDirection);
+            if (next == PositionOnBoard.OFF_BOARD) {
+                return PositionOnBoard.OFF_BOARD;
+            }
+            PositionOnBoard nextPosition = PositionOnBoard.at(next);
+            if (nextPosition.getColour() != newPosition.getColour()) { // need to reverse directions when switching between sections of the board
+                reverse = true;
+            }
+            newPosition = nextPosition;
         }
+        return newPosition.ordinal();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,237 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * PieceSquareTables - value of every piece on every cell, used by the static evaluation
+ *
+ * The value of a piece on a cell is the value of its type, PieceType.getValue(), plus a bonus read
+ * from a table of four rows of eight cells. A piece has one table for its own section, HOME, and
+ * one for the two opponent sections, AWAY, as the sections look the same from every colour. A
+ * board the engine hands the tables to adds the value of every placed piece to a score per colour
+ * and takes it off again when the piece is removed, so the evaluation reads the sum without
+ * scanning the board.
+ *
+ * The default tables are read from the text file engine/piece-square-tables.txt on the classpath,
+ * or from the file named by the system property chess.engine.pst-file, so they can be tuned without
+ * a rebuild. They are read once, when the engine first asks for them. A file which cannot be read
+ * is logged and replaced by the built in file, and that by MATERIAL_ONLY.
+ **/
+public final class PieceSquareTables {
+
+    /** System property naming a table file used instead of the built in one **/
+    public static final String FILE_PROPERTY = "chess.engine.pst-file";
+
+    private static final String TAG = PieceSquareTables.class.getSimpleName();
+    private static final String RESOURCE = "/engine/piece-square-tables.txt";
+    private static final int TYPES = PieceType.values().length;
+    private static final int ROWS = 4;
+    private static final int COLUMNS = 8;
+    private static final PositionOnBoard[] POSITIONS = PositionOnBoard.values();
+
+    /** Tables without bonuses or weights, the piece values alone **/
+    public static final PieceSquareTables MATERIAL_ONLY = new PieceSquareTables(new int[TYPES][2][ROWS * COLUMNS], 0, 0);
+
+    /** value of each piece per colour * TYPES + type and cell **/
+    private final int[][] values = new int[Colour.values().length * TYPES][BitBoard.SIZE];
+    private final int mobilityWeight;
+    private final int kingZoneWeight;
+
+    private PieceSquareTables(int[][][] bonus, int mobilityWeight, int kingZoneWeight) {
+        this.mobilityWeight = mobilityWeight;
+        this.kingZoneWeight = kingZoneWeight;
+        for (Colour colour : Colour.values()) {
+            for (PieceType type : PieceType.values()) {
+                int[] cells = values[colour.ordinal() * TYPES + type.ordinal()];
+                for (PositionOnBoard position : POSITIONS) {
+                    int side = position.getColour() == colour ? 0 : 1;
+                    cells[position.ordinal()] = type.getValue() + bonus[type.ordinal()][side][position.getRow() * COLUMNS + position.getColumn()];
+                }
+            }
+        }
+    }
+
+    /** @return tables of the configured file, of the built in file if it cannot be read, or MATERIAL_ONLY **/
+    public static PieceSquareTables getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * Reads tables in the format of engine/piece-square-tables.txt
+     * @param reader text of the tables, not closed
+     * @return tables
+     * @throws IllegalArgumentException naming the line of a malformed entry
+     **/
+    public static PieceSquareTables parse(Reader reader) {
+        int[][][] bonus = new int[TYPES][2][ROWS * COLUMNS];
+        int mobility = 0;
+        int kingZone = 0;
+        BufferedReader lines = new BufferedReader(reader);
+        int lineNumber = 0;
+        try {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                String[] words = words(line);
+                if (words.length == 0) {
+                    continue;
+                }
+                switch (words[0]) {
+                    case "mobility":
+                        expectWords(words, 2, lineNumber);
+                        mobility = number(words[1], lineNumber);
+                        break;
+                    case "king-zone":
+                        expectWords(words, 2, lineNumber);
+                        kingZone = number(words[1], lineNumber);
+                        break;
+                    case "table":
+                        expectWords(words, 3, lineNumber);
+                        int[] table = bonus[type(words[1], lineNumber).ordinal()][side(words[2], lineNumber)];
+                        for (int row = 0; row < ROWS; row++) {
+                            do {
+                                line = lines.readLine();
+                                lineNumber++;
+                                if (line == null) {
+                                    throw new IllegalArgumentException("line " + lineNumber + ": table ends after " + row + " rows");
+                                }
+                                words = words(line);
+                            } while (words.length == 0);
+                            expectWords(words, COLUMNS, lineNumber);
+                            for (int column = 0; column < COLUMNS; column++) {
+                                table[row * COLUMNS + column] = number(words[column], lineNumber);
+                            }
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("line " + lineNumber + ": unknown entry " + words[0]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PieceSquareTables(bonus, mobility, kingZone);
+    }
+
+    /**
+     * @param colour ordinal of the colour of the piece
+     * @param type ordinal of the type of the piece
+     * @param index cell index
+     * @return piece value and bonus of the piece on the cell in centipawns
+     **/
+    public int value(int colour, int type, int index) {
+        return values[colour * TYPES + type][index];
+    }
+
+    /** @return centipawns per cell the pieces of a colour can move to **/
+    public int mobilityWeight() {
+        return mobilityWeight;
+    }
+
+    /** @return centipawns lost per cell next to the king the opponents can move to **/
+    public int kingZoneWeight() {
+        return kingZoneWeight;
+    }
+
+    /**
+     * Computes the piece square score of a colour from scratch, used to check the incremental score
+     * @param board board to score
+     * @param colour colour to score
+     * @return sum of the values of the pieces of the colour
+     **/
+    public int compute(BitBoard board, Colour colour) {
+        int score = 0;
+        for (int index = 0; index < BitBoard.SIZE; index++) {
+            ChessPiece piece = board.pieceAt(index);
+            if (piece != null && piece.getColour() == colour) {
+                score += value(colour.ordinal(), piece.getType().ordinal(), index);
+            }
+        }
+        return score;
+    }
+
+    private static String[] words(String line) {
+        int comment = line.indexOf('#');
+        String text = (comment < 0 ? line : line.substring(0, comment)).trim();
+        return text.isEmpty() ? new String[0] : text.split("\\s+");
+    }
+
+    private static void expectWords(String[] words, int count, int lineNumber) {
+        if (words.length != count) {
+            throw new IllegalArgumentException("line " + lineNumber + ": expected " + count + " values but found " + words.length);
+        }
+    }
+
+    private static PieceType type(String word, int lineNumber) {
+        try {
+            return PieceType.valueOf(word);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("line " + lineNumber + ": unknown piece type " + word);
+        }
+    }
+
+    private static int side(String word, int lineNumber) {
+        switch (word) {
+            case "HOME":
+                return 0;
+            case "AWAY":
+                return 1;
+            default:
+                throw new IllegalArgumentException("line " + lineNumber + ": expected HOME or AWAY but found " + word);
+        }
+    }
+
+    private static int number(String word, int lineNumber) {
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("line " + lineNumber + ": not a number " + word);
+        }
+    }
+
+    /**
+     * Reads the tables of a file, falling back to the built in file and then to MATERIAL_ONLY, a
+     * file which cannot be read is logged
+     * @param file path of the table file, or null for the built in one
+     * @return tables
+     **/
+    static PieceSquareTables load(String file) {
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+                return parse(reader);
+            } catch (IOException | RuntimeException e) {
+                Logger.e(TAG, "Cannot read piece square tables " + file + ", using the built in ones: " + e.getMessage());
+            }
+        }
+        InputStream stream = PieceSquareTables.class.getResourceAsStream(RESOURCE);
+        if (stream == null) {
+            Logger.e(TAG, "Missing piece square tables " + RESOURCE + ", using the piece values alone");
+            return MATERIAL_ONLY;
+        }
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException | RuntimeException e) {
+            Logger.e(TAG, "Cannot read piece square tables " + RESOURCE + ", using the piece values alone: " + e.getMessage());
+            return MATERIAL_ONLY;
+        }
+    }
+
+    /** Reads the default tables on first use, tables parsed from elsewhere never read a file **/
+    private static final class Holder {
+        private static final PieceSquareTables DEFAULT = load(System.getProperty(FILE_PROPERTY));
+    }
+}
@@ -0,0 +1,216 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.model.dto.BoardUpdate;
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PositionCodec - compact binary form of positions and board updates
+ *
+ * Every cell is one byte: 0 for an empty cell, otherwise 1 + colour * 8 + piece type. The 24
+ * piece codes do not fit a nibble, so a cell takes a whole byte. A position is the side to move,
+ * a flag byte and the 96 cells in PositionOnBoard order, POSITION_BYTES in total. It is used to
+ * store positions and as the application/x-3pchess response type of the board updates.
+ *
+ * Board update layout, numbers big endian:
+ * <pre>
+ * 0   format version, 1
+ * 1   flags, bit 0 full update, bit 1 game over
+ * 2   colour to move
+ * 3   winning colour, NO_COLOUR while the game is running
+ * 4   version, 8 bytes
+ * 12  base version, 8 bytes, -1 for a full update
+ * 20  full update: the 96 cells
+ *     otherwise: number of changed cells, then cell index and cell code per changed cell
+ * </pre>
+ **/
+public final class PositionCodec {
+
+    /** content type of the binary board updates **/
+    public static final String MEDIA_TYPE = "application/x-3pchess";
+    /** format version written first in every board update **/
+    public static final int FORMAT_VERSION = 1;
+    /** code of an empty cell **/
+    public static final byte EMPTY = 0;
+    /** colour code of a game without winner **/
+    public static final byte NO_COLOUR = (byte) 0xFF;
+    /** size of an encoded position **/
+    public static final int POSITION_BYTES = 2 + BitBoard.SIZE;
+    /** size of a board update before the cells **/
+    public static final int UPDATE_HEADER_BYTES = 20;
+
+    private static final int FLAG_HAWK_PENDING = 1;
+    private static final int FLAG_FULL = 1;
+    private static final int FLAG_GAME_OVER = 2;
+    private static final int TYPES = PieceType.values().length;
+    private static final Colour[] COLOURS = Colour.values();
+
+    /** piece of each code, shared by all decoded boards, pieces hold no state besides their colour **/
+    private static final ChessPiece[] PIECES = new ChessPiece[1 + COLOURS.length * TYPES];
+    /** piece string of the web view of each code, e.g. BR **/
+    private static final String[] PIECE_STRINGS = new String[PIECES.length];
+    private static final Map<String, Byte> CODES = new HashMap<>();
+    /** label of the web view of each cell, e.g. Ba1 **/
+    private static final String[] LABELS = new String[BitBoard.SIZE];
+    private static final Map<String, Integer> INDEXES = new HashMap<>();
+
+    static {
+        for (Colour colour : COLOURS) {
+            for (PieceType type : PieceType.values()) {
+                int code = code(colour, type);
+                PIECES[code] = PieceFactory.GeneratePiece(type.name(), colour);
+                PIECE_STRINGS[code] = PIECES[code].toString();
+                CODES.put(PIECE_STRINGS[code], (byte) code);
+            }
+        }
+        for (PositionOnBoard position : PositionOnBoard.values()) {
+            LABELS[position.ordinal()] = position.toString();
+            INDEXES.put(position.toString(), position.ordinal());
+        }
+    }
+
+    private PositionCodec() {
+    }
+
+    /**
+     * @param colour colour of the piece
+     * @param type type of the piece
+     * @return cell code of the piece
+     **/
+    public static int code(Colour colour, PieceType type) {
+        return 1 + colour.ordinal() * TYPES + type.ordinal();
+    }
+
+    /**
+     * @param piece piece of the web view, e.g. BR, "" or null for an empty cell
+     * @return cell code of the piece
+     **/
+    public static byte code(String piece) {
+        if (piece == null || piece.isEmpty()) {
+            return EMPTY;
+        }
+        Byte code = CODES.get(piece);
+        if (code == null) {
+            throw new IllegalArgumentException("Unknown piece: " + piece);
+        }
+        return code;
+    }
+
+    /**
+     * @param code cell code
+     * @return piece of the web view, e.g. BR, "" for an empty cell
+     **/
+    public static String pieceString(byte code) {
+        return code == EMPTY ? "" : PIECE_STRINGS[code];
+    }
+
+    /**
+     * @param index cell index
+     * @return label of the cell in the web view, e.g. Ba1
+     **/
+    public static String label(int index) {
+        return LABELS[index];
+    }
+
+    /**
+     * @param label label of the cell in the web view, e.g. Ba1
+     * @return cell index, PositionOnBoard.OFF_BOARD for an unknown label
+     **/
+    public static int index(String label) {
+        return INDEXES.getOrDefault(label, PositionOnBoard.OFF_BOARD);
+    }
+
+    /**
+     * Writes a position without allocating
+     * @param board board to encode
+     * @param out buffer with at least POSITION_BYTES from offset
+     * @param offset first byte written
+     **/
+    public static void encode(BitBoard board, byte[] out, int offset) {
+        out[offset] = (byte) board.getSideToMove().ordinal();
+        out[offset + 1] = (byte) (board.isHawkPending() ? FLAG_HAWK_PENDING : 0);
+        for (int index = 0; index < BitBoard.SIZE; index++) {
+            ChessPiece piece = board.pieceAt(index);
+            out[offset + 2 + index] = piece == null ? EMPTY : (byte) code(piece.getColour(), piece.getType());
+        }
+    }
+
+    /**
+     * Reads a position written by encode
+     * @param in buffer with the position
+     * @param offset first byte of the position
+     * @return new board with the pieces, side to move and Hawk state of the position
+     **/
+    public static BitBoard decode(byte[] in, int offset) {
+        BitBoard board = new BitBoard();
+        board.setSideToMove(COLOURS[in[offset]]);
+        board.setHawkPending((in[offset + 1] & FLAG_HAWK_PENDING) != 0);
+        for (int index = 0; index < BitBoard.SIZE; index++) {
+            byte code = in[offset + 2 + index];
+            if (code != EMPTY) {
+                board.place(index, PIECES[code]);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Writes a board update in the binary layout described above, the cells are written
+     * one after another without a buffer
+     * @param update board update to write
+     * @param out stream to write to
+     * @throws IOException if the stream fails
+     **/
+    public static void writeUpdate(BoardUpdate update, OutputStream out) throws IOException {
+        out.write(FORMAT_VERSION);
+        out.write((update.isFull() ? FLAG_FULL : 0) | (update.isGameOver() ? FLAG_GAME_OVER : 0));
+        out.write(colourCode(update.getCurrentPlayer()));
+        out.write(update.isGameOver() ? Colour.valueOf(update.getWinner()).ordinal() : NO_COLOUR);
+        writeLong(out, update.getVersion());
+        writeLong(out, update.getBaseVersion());
+        Map<String, String> cells = update.getCells();
+        if (update.isFull()) {
+            for (int index = 0; index < BitBoard.SIZE; index++) {
+                out.write(code(cells.get(LABELS[index])));
+            }
+        } else {
+            out.write(cells.size());
+            for (Map.Entry<String, String> cell : cells.entrySet()) {
+                out.write(INDEXES.get(cell.getKey()));
+                out.write(code(cell.getValue()));
+            }
+        }
+    }
+
+    /**
+     * @param update board update
+     * @return number of bytes writeUpdate writes for the update
+     **/
+    public static int updateLength(BoardUpdate update) {
+        return UPDATE_HEADER_BYTES + (update.isFull() ? BitBoard.SIZE : 1 + 2 * update.getCells().size());
+    }
+
+    /** @return ordinal of the colour with the short form of the web view, e.g. B **/
+    private static int colourCode(String colour) {
+        for (Colour candidate : COLOURS) {
+            if (candidate.toString().equals(colour)) {
+                return candidate.ordinal();
+            }
+        }
+        throw new IllegalArgumentException("Unknown colour: " + colour);
+    }
+
+    private static void writeLong(OutputStream out, long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+}
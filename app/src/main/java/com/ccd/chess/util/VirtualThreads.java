@@ -0,0 +1,47 @@
+package com.ccd.chess.util;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * VirtualThreads - access to the virtual thread executor of Java 21 from code compiled for Java 17
+ *
+ * The project is built for Java 17, so Executors.newVirtualThreadPerTaskExecutor is looked up
+ * at runtime. On older runtimes no executor is returned and callers keep platform threads.
+ **/
+public class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true if the running JVM supports virtual threads
+     **/
+    public static boolean isSupported() {
+        return findFactory().isPresent();
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task
+     * @return the executor, empty if the running JVM has no virtual threads
+     **/
+    public static Optional<ExecutorService> newPerTaskExecutor() {
+        return findFactory().map(factory -> {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create the virtual thread executor", e);
+            }
+        });
+    }
+
+    private static Optional<Method> findFactory() {
+        try {
+            return Optional.of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+}
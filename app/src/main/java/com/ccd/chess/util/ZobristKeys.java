@@ -0,0 +1,82 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+
+import java.util.SplittableRandom;
+
+/**
+ * ZobristKeys - random keys identifying a three player position
+ *
+ * The key of a position is the XOR of one key per piece, colour and cell, the key of the colour
+ * to move and the Hawk key while a Hawk's second capture is pending. BitBoard keeps its key up to
+ * date with a few XORs per move. The keys come from a fixed seed, so a position has the same key
+ * in every run and keys can be stored.
+ **/
+public final class ZobristKeys {
+
+    private static final long SEED = 0x3C4E55L;
+    private static final int TYPES = PieceType.values().length;
+
+    /** key of each piece per colour * TYPES + type and cell **/
+    private static final long[][] PIECES = new long[Colour.values().length * TYPES][BitBoard.SIZE];
+    private static final long[] SIDE_TO_MOVE = new long[Colour.values().length];
+    private static final long HAWK_PENDING;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] keys : PIECES) {
+            for (int index = 0; index < keys.length; index++) {
+                keys[index] = random.nextLong();
+            }
+        }
+        for (int colour = 0; colour < SIDE_TO_MOVE.length; colour++) {
+            SIDE_TO_MOVE[colour] = random.nextLong();
+        }
+        HAWK_PENDING = random.nextLong();
+    }
+
+    private ZobristKeys() {
+    }
+
+    /**
+     * @param colour ordinal of the colour of the piece
+     * @param type ordinal of the type of the piece
+     * @param index cell index
+     * @return key of the piece on the cell
+     **/
+    public static long piece(int colour, int type, int index) {
+        return PIECES[colour * TYPES + type][index];
+    }
+
+    /**
+     * @param colour colour to move
+     * @return key of the colour to move
+     **/
+    public static long sideToMove(Colour colour) {
+        return SIDE_TO_MOVE[colour.ordinal()];
+    }
+
+    /** @return key of a pending second Hawk capture **/
+    public static long hawkPending() {
+        return HAWK_PENDING;
+    }
+
+    /**
+     * Computes the key of a board from scratch, used to check the incremental key
+     * @param board board to hash
+     * @return key of the position on the board
+     **/
+    public static long compute(BitBoard board) {
+        long key = sideToMove(board.getSideToMove()) ^ (board.isHawkPending() ? HAWK_PENDING : 0);
+        for (int index = 0; index < BitBoard.SIZE; index++) {
+            ChessPiece piece = board.pieceAt(index);
+            if (piece != null) {
+                key ^= piece(piece.getColour().ordinal(), piece.getType().ordinal(), index);
+            }
+        }
+        return key;
+    }
+}
@@ -1,6 +1,15 @@
 // Global theme variable
 let theme = 'arialTheme';  // Default theme
 
+// Id of the game played on this page, taken from the URL, e.g. game.html?gameId=...
+let gameId = new URLSearchParams(window.location.search).get('gameId');
+
+// Version of the displayed board, the server sends only the cells changed since it. -1 while no board is shown
+let boardVersion = -1;
+
+// Set once the game over message was shown, the own click and the push both report it
+let gameOverShown = false;
+
 /**
  * Maps the piece token to the corresponding Unicode character
  * @type {{P: string, Q: string, R: string, B: string, K: string, N: string, J: string, V: string}}
@@ -181,24 +190,53 @@ function removeHighlighting() {
 }
 
 /**
- * Updates the chessboard with the new state
- * @param {Object} response New board state with the updated piece positions, e.g. {Ba1: "BR", Ba2: "BP", ...}
+ * Updates the chessboard with the response to a click
+ * @param {Object} response Click response with the board update and the polygons to highlight
  */
 function updateBoard(response) {
-    clearBoard();
-    console.log('New Board Configuration:', response);
+    console.log('Click Response:', response);
+    applyBoardUpdate(response['boardUpdate']);
+    showGameOver(response);
+    displayPossibleMoves(response['highlightedPolygons']);
+}
 
-    let board = response['board'];
-    let highlightedPolygons = response['highlightedPolygons'];
-    //let winner = response['winner'];
+/**
+ * Applies a board update sent by the server. A full update replaces the board, otherwise the changed
+ * cells are applied if they start at or before the displayed version. Cells hold their latest piece,
+ * so applying changes the board already shows is harmless. A gap to the displayed version is closed
+ * by requesting the changes since it.
+ * @param {Object} update e.g. {version: 5, baseVersion: 4, full: false, cells: {Bb2: "", Bb3: "BP"}, currentPlayer: "G"}
+ */
+function applyBoardUpdate(update) {
+    if (update['full']) {
+        clearBoard();
+        updatePieces(update['cells']);
+    } else if (update['version'] <= boardVersion) {
+        return; // already displayed, e.g. pushed before the click response arrived
+    } else if (update['baseVersion'] > boardVersion) {
+        requestBoardUpdate(); // missed a version
+        return;
+    } else {
+        for (const polygonId in update['cells']) {
+            removePiece(polygonId);
+        }
+        updatePieces(update['cells']);
+    }
+    boardVersion = update['version'];
+    updateCurrentPlayer(update['currentPlayer']);
+    showGameOver(update);
+}
 
-    if (response['gameOver']) {
+/**
+ * Shows the winner once the game is over
+ * @param {Object} response Click response or pushed update with the gameOver and winner fields
+ */
+function showGameOver(response) {
+    if (response['gameOver'] && !gameOverShown) {
+        gameOverShown = true;
         stopPlayerTimer(response['winner']); // Stop the timer when the game is over
         alert(`Game Over!\nThe winner is ${response['winner']}`);
     }
-
-    updatePieces(board);
-    displayPossibleMoves(highlightedPolygons);
 }
 
 /**
@@ -208,6 +246,9 @@ function updateBoard(response) {
 function updatePieces(board) {
     for (const polygonId in board) {
         const value = board[polygonId];
+        if (!value) { // "" marks a cell which became empty
+            continue;
+        }
         const pieceColor = value[0];
         const pieceToken = value[1];
 
@@ -230,6 +271,7 @@ function displayPiece(polygonId, pieceToken, pieceColor) {
     let y = (points.getItem(0).y + points.getItem(2).y) / 2;
 
     const textElement = getPieceText(x, y, pieceColor, pieceToken);
+    textElement.setAttribute('data-polygon', polygonId);
 
     // Check if there is existing text, and insert the new text after it
     if (existingText) {
@@ -240,6 +282,17 @@ function displayPiece(polygonId, pieceToken, pieceColor) {
     }
 }
 
+/**
+ * Removes the displayed piece of a polygon if there is one
+ * @param {string} polygonId ID of the polygon, e.g. Ba1, Ba2, ...
+ */
+function removePiece(polygonId) {
+    const textElement = document.querySelector(`.chess-piece[data-polygon="${polygonId}"]`);
+    if (textElement) {
+        textElement.remove();
+    }
+}
+
 /**
  * Creates a new SVG text element displaying a piece
  * @param {number} x Coordinate of the text element
@@ -281,88 +334,107 @@ function clearBoard() {
     defs.forEach(def => def.remove());
 }
 
+/**
+ * Creates a new game on the server and stores its id in the page URL
+ * @returns {boolean} true if the game was created
+ */
+function createGame() {
+    const request = new XMLHttpRequest();
+    request.open("POST", "/games", false);
+    request.send(null);
+
+    if (request.status === 201) {
+        gameId = JSON.parse(request.response)['gameId'];
+        window.history.replaceState(null, '', `?gameId=${gameId}`);
+        return true;
+    }
+    console.error("Failed to create game:", request.status);
+    return false;
+}
+
+/**
+ * Builds the URL of an endpoint of the current game
+ * @param {string} endpoint Endpoint of the game, e.g. /board
+ * @returns {string} URL of the endpoint, e.g. /games/{gameId}/board
+ */
+function gameUrl(endpoint) {
+    return `/games/${gameId}${endpoint}`;
+}
+
 /**
  * Called when the HTML document finishes loading
  */
 function bodyLoaded() {
     console.log("Body loaded");
-    requestUpdatedBoard();
-    requestCurrentPlayer();
+    if (!gameId) {
+        createGame();
+    }
+    requestBoardUpdate();
+    connectGameSocket();
 
     const polygons = document.querySelectorAll('polygon');
     polygons.forEach(function (polygon) {
         polygon.addEventListener('click', function () {
             const polygonId = polygon.id;
             sendPolygonClicked(polygonId);
-            requestCurrentPlayer();
         });
     });
 }
 
+/**
+ * Opens the WebSocket of the current game, the server pushes the changed cells after every move of any player.
+ * A lost connection is opened again, its first message is the whole board.
+ */
+function connectGameSocket() {
+    const protocol = window.location.protocol === 'https:' ? 'wss:' : 'ws:';
+    const socket = new WebSocket(`${protocol}//${window.location.host}/ws/games/${gameId}`);
+    socket.onmessage = (event) => applyBoardUpdate(JSON.parse(event.data));
+    socket.onclose = (event) => {
+        if (event.code !== 4404) { // 4404: the game is unknown or was evicted
+            setTimeout(connectGameSocket, 2000);
+        }
+    };
+}
+
 /**
  * Posts the ID of the clicked polygon to the server on /onClick endpoint
  * @param {string} polygonId ID of the clicked polygon, e.g. Ra1, Gb3, ...
  */
 function sendPolygonClicked(polygonId) {
     const request = new XMLHttpRequest();
-    request.open("POST", "/onClick", false);
+    request.open("POST", gameUrl(`/onClick?since=${boardVersion}`), false);
     request.send(polygonId);
 
     if (request.status === 200) {
-        const data = JSON.parse(request.response);
-        updateBoard(data);
-        const currentPlayer = data['currentPlayer'];  // Assuming this comes in the response
-        stopPlayerTimer(currentPlayer);  // Stop the current player's timer after their move
-        // Optionally, you can start the next player's timer here
+        updateBoard(JSON.parse(request.response));
     }
 }
 
 /**
- * Requests the new board state and displays it
+ * Requests the cells changed since the displayed version, or the whole board if none is displayed, and displays them
  */
-function requestUpdatedBoard() {
-    console.log("Request Current Board");
+function requestBoardUpdate() {
+    console.log("Request Board Update since " + boardVersion);
     const request = new XMLHttpRequest();
-    request.open("GET", "/board", false);
+    request.open("GET", gameUrl(`/updates?since=${boardVersion}`), false);
     request.send(null);
 
     if (request.status === 200) {
-        const response = JSON.parse(request.response);
-        if (response) {
-            updatePieces(response);
+        const update = JSON.parse(request.response);
+        if (update['full'] || update['baseVersion'] <= boardVersion) {
+            applyBoardUpdate(update);
         } else {
-            console.error("Invalid board data received");
+            console.error("Invalid board update received");
         }
     } else {
         console.error("Failed to get board state:", request.status);
-        // Try to create a new game if board request fails
-        const newGameReq = new XMLHttpRequest();
-        newGameReq.open("GET", "/newGame", false);
-        newGameReq.send(null);
-        if (newGameReq.status === 200) {
-            // Retry getting board state
-            requestUpdatedBoard();
+        // The game is unknown or was evicted, create a new game and retry getting board state
+        if (request.status === 404 && createGame()) {
+            boardVersion = -1;
+            requestBoardUpdate();
         }
     }
 }
-
-/**
- * Requests the current player and displays it
- */
-function requestCurrentPlayer() {
-    console.log("Requesting Current Player");
-    const request = new XMLHttpRequest();
-    request.open("GET", "/currentPlayer", false); // Synchronous request
-    request.send(null);
-
-    if (request.status === 200) {
-        const currentPlayerColor = request.response;
-        console.log("Current Player Color:", currentPlayerColor); // Debugging
-        updateCurrentPlayer(currentPlayerColor.trim()); // Ensure no extra whitespace
-    } else {
-        console.error("Failed to get current player:", request.status);
-    }
-}
 updateAllTimers(); // Call the function to update all timers
 
 document.addEventListener("DOMContentLoaded", function() {
@@ -31,15 +31,16 @@ async function newGame() {
         localStorage.setItem('Bronze', bronzePlayer);
 
         // Send request to start a new game
-        const response = await fetch('/newGame', {
-            method: 'GET',
+        const response = await fetch('/games', {
+            method: 'POST',
             headers: {
                 'Content-Type': 'application/json'
             }
         });
 
         if (response.ok) {
-            window.location.href = '/game.html'; // Navigate to the game page
+            const game = await response.json();
+            window.location.href = `/game.html?gameId=${game['gameId']}`; // Navigate to the page of the new game
         } else {
             console.error('Failed to start new game:', response.statusText);
             alert('Failed to start new game. Please try again.');
@@ -0,0 +1,132 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.pieces.Hawk;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Queen;
+import com.ccd.chess.model.entity.pieces.Rook;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the staged move generation and the move encoding of the
+ * MoveGenerator class.
+ */
+class MoveGeneratorTest {
+
+    private static int[] stage(BitBoard board, MoveGenerator.Stage stage) {
+        MoveBuffer buffer = new MoveBuffer();
+        int count = MoveGenerator.generate(board, stage, buffer);
+        return IntStream.range(0, count).map(buffer::get).toArray();
+    }
+
+    /**
+     * Test that the captures and the quiet moves together are the legal moves, and only the
+     * captures end on a piece.
+     */
+    @Test
+    void generate_stages_splitLegalMoves() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(BA3, new Queen(Colour.BRONZE));
+        board.put(BC1, new Pawn(Colour.GOLD));
+
+        int[] captures = stage(board, MoveGenerator.Stage.CAPTURES);
+        int[] quiets = stage(board, MoveGenerator.Stage.QUIETS);
+        assertArrayEquals(new int[]{MoveGenerator.move(BA1.ordinal(), BA3.ordinal()), MoveGenerator.move(BA1.ordinal(), BC1.ordinal())},
+                Arrays.stream(captures).map(MoveGenerator::squares).toArray());
+        assertTrue(Arrays.stream(quiets).noneMatch(move -> board.isOccupied(MoveGenerator.end(move))));
+        assertTrue(Arrays.stream(captures).allMatch(MoveGenerator::isCapture));
+        assertTrue(Arrays.stream(quiets).noneMatch(MoveGenerator::isCapture));
+
+        int[] staged = IntStream.concat(Arrays.stream(captures), Arrays.stream(quiets)).sorted().toArray();
+        int[] legal = MoveGenerator.legalMoves(board);
+        Arrays.sort(legal);
+        assertArrayEquals(legal, staged);
+        assertArrayEquals(MoveGenerator.legalMoves(board), stage(board, MoveGenerator.Stage.ALL));
+    }
+
+    /**
+     * Test that a stage appends to the moves already in the buffer and release drops them again.
+     */
+    @Test
+    void generate_filledBuffer_appendsAndReleases() {
+        BitBoard board = Perft.initialBoard();
+        MoveBuffer buffer = new MoveBuffer(16);
+        buffer.add(7);
+        int mark = buffer.size();
+
+        assertEquals(19, MoveGenerator.generate(board, MoveGenerator.Stage.ALL, buffer));
+        assertEquals(20, buffer.size());
+        assertEquals(7, buffer.get(0));
+        buffer.release(mark);
+        assertEquals(1, buffer.size());
+        assertEquals(0, MoveGenerator.generate(board, MoveGenerator.Stage.CAPTURES, buffer));
+    }
+
+    /**
+     * Test that a colour which is not to move is tested, and a checkmated colour has no legal move.
+     */
+    @Test
+    void hasLegalMove_otherColourAndCheckmate_detected() {
+        assertTrue(MoveGenerator.hasLegalMove(Perft.initialBoard(), Colour.GOLD));
+
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(GB2, new Rook(Colour.SILVER));
+        board.makeMove(BA1.ordinal(), GH1.ordinal());
+        assertTrue(MoveGenerator.isCheckmate(board, Colour.BRONZE));
+        assertFalse(MoveGenerator.hasLegalMove(board, Colour.BRONZE));
+    }
+
+    /**
+     * Test that a packed move carries its cells, the moving and the captured piece.
+     */
+    @Test
+    void encode_capture_piecesPacked() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(BA3, new Queen(Colour.BRONZE));
+
+        int move = MoveGenerator.encode(board, BA1.ordinal(), BA3.ordinal());
+        assertEquals(BA1.ordinal(), MoveGenerator.start(move));
+        assertEquals(BA3.ordinal(), MoveGenerator.end(move));
+        assertEquals(MoveGenerator.move(BA1.ordinal(), BA3.ordinal()), MoveGenerator.squares(move));
+        assertEquals(PieceType.ROOK, MoveGenerator.movedType(move));
+        assertEquals(Colour.SILVER, MoveGenerator.movedColour(move));
+        assertEquals(PieceType.QUEEN, MoveGenerator.capturedType(move));
+        assertTrue(MoveGenerator.isCapture(move));
+        assertNull(MoveGenerator.capturedType(MoveGenerator.encode(board, BA1.ordinal(), BA2.ordinal())));
+    }
+
+    /**
+     * Test the flags of castling, a promotion and the first and second capture of a Hawk.
+     */
+    @Test
+    void encode_specialMoves_flagged() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BH1, new Rook(Colour.SILVER));
+        board.put(GB2, new Pawn(Colour.SILVER));
+        board.put(BD4, new Hawk(Colour.SILVER));
+        board.put(GE3, new Pawn(Colour.BRONZE));
+
+        assertTrue((MoveGenerator.encode(board, BE1.ordinal(), BG1.ordinal()) & MoveGenerator.CASTLING) != 0);
+        assertTrue((MoveGenerator.encode(board, GB2.ordinal(), GB1.ordinal()) & MoveGenerator.PROMOTION) != 0);
+        assertTrue((MoveGenerator.encode(board, BD4.ordinal(), GE3.ordinal()) & MoveGenerator.HAWK_CONTINUES) != 0);
+        assertEquals(0, MoveGenerator.encode(board, BE1.ordinal(), BF1.ordinal())
+                & (MoveGenerator.CASTLING | MoveGenerator.PROMOTION | MoveGenerator.HAWK_CONTINUES));
+
+        board.makeMove(BD4.ordinal(), GE3.ordinal());
+        assertEquals(Colour.SILVER, board.getSideToMove());
+        board.put(GG4, new Pawn(Colour.GOLD));
+        int second = MoveGenerator.encode(board, GE3.ordinal(), GG4.ordinal());
+        assertEquals(0, second & MoveGenerator.HAWK_CONTINUES);
+    }
+}
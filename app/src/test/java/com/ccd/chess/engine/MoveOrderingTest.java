@@ -0,0 +1,113 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.Knight;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Queen;
+import com.ccd.chess.model.entity.pieces.Rook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the MoveOrdering class.
+ */
+class MoveOrderingTest {
+
+    private BitBoard board;
+    private MoveOrdering ordering;
+
+    /**
+     * Sets up the kings, a silver rook and knight, a bronze queen both can capture and a bronze
+     * pawn only the rook can capture.
+     */
+    @BeforeEach
+    void initBeforeEachMoveOrderingTest() {
+        board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(BB1, new Knight(Colour.SILVER));
+        board.put(BA3, new Queen(Colour.BRONZE));
+        board.put(BA2, new Pawn(Colour.BRONZE));
+        ordering = new MoveOrdering();
+    }
+
+    private int move(PositionOnBoard start, PositionOnBoard end) {
+        return MoveGenerator.encode(board, start.ordinal(), end.ordinal());
+    }
+
+    /**
+     * Test that the captures come first, the most valuable victim first and for the same victim
+     * the least valuable attacker first.
+     */
+    @Test
+    void order_captures_mvvLvaFirst() {
+        int[] moves = MoveGenerator.legalMoves(board);
+        ordering.order(moves, TranspositionTable.NO_MOVE, 0);
+
+        assertEquals(move(BB1, BA3), moves[0]);
+        assertEquals(move(BA1, BA2), moves[1]);
+    }
+
+    /**
+     * Test that the hash move is searched before the captures.
+     */
+    @Test
+    void order_hashMove_first() {
+        int[] moves = MoveGenerator.legalMoves(board);
+        int hashMove = MoveGenerator.move(BE1.ordinal(), BF1.ordinal());
+        ordering.order(moves, hashMove, 0);
+
+        assertEquals(hashMove, MoveGenerator.squares(moves[0]));
+        assertEquals(move(BB1, BA3), moves[1]);
+    }
+
+    /**
+     * Test that a quiet move which caused a cutoff is a killer move of its ply, searched after the
+     * captures and before the other quiet moves, and not at other plies where only its history counts.
+     */
+    @Test
+    void cutoff_quietMove_killerAtItsPly() {
+        int killer = move(BB1, BC3);
+        ordering.cutoff(killer, 1, 2);
+
+        int[] moves = MoveGenerator.legalMoves(board);
+        ordering.order(moves, TranspositionTable.NO_MOVE, 2);
+        assertEquals(move(BB1, BA3), moves[0]);
+        assertEquals(move(BA1, BA2), moves[1]);
+        assertEquals(killer, moves[2]);
+    }
+
+    /**
+     * Test that the history orders the quiet moves by the depth of their cutoffs.
+     */
+    @Test
+    void cutoff_deeperCutoff_higherHistory() {
+        int shallow = move(BE1, BF1);
+        int deep = move(BB1, BC3);
+        ordering.cutoff(shallow, 1, MoveOrdering.MAX_PLY);
+        ordering.cutoff(deep, 3, MoveOrdering.MAX_PLY);
+
+        int[] moves = MoveGenerator.legalMoves(board);
+        ordering.order(moves, TranspositionTable.NO_MOVE, 0);
+        assertEquals(deep, moves[2]);
+        assertEquals(shallow, moves[3]);
+    }
+
+    /**
+     * Test that a capture does not become a killer move.
+     */
+    @Test
+    void cutoff_capture_notLearned() {
+        ordering.cutoff(move(BA1, BA2), 5, 0);
+
+        int[] moves = MoveGenerator.legalMoves(board);
+        int[] expected = moves.clone();
+        ordering.order(expected, TranspositionTable.NO_MOVE, 0);
+        new MoveOrdering().order(moves, TranspositionTable.NO_MOVE, 0);
+        assertArrayEquals(expected, moves);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the ParallelPerft class.
+ */
+class ParallelPerftTest {
+
+    private ForkJoinPool pool;
+
+    /**
+     * Creates a pool with more workers than the machine may have cores, so the tasks interleave.
+     */
+    @BeforeEach
+    void initBeforeEachParallelPerftTest() {
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Shuts the pool down after each test.
+     */
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /**
+     * Test that splitting the first move gives the pinned sequential counts.
+     */
+    @Test
+    void count_splitFirstPly_sameAsSequential() {
+        ParallelPerft perft = new ParallelPerft(pool, 1);
+        BitBoard board = Perft.initialBoard();
+        assertEquals(1, perft.count(board, 0));
+        assertEquals(19, perft.count(board, 1));
+        assertEquals(6859, perft.count(board, 3));
+        assertEquals(152646, perft.count(board, 4));
+    }
+
+    /**
+     * Test that splitting the first two plies gives the same divide as the sequential walk and only reads the board.
+     */
+    @Test
+    void divide_splitTwoPlies_sameAsSequential() {
+        BitBoard board = Perft.initialBoard();
+        long key = board.getZobristKey();
+
+        assertEquals(new Perft(Perft.initialBoard()).divide(4), new ParallelPerft(pool, 2).divide(board, 4));
+        assertEquals(key, board.getZobristKey());
+        assertEquals(0, board.getHistorySize());
+    }
+
+    /**
+     * Test that a split deeper than the count is cut off at the leaves.
+     */
+    @Test
+    void count_splitDeeperThanDepth_sameAsSequential() {
+        assertEquals(361, new ParallelPerft(pool, 3).count(Perft.initialBoard(), 2));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelPerft(pool, 0));
+    }
+}
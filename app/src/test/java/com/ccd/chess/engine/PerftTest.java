@@ -0,0 +1,115 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.pieces.Hawk;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Queen;
+import com.ccd.chess.model.entity.pieces.Rook;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the Perft class. The node counts are pinned, a change to the
+ * move generation or the check logic has to keep them.
+ */
+class PerftTest {
+
+    /**
+     * Test the node counts of the start position.
+     */
+    @Test
+    void count_initialPosition_pinnedNodeCounts() {
+        Perft perft = new Perft(Perft.initialBoard());
+        assertEquals(1, perft.count(0));
+        assertEquals(19, perft.count(1));
+        assertEquals(361, perft.count(2));
+        assertEquals(6859, perft.count(3));
+        assertEquals(152646, perft.count(4));
+    }
+
+    /**
+     * Test that the divide counts of the first moves add up to the count and the board is restored.
+     */
+    @Test
+    void divide_initialPosition_sumsToCount() {
+        BitBoard board = Perft.initialBoard();
+        long key = board.getZobristKey();
+        Perft perft = new Perft(board);
+
+        Map<String, Long> divide = perft.divide(3);
+        assertEquals(19, divide.size());
+        assertEquals(Long.valueOf(361), divide.get("Bb2-Bb3"));
+        assertEquals(perft.count(3), divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(key, board.getZobristKey());
+        assertEquals(0, board.getHistorySize());
+    }
+
+    /**
+     * Test that the first capture of a Hawk is followed by a second move of the same colour.
+     */
+    @Test
+    void count_hawkCapture_sameColourMovesAgain() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BD4, new Hawk(Colour.SILVER));
+        board.put(GE3, new Pawn(Colour.BRONZE));
+        board.put(BB4, new Pawn(Colour.GOLD));
+        Perft perft = new Perft(board);
+
+        Map<String, Long> divide = perft.divide(2);
+        board.makeMove(BD4.ordinal(), GE3.ordinal());
+        assertEquals(Colour.SILVER, board.getSideToMove());
+        long secondMoves = new Perft(board).count(1);
+        board.unmakeMove();
+        assertEquals(Long.valueOf(secondMoves), divide.get("Bd4-Ge3"));
+        assertEquals(Long.valueOf(9), divide.get("Bd4-Ge3"));
+
+        assertEquals(9, perft.count(1));
+        assertEquals(59, perft.count(2));
+        assertEquals(340, perft.count(3));
+        assertEquals(2892, perft.count(4));
+    }
+
+    /**
+     * Test that both castling moves are counted.
+     */
+    @Test
+    void count_castling_bothSidesCounted() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(BH1, new Rook(Colour.SILVER));
+        Perft perft = new Perft(board);
+
+        Map<String, Long> divide = perft.divide(1);
+        assertTrue(divide.containsKey("Be1-Bg1"));
+        assertTrue(divide.containsKey("Be1-Bc1"));
+        assertEquals(26, perft.count(1));
+        assertEquals(121, perft.count(2));
+        assertEquals(580, perft.count(3));
+        assertEquals(16435, perft.count(4));
+    }
+
+    /**
+     * Test that a pawn reaching the first row of an opponent is promoted and moves on as a queen.
+     */
+    @Test
+    void count_promotion_promotedPieceCounted() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(GB2, new Pawn(Colour.SILVER));
+        Perft perft = new Perft(board);
+
+        assertTrue(perft.divide(1).containsKey("Gb2-Gb1"));
+        board.makeMove(GB2.ordinal(), GB1.ordinal());
+        assertInstanceOf(Queen.class, board.get(GB1));
+        board.unmakeMove();
+
+        assertEquals(6, perft.count(1));
+        assertEquals(28, perft.count(2));
+        assertEquals(140, perft.count(3));
+        assertEquals(1365, perft.count(4));
+    }
+}
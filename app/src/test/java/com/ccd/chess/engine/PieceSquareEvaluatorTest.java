@@ -0,0 +1,90 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Queen;
+import org.junit.jupiter.api.Test;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the PieceSquareEvaluator class.
+ */
+class PieceSquareEvaluatorTest {
+
+    private final PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+
+    private static BitBoard kingsWithPawn(PositionOnBoard pawn) {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(pawn, new Pawn(Colour.SILVER));
+        return board;
+    }
+
+    /**
+     * Test that the symmetric start position scores 0 for every colour.
+     */
+    @Test
+    void evaluate_startPosition_zero() {
+        BitBoard board = Perft.initialBoard();
+        for (Colour colour : Colour.values()) {
+            assertEquals(0, evaluator.evaluate(board, colour));
+        }
+    }
+
+    /**
+     * Test that a pawn closer to promotion on an opponent's first row scores higher.
+     */
+    @Test
+    void evaluate_advancedPawn_scoresHigher() {
+        int far = evaluator.evaluate(kingsWithPawn(GD4), Colour.SILVER);
+        int near = evaluator.evaluate(kingsWithPawn(GD2), Colour.SILVER);
+        assertTrue(near > far, near + " > " + far);
+    }
+
+    /**
+     * Test that a king with opponent attacks next to it scores lower than a king without.
+     */
+    @Test
+    void evaluate_attackedKingZone_scoresLower() {
+        BitBoard board = kingsWithPawn(GD4);
+        board.put(RA4, new Queen(Colour.GOLD));
+        int safe = evaluator.score(board, Colour.SILVER);
+        board.remove(RA4);
+        board.put(BH2, new Queen(Colour.GOLD));
+        int attacked = evaluator.score(board, Colour.SILVER);
+        assertTrue(attacked < safe, attacked + " < " + safe);
+    }
+
+    /**
+     * Test that material still dominates the score, a queen up outweighs placement and mobility.
+     */
+    @Test
+    void evaluate_extraQueen_positive() {
+        BitBoard board = kingsWithPawn(BD2);
+        board.put(BD1, new Queen(Colour.SILVER));
+        assertTrue(evaluator.evaluate(board, Colour.SILVER) > 500);
+        assertTrue(evaluator.evaluate(board, Colour.BRONZE) < 0);
+    }
+
+    /**
+     * Test that a board prepared for the evaluator, which keeps its scores incrementally, scores the same as
+     * a board scored from scratch, also after moves.
+     */
+    @Test
+    void prepare_incrementalScores_sameAsFromScratch() {
+        BitBoard prepared = Perft.initialBoard();
+        evaluator.prepare(prepared);
+        BitBoard plain = Perft.initialBoard();
+        for (PositionOnBoard[] move : new PositionOnBoard[][]{{BD2, BD4}, {GE2, GE4}, {RC2, RC3}}) {
+            prepared.makeMove(move[0].ordinal(), move[1].ordinal());
+            plain.makeMove(move[0].ordinal(), move[1].ordinal());
+            for (Colour colour : Colour.values()) {
+                assertEquals(evaluator.evaluate(plain, colour), evaluator.evaluate(prepared, colour));
+            }
+        }
+        assertNull(plain.getPieceSquareTables());
+    }
+}
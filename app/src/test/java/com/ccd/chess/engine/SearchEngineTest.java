@@ -0,0 +1,192 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.pieces.Hawk;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Queen;
+import com.ccd.chess.model.entity.pieces.Rook;
+import com.ccd.chess.model.entity.pieces.Vortex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the SearchEngine class.
+ */
+class SearchEngineTest {
+
+    private static SearchEngine engine(int depth) {
+        return new SearchEngine(new MaterialEvaluator(), depth, 10_000);
+    }
+
+    /**
+     * Test that an undefended queen is captured and the board is restored after the search.
+     */
+    @Test
+    void findBestMove_hangingQueen_captured() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(BA3, new Queen(Colour.BRONZE));
+        long key = board.getZobristKey();
+
+        SearchResult result = engine(3).findBestMove(board);
+        assertEquals(BA1, result.getStart());
+        assertEquals(BA3, result.getEnd());
+        assertEquals(500, result.getScore());
+        assertEquals(key, board.getZobristKey());
+        assertEquals(0, board.getHistorySize());
+    }
+
+    /**
+     * Test that the Vortex moves are searched.
+     */
+    @Test
+    void findBestMove_vortexCanCapture_captured() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BD4, new Vortex(Colour.SILVER));
+        board.put(GD4, new Queen(Colour.BRONZE));
+
+        SearchResult result = engine(1).findBestMove(board);
+        assertEquals(BD4, result.getStart());
+        assertEquals(GD4, result.getEnd());
+    }
+
+    /**
+     * Test that after the first capture of a Hawk the same colour moves again, so a capture which
+     * opens a second capture is preferred.
+     */
+    @Test
+    void findBestMove_hawkDoubleCapture_bothCapturesCounted() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BD4, new Hawk(Colour.SILVER));
+        board.put(GE3, new Pawn(Colour.BRONZE));
+        board.put(GG3, new Rook(Colour.GOLD));
+
+        SearchResult result = engine(2).findBestMove(board);
+        assertEquals(BD4, result.getStart());
+        assertEquals(GE3, result.getEnd());
+        assertEquals(350, result.getScore()); // the Hawk against no material left to the opponents
+
+        board.makeMove(BD4.ordinal(), GE3.ordinal());
+        SearchResult second = engine(1).findBestMove(board);
+        assertEquals(GE3, second.getStart());
+        assertEquals(GG3, second.getEnd());
+    }
+
+    /**
+     * Test that the time budget stops a deep search with a legal move.
+     */
+    @Test
+    void findBestMove_timeBudgetUsedUp_legalMoveReturned() {
+        BitBoard board = Perft.initialBoard();
+        long begin = System.nanoTime();
+        SearchResult result = new SearchEngine(new MaterialEvaluator(), 8, 50).findBestMove(board);
+        long millis = (System.nanoTime() - begin) / 1_000_000;
+
+        assertTrue(millis < 2_000, "search took " + millis + " ms");
+        assertTrue(result.hasMove());
+        int[] legal = MoveGenerator.legalMoves(board);
+        assertTrue(Arrays.stream(legal).anyMatch(move -> move == result.getMove()));
+    }
+
+    /**
+     * Test that a search running out of time plays the result of the last completed depth.
+     */
+    @Test
+    void findBestMove_budgetEndsIteration_lastCompletedDepthPlayed() {
+        SearchResult result = new SearchEngine(new MaterialEvaluator(), 20, 10_000).findBestMove(Perft.initialBoard(), 100);
+
+        assertTrue(result.getDepth() >= 1 && result.getDepth() < 20, "depth " + result.getDepth());
+        SearchResult fixedDepth = engine(result.getDepth()).findBestMove(Perft.initialBoard());
+        assertEquals(fixedDepth.getScore(), result.getScore());
+    }
+
+    /**
+     * Test that the deepening stops at a forced win.
+     */
+    @Test
+    void findBestMove_checkmateInOne_stopsDeepening() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(GB2, new Rook(Colour.SILVER));
+
+        SearchResult result = engine(6).findBestMove(board);
+        assertEquals(BA1, result.getStart());
+        assertEquals(GH1, result.getEnd());
+        assertEquals(SearchEngine.WIN, result.getScore());
+        assertEquals(1, result.getDepth());
+    }
+
+    /**
+     * Test that the move ordering leaves the score of a fixed depth search unchanged and searches fewer nodes.
+     */
+    @Test
+    void findBestMove_orderedMoves_sameScoreFewerNodes() {
+        SearchResult unordered = new SearchEngine(new MaterialEvaluator(), 4, 10_000, null, 1, false).findBestMove(Perft.initialBoard());
+        SearchResult ordered = engine(4).findBestMove(Perft.initialBoard());
+
+        assertEquals(unordered.getScore(), ordered.getScore());
+        assertTrue(ordered.getNodes() < unordered.getNodes() / 2, ordered.getNodes() + " of " + unordered.getNodes());
+    }
+
+    /**
+     * Test that the transposition table does not change the result, and a repeated search is answered from it.
+     */
+    @Test
+    void findBestMove_withTranspositionTable_sameMoveAndFewerNodes() {
+        TranspositionTable table = TranspositionTable.ofMegabytes(1, TranspositionTable.Replacement.DEPTH_PREFERRED);
+        SearchEngine withTable = new SearchEngine(new MaterialEvaluator(), 4, 10_000, table);
+        SearchResult expected = engine(4).findBestMove(Perft.initialBoard());
+
+        SearchResult first = withTable.findBestMove(Perft.initialBoard());
+        assertEquals(expected.getMove(), first.getMove());
+        assertEquals(expected.getScore(), first.getScore());
+        SearchResult repeated = withTable.findBestMove(Perft.initialBoard());
+        assertEquals(expected.getMove(), repeated.getMove());
+        assertTrue(repeated.getNodes() < first.getNodes());
+    }
+
+    /**
+     * Test that helper threads sharing the table leave the move of the main thread and the board unchanged.
+     */
+    @Test
+    void findBestMove_lazySmp_mainThreadMovePlayed() {
+        BitBoard board = TestBoards.kingsOnly();
+        board.put(BA1, new Rook(Colour.SILVER));
+        board.put(BA3, new Queen(Colour.BRONZE));
+        long key = board.getZobristKey();
+        TranspositionTable table = TranspositionTable.ofMegabytes(1, TranspositionTable.Replacement.DEPTH_PREFERRED);
+        SearchEngine engine = new SearchEngine(new MaterialEvaluator(), 3, 10_000, table, 4);
+        try {
+            SearchResult result = engine.findBestMove(board);
+            assertEquals(BA1, result.getStart());
+            assertEquals(BA3, result.getEnd());
+            assertEquals(500, result.getScore());
+            assertEquals(3, result.getDepth());
+            assertEquals(key, board.getZobristKey());
+            assertEquals(0, board.getHistorySize());
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    /**
+     * Test that at least one thread searches.
+     */
+    @Test
+    void constructor_zeroThreads_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchEngine(new MaterialEvaluator(), 3, 100, null, 0));
+    }
+
+    /**
+     * Test that the depth must be positive.
+     */
+    @Test
+    void constructor_depthZero_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new SearchEngine(new MaterialEvaluator(), 0, 100));
+    }
+}
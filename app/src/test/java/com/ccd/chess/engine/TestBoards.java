@@ -0,0 +1,28 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.pieces.King;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+
+/**
+ * Boards shared by the engine tests.
+ */
+final class TestBoards {
+
+    private TestBoards() {
+    }
+
+    /**
+     * Creates a board holding only the three kings on their start cells
+     * @return board with SILVER to move
+     */
+    static BitBoard kingsOnly() {
+        BitBoard board = new BitBoard();
+        board.put(BE1, new King(Colour.SILVER));
+        board.put(GE1, new King(Colour.BRONZE));
+        board.put(RE1, new King(Colour.GOLD));
+        return board;
+    }
+}
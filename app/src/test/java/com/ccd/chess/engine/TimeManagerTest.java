@@ -0,0 +1,48 @@
+package com.ccd.chess.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the TimeManager class.
+ */
+class TimeManagerTest {
+
+    /**
+     * Test that the time left is divided over the expected moves.
+     */
+    @Test
+    void budgetMillis_timeLeft_dividedOverMovesToGo() {
+        TimeManager timeManager = new TimeManager(60_000, 30, 5_000);
+        assertEquals(2_000, timeManager.budgetMillis(0));
+        assertEquals(1_000, timeManager.budgetMillis(30_000));
+    }
+
+    /**
+     * Test that a long clock does not exceed the maximum budget of a move.
+     */
+    @Test
+    void budgetMillis_longClock_maximumBudget() {
+        TimeManager timeManager = new TimeManager(3_600_000, 30, 300);
+        assertEquals(300, timeManager.budgetMillis(0));
+    }
+
+    /**
+     * Test that a move still gets the minimum budget when the clock has run out.
+     */
+    @Test
+    void budgetMillis_clockUsedUp_minimumBudget() {
+        TimeManager timeManager = new TimeManager(60_000, 30, 5_000);
+        assertEquals(TimeManager.MIN_BUDGET_MILLIS, timeManager.budgetMillis(60_000));
+        assertEquals(TimeManager.MIN_BUDGET_MILLIS, timeManager.budgetMillis(90_000));
+    }
+
+    /**
+     * Test that the time left must be divided over at least one move.
+     */
+    @Test
+    void constructor_zeroMovesToGo_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeManager(60_000, 0, 300));
+    }
+}
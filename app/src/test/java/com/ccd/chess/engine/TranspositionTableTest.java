@@ -0,0 +1,122 @@
+package com.ccd.chess.engine;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the TranspositionTable class.
+ */
+class TranspositionTableTest {
+
+    private static final TranspositionTable.Replacement DEPTH_PREFERRED = TranspositionTable.Replacement.DEPTH_PREFERRED;
+
+    /**
+     * Test that the stored fields are read back, including negative and winning scores.
+     */
+    @Test
+    void probe_storedEntry_fieldsReadBack() {
+        TranspositionTable table = new TranspositionTable(1 << 10, DEPTH_PREFERRED);
+        table.store(42, MoveGenerator.move(95, 3), 7, TranspositionTable.LOWER, Colour.GOLD, -SearchEngine.WIN + 5);
+
+        long entry = table.probe(42);
+        assertNotEquals(TranspositionTable.MISS, entry);
+        assertEquals(MoveGenerator.move(95, 3), TranspositionTable.move(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(entry));
+        assertEquals(Colour.GOLD, TranspositionTable.root(entry));
+        assertEquals(-SearchEngine.WIN + 5, TranspositionTable.score(entry));
+
+        table.store(43, TranspositionTable.NO_MOVE, 0, TranspositionTable.EXACT, Colour.SILVER, SearchEngine.WIN);
+        assertEquals(SearchEngine.WIN, TranspositionTable.score(table.probe(43)));
+        assertEquals(TranspositionTable.NO_MOVE, TranspositionTable.move(table.probe(43)));
+    }
+
+    /**
+     * Test that the table holds the largest power of two of entries fitting the budget and
+     * another key in the same slot is a miss.
+     */
+    @Test
+    void probe_otherKeyInSlot_miss() {
+        TranspositionTable table = new TranspositionTable(100 * TranspositionTable.ENTRY_BYTES, DEPTH_PREFERRED);
+        assertEquals(64, table.capacity());
+
+        table.store(1, 0, 1, TranspositionTable.EXACT, Colour.SILVER, 10);
+        assertEquals(TranspositionTable.MISS, table.probe(1 + 64));
+        assertEquals(TranspositionTable.MISS, table.probe(2));
+        table.clear();
+        assertEquals(TranspositionTable.MISS, table.probe(1));
+    }
+
+    /**
+     * Test that a deeper entry of the current search is kept, and replaced once a new search started.
+     */
+    @Test
+    void store_depthPreferred_deeperEntryKeptUntilNewSearch() {
+        TranspositionTable table = new TranspositionTable(64 * TranspositionTable.ENTRY_BYTES, DEPTH_PREFERRED);
+        table.store(5, 0, 4, TranspositionTable.EXACT, Colour.SILVER, 10);
+        table.store(5 + 64, 0, 2, TranspositionTable.EXACT, Colour.SILVER, 20);
+        assertNotEquals(TranspositionTable.MISS, table.probe(5));
+        assertEquals(TranspositionTable.MISS, table.probe(5 + 64));
+
+        table.store(5, 0, 1, TranspositionTable.UPPER, Colour.SILVER, 30);
+        assertEquals(30, TranspositionTable.score(table.probe(5)));
+
+        table.newSearch();
+        table.store(5 + 64, 0, 2, TranspositionTable.EXACT, Colour.SILVER, 20);
+        assertEquals(20, TranspositionTable.score(table.probe(5 + 64)));
+    }
+
+    /**
+     * Test that with always-replace the last entry of a slot wins.
+     */
+    @Test
+    void store_alwaysReplace_lastEntryKept() {
+        TranspositionTable table = new TranspositionTable(64 * TranspositionTable.ENTRY_BYTES, TranspositionTable.Replacement.ALWAYS);
+        table.store(5, 0, 9, TranspositionTable.EXACT, Colour.SILVER, 10);
+        table.store(5 + 64, 0, 1, TranspositionTable.EXACT, Colour.BRONZE, 20);
+        assertEquals(TranspositionTable.MISS, table.probe(5));
+        assertEquals(Colour.BRONZE, TranspositionTable.root(table.probe(5 + 64)));
+    }
+
+    /**
+     * Test that threads writing different keys into one slot never let a probe see a mixed entry.
+     * Each writer stores its key as the score, so a verified entry must carry the score of its key.
+     */
+    @Test
+    void probe_concurrentWritersInOneSlot_onlyConsistentEntries() throws Exception {
+        TranspositionTable table = new TranspositionTable(TranspositionTable.ENTRY_BYTES, TranspositionTable.Replacement.ALWAYS);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        AtomicBoolean mixed = new AtomicBoolean();
+        try {
+            Future<?>[] writers = new Future<?>[4];
+            for (int t = 0; t < writers.length; t++) {
+                int key = t + 1;
+                writers[t] = threads.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        table.store(key, key, key, TranspositionTable.EXACT, Colour.SILVER, key);
+                        for (int probed = 1; probed <= 4; probed++) {
+                            long entry = table.probe(probed);
+                            if (entry != TranspositionTable.MISS && TranspositionTable.score(entry) != probed) {
+                                mixed.set(true);
+                            }
+                        }
+                    }
+                });
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdown();
+        }
+        assertFalse(mixed.get());
+    }
+}
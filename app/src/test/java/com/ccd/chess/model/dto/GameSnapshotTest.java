@@ -0,0 +1,29 @@
+package com.ccd.chess.model.dto;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the GameSnapshot class.
+ */
+class GameSnapshotTest {
+
+    /**
+     * Test that the next snapshot applies the changed cells to the board and keeps the previous one unchanged.
+     */
+    @Test
+    void next_changedCells_boardFollows() {
+        GameSnapshot start = new GameSnapshot(ImmutableMap.of("Bb2", "BP", "Gc3", "GN"), Colour.SILVER, null, 4, ImmutableMap.of());
+        GameSnapshot next = start.next(Colour.BRONZE, null, ImmutableMap.of("Bb2", "", "Gc3", "BP"));
+
+        assertEquals(5, next.getVersion());
+        assertEquals(Colour.BRONZE, next.getCurrentTurn());
+        assertEquals(ImmutableMap.of("Bb2", "", "Gc3", "BP"), next.getChanges());
+        assertEquals(ImmutableMap.of("Gc3", "BP"), next.getBoard());
+        assertEquals(ImmutableMap.of("Bb2", "BP", "Gc3", "GN"), start.getBoard());
+        assertSame(next.getBoard(), next.getBoard());
+    }
+}
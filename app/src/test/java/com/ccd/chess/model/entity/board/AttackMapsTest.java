@@ -0,0 +1,93 @@
+package com.ccd.chess.model.entity.board;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+import com.ccd.chess.model.entity.pieces.King;
+import com.ccd.chess.model.entity.pieces.Queen;
+import com.ccd.chess.model.entity.pieces.Rook;
+import com.ccd.chess.service.impl.BoardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the incremental attack maps of the BitBoard class.
+ */
+class AttackMapsTest {
+
+    private BitBoard board;
+
+    /**
+     * Initializes a board with the starting position before each test.
+     */
+    @BeforeEach
+    void initBeforeEachBoardTest() {
+        board = (BitBoard) new BoardServiceImpl().getBoardMap();
+    }
+
+    /**
+     * Test that the incrementally updated attack maps match a full regeneration after a series of moves.
+     *
+     * @param colour Colour of the attacking pieces
+     */
+    @ParameterizedTest
+    @EnumSource(Colour.class)
+    void attacks_afterMovesAndUnmake_sameAsFullRegeneration(Colour colour) {
+        assertAttacksRegenerated(colour);
+        board.makeMove(BD2.ordinal(), BD4.ordinal());
+        assertAttacksRegenerated(colour);
+        board.makeMove(GE2.ordinal(), GE4.ordinal());
+        assertAttacksRegenerated(colour);
+        board.makeMove(RF1.ordinal(), RB4.ordinal());
+        assertAttacksRegenerated(colour);
+        board.unmakeMove();
+        board.unmakeMove();
+        assertAttacksRegenerated(colour);
+    }
+
+    /**
+     * Test that moving a blocking piece away exposes the king to a slider.
+     */
+    @Test
+    void isKingInCheck_blockerMovedAway_kingInCheck() {
+        board.clear();
+        board.put(BE1, new King(Colour.SILVER));
+        board.put(BE2, new Rook(Colour.SILVER));
+        board.put(BE4, new Queen(Colour.GOLD));
+        assertFalse(board.isKingInCheck(Colour.SILVER));
+
+        board.makeMove(BE2.ordinal(), BA2.ordinal());
+        assertTrue(board.isKingInCheck(Colour.SILVER));
+
+        board.unmakeMove();
+        assertFalse(board.isKingInCheck(Colour.SILVER));
+    }
+
+    /**
+     * Test that a colour without a king is never in check.
+     */
+    @Test
+    void isKingInCheck_noKing_false() {
+        board.remove(BE1);
+        assertFalse(board.isKingInCheck(Colour.SILVER));
+    }
+
+    private void assertAttacksRegenerated(Colour colour) {
+        long[] expected = new long[2];
+        long[] targets = new long[2];
+        for (int index = 0; index < BitBoard.SIZE; index++) {
+            ChessPiece piece = board.pieceAt(index);
+            if (piece != null && piece.getColour() == colour) {
+                piece.collectTargets(board, index, targets);
+                expected[0] |= targets[0];
+                expected[1] |= targets[1];
+            }
+        }
+        assertEquals(expected[0], board.attacksLo(colour));
+        assertEquals(expected[1], board.attacksHi(colour));
+    }
+}
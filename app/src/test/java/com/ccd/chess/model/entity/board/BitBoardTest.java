@@ -0,0 +1,348 @@
+package com.ccd.chess.model.entity.board;
+
+import com.ccd.chess.exceptions.InvalidPositionException;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+import com.ccd.chess.model.entity.pieces.Hawk;
+import com.ccd.chess.model.entity.pieces.King;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Rook;
+import com.ccd.chess.service.impl.BoardServiceImpl;
+import com.ccd.chess.util.PieceSquareTables;
+import com.ccd.chess.util.ZobristKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the BitBoard class.
+ */
+class BitBoardTest {
+
+    private BitBoard bitBoard;
+
+    /**
+     * Initializes an empty BitBoard instance before each test.
+     */
+    @BeforeEach
+    void initBeforeEachBoardTest() {
+        bitBoard = new BitBoard();
+    }
+
+    /**
+     * Test that a piece placed through the map view is visible in the occupancy words.
+     *
+     * @param position Position to place the piece on
+     */
+    @ParameterizedTest
+    @EnumSource(value = PositionOnBoard.class, names = {"BA1", "BH4", "GA1", "GH4", "RA1", "RH4"})
+    void put_pieceOnCell_occupancyBitSet(PositionOnBoard position) {
+        ChessPiece rook = new Rook(Colour.GOLD);
+        bitBoard.put(position, rook);
+        assertSame(rook, bitBoard.get(position));
+        assertTrue(BitBoard.testBit(bitBoard.occupiedLo(), bitBoard.occupiedHi(), position.ordinal()));
+        assertTrue(bitBoard.isColourAt(position.ordinal(), Colour.GOLD));
+        assertFalse(bitBoard.isColourAt(position.ordinal(), Colour.SILVER));
+        assertTrue(BitBoard.testBit(bitBoard.piecesLo(Colour.GOLD, PieceType.ROOK),
+                bitBoard.piecesHi(Colour.GOLD, PieceType.ROOK), position.ordinal()));
+        assertEquals(1, bitBoard.size());
+    }
+
+    /**
+     * Test that replacing and removing pieces clears the old occupancy bits.
+     */
+    @Test
+    void remove_replacedPiece_occupancyCleared() {
+        bitBoard.put(RC3, new Pawn(Colour.SILVER));
+        bitBoard.put(RC3, new King(Colour.BRONZE));
+        assertEquals(0, bitBoard.piecesHi(Colour.SILVER, PieceType.PAWN));
+        assertEquals(RC3.ordinal(), bitBoard.findFirst(Colour.BRONZE, PieceType.KING));
+
+        bitBoard.remove(RC3);
+        assertNull(bitBoard.get(RC3));
+        assertEquals(0, bitBoard.occupiedHi());
+        assertEquals(-1, bitBoard.findFirst(Colour.BRONZE, PieceType.KING));
+        assertTrue(bitBoard.isEmpty());
+    }
+
+    /**
+     * Test that the board behaves like the HashMap it replaced.
+     */
+    @Test
+    void equals_initialBoard_sameAsHashMapCopy() {
+        Map<PositionOnBoard, ChessPiece> boardMap = new BoardServiceImpl().getBoardMap();
+        Map<PositionOnBoard, ChessPiece> copy = new HashMap<>(boardMap);
+        assertEquals(copy, boardMap);
+        assertEquals(copy, new BitBoard(copy));
+        assertEquals(48, boardMap.size());
+    }
+
+    /**
+     * Test that a copied board is independent from the original.
+     */
+    @Test
+    void copy_modifyOriginal_copyUnchanged() {
+        bitBoard.put(BE1, new King(Colour.SILVER));
+        BitBoard copy = new BitBoard(bitBoard);
+        bitBoard.clear();
+        assertNotNull(copy.get(BE1));
+        assertEquals(BE1.ordinal(), copy.findFirst(Colour.SILVER, PieceType.KING));
+        assertEquals(0, bitBoard.occupiedLo());
+    }
+
+    /**
+     * Test that unmaking a capture restores the pieces, the occupancy words and the turn.
+     */
+    @Test
+    void unmakeMove_capture_boardRestored() {
+        BitBoard board = (BitBoard) new BoardServiceImpl().getBoardMap();
+        board.put(BE3, new Pawn(Colour.GOLD));
+        BitBoard before = new BitBoard(board);
+        ChessPiece pawn = board.get(BD2);
+
+        board.makeMove(BD2.ordinal(), BE3.ordinal());
+        assertSame(pawn, board.get(BE3));
+        assertEquals(Colour.BRONZE, board.getSideToMove());
+        assertEquals(Colour.GOLD, board.lastMove().getCaptured().getColour());
+
+        board.unmakeMove();
+        assertEquals(before, board);
+        assertEquals(before.occupiedLo(), board.occupiedLo());
+        assertEquals(before.occupiedHi(), board.occupiedHi());
+        assertEquals(Colour.SILVER, board.getSideToMove());
+        assertEquals(0, board.getHistorySize());
+    }
+
+    /**
+     * Test that castling moves the rook and unmaking it puts both pieces back.
+     */
+    @Test
+    void makeMove_castleLeft_rookMovedAndRestored() {
+        ChessPiece king = new King(Colour.SILVER);
+        ChessPiece rook = new Rook(Colour.SILVER);
+        bitBoard.put(BE1, king);
+        bitBoard.put(BA1, rook);
+
+        bitBoard.makeMove(BE1.ordinal(), BC1.ordinal());
+        assertTrue(bitBoard.lastMove().isCastling());
+        assertSame(bitBoard.lastMove(), bitBoard.moveAt(0));
+        assertEquals(BA1.ordinal(), bitBoard.lastMove().getRookFrom());
+        assertEquals(BD1.ordinal(), bitBoard.lastMove().getRookTo());
+        assertSame(king, bitBoard.get(BC1));
+        assertSame(rook, bitBoard.get(BD1));
+        assertNull(bitBoard.get(BA1));
+
+        bitBoard.unmakeMove();
+        assertSame(king, bitBoard.get(BE1));
+        assertSame(rook, bitBoard.get(BA1));
+        assertEquals(2, bitBoard.size());
+    }
+
+    /**
+     * Test that a pawn reaching an opponent's first row is promoted and unmade as a pawn.
+     */
+    @Test
+    void makeMove_pawnOnOpponentFirstRow_promotedAndRestored() {
+        ChessPiece pawn = new Pawn(Colour.SILVER);
+        bitBoard.put(GA2, pawn);
+
+        bitBoard.makeMove(GA2.ordinal(), GA1.ordinal());
+        assertTrue(bitBoard.lastMove().isPromotion());
+        assertEquals(PieceType.QUEEN, bitBoard.get(GA1).getType());
+
+        bitBoard.unmakeMove();
+        assertSame(pawn, bitBoard.get(GA2));
+        assertEquals(0, bitBoard.piecesLo(Colour.SILVER, PieceType.QUEEN) | bitBoard.piecesHi(Colour.SILVER, PieceType.QUEEN));
+    }
+
+    /**
+     * Test that the Hawk's first capture keeps the turn and sets the pending flag.
+     */
+    @Test
+    void makeMove_hawkFirstCapture_turnKept() {
+        bitBoard.put(BA2, new Hawk(Colour.SILVER));
+        bitBoard.put(BA4, new Pawn(Colour.BRONZE));
+
+        bitBoard.makeMove(BA2.ordinal(), BA4.ordinal());
+        assertTrue(bitBoard.isHawkPending());
+        assertEquals(Colour.SILVER, bitBoard.getSideToMove());
+
+        bitBoard.unmakeMove();
+        assertFalse(bitBoard.isHawkPending());
+        assertEquals(PieceType.PAWN, bitBoard.get(BA4).getType());
+    }
+
+    /**
+     * Test that the piece lists and the king square follow captures, castling and promotion and are restored by unmake.
+     */
+    @Test
+    void pieceLists_castlingCaptureAndPromotion_followedAndRestored() {
+        bitBoard.put(BE1, new King(Colour.SILVER));
+        bitBoard.put(BH1, new Rook(Colour.SILVER));
+        bitBoard.put(GA2, new Pawn(Colour.SILVER));
+        bitBoard.put(GA1, new Rook(Colour.GOLD));
+        assertEquals(BE1.ordinal(), bitBoard.kingSquare(Colour.SILVER));
+        assertEquals(-1, bitBoard.kingSquare(Colour.GOLD));
+
+        bitBoard.makeMove(BE1.ordinal(), BG1.ordinal());
+        assertEquals(BG1.ordinal(), bitBoard.kingSquare(Colour.SILVER));
+        assertEquals(BF1.ordinal(), bitBoard.pieceSquare(Colour.SILVER, PieceType.ROOK, 0));
+
+        bitBoard.makeMove(GA2.ordinal(), GA1.ordinal());
+        assertEquals(0, bitBoard.pieceCount(Colour.SILVER, PieceType.PAWN));
+        assertEquals(1, bitBoard.pieceCount(Colour.SILVER, PieceType.QUEEN));
+        assertEquals(0, bitBoard.pieceCount(Colour.GOLD));
+
+        bitBoard.unmakeMove();
+        bitBoard.unmakeMove();
+        assertEquals(BE1.ordinal(), bitBoard.kingSquare(Colour.SILVER));
+        assertEquals(BH1.ordinal(), bitBoard.pieceSquare(Colour.SILVER, PieceType.ROOK, 0));
+        assertEquals(1, bitBoard.pieceCount(Colour.SILVER, PieceType.PAWN));
+        assertEquals(0, bitBoard.pieceCount(Colour.SILVER, PieceType.QUEEN));
+        assertEquals(1, bitBoard.pieceCount(Colour.GOLD, PieceType.ROOK));
+        assertEquals(3, bitBoard.pieceCount(Colour.SILVER));
+    }
+
+    /**
+     * Test that the piece lists grow past their initial capacity and shrink on removal.
+     */
+    @Test
+    void pieceLists_manyPawns_allListed() throws InvalidPositionException {
+        for (int column = 0; column < 8; column++) {
+            bitBoard.put(PositionOnBoard.get(Colour.BRONZE, 1, column), new Pawn(Colour.BRONZE));
+            bitBoard.put(PositionOnBoard.get(Colour.BRONZE, 2, column), new Pawn(Colour.BRONZE));
+        }
+        assertEquals(16, bitBoard.pieceCount(Colour.BRONZE, PieceType.PAWN));
+
+        bitBoard.remove(PositionOnBoard.get(Colour.BRONZE, 1, 0));
+        assertEquals(15, bitBoard.pieceCount(Colour.BRONZE, PieceType.PAWN));
+        for (int slot = 0; slot < 15; slot++) {
+            int index = bitBoard.pieceSquare(Colour.BRONZE, PieceType.PAWN, slot);
+            assertNotNull(bitBoard.pieceAt(index));
+        }
+        bitBoard.clear();
+        assertEquals(0, bitBoard.pieceCount(Colour.BRONZE, PieceType.PAWN));
+    }
+
+    /**
+     * Test that the incremental Zobrist key matches the key computed from scratch after moves, castling,
+     * promotion and the Hawk's double capture, and is restored by unmake.
+     */
+    @Test
+    void zobristKey_movesAndUnmake_sameAsComputed() {
+        bitBoard.put(BE1, new King(Colour.SILVER));
+        bitBoard.put(BH1, new Rook(Colour.SILVER));
+        bitBoard.put(GA2, new Pawn(Colour.BRONZE));
+        bitBoard.put(BA2, new Hawk(Colour.GOLD));
+        bitBoard.put(BA4, new Pawn(Colour.SILVER));
+        bitBoard.put(BB4, new Pawn(Colour.SILVER));
+        long start = bitBoard.getZobristKey();
+        assertEquals(ZobristKeys.compute(bitBoard), start);
+
+        int[][] moves = {{BE1.ordinal(), BG1.ordinal()}, {GA2.ordinal(), GA3.ordinal()},
+                {BA2.ordinal(), BA4.ordinal()}, {BA4.ordinal(), BB4.ordinal()}};
+        for (int[] move : moves) {
+            bitBoard.makeMove(move[0], move[1]);
+            assertEquals(ZobristKeys.compute(bitBoard), bitBoard.getZobristKey());
+        }
+        for (int move = 0; move < moves.length; move++) {
+            bitBoard.unmakeMove();
+            assertEquals(ZobristKeys.compute(bitBoard), bitBoard.getZobristKey());
+        }
+        assertEquals(start, bitBoard.getZobristKey());
+    }
+
+    /**
+     * Test that the same position reached in a different move order has the same key, and that the side to
+     * move and a pending Hawk capture are part of the key.
+     */
+    @Test
+    void zobristKey_transposition_sameKey() {
+        BitBoard first = (BitBoard) new BoardServiceImpl().getBoardMap();
+        BitBoard second = new BitBoard(first);
+        first.makeMove(BB2.ordinal(), BB3.ordinal());
+        first.makeMove(GB2.ordinal(), GB3.ordinal());
+        first.makeMove(RB2.ordinal(), RB3.ordinal());
+        first.makeMove(BC2.ordinal(), BC3.ordinal());
+        second.makeMove(BC2.ordinal(), BC3.ordinal());
+        second.makeMove(GB2.ordinal(), GB3.ordinal());
+        second.makeMove(RB2.ordinal(), RB3.ordinal());
+        second.makeMove(BB2.ordinal(), BB3.ordinal());
+        assertEquals(first.getZobristKey(), second.getZobristKey());
+
+        second.setSideToMove(Colour.GOLD);
+        assertNotEquals(first.getZobristKey(), second.getZobristKey());
+        second.setSideToMove(first.getSideToMove());
+        second.setHawkPending(true);
+        assertNotEquals(first.getZobristKey(), second.getZobristKey());
+        assertEquals(ZobristKeys.compute(second), second.getZobristKey());
+    }
+
+    /**
+     * Test that the incremental piece square scores match the scores computed from scratch when the tables
+     * are set, after placing pieces, moves, castling, promotion and the Hawk's double capture, and are
+     * restored by unmake.
+     */
+    @Test
+    void pieceSquareScore_movesAndUnmake_sameAsComputed() {
+        PieceSquareTables tables = PieceSquareTables.getDefault();
+        bitBoard.put(BE1, new King(Colour.SILVER));
+        bitBoard.put(BH1, new Rook(Colour.SILVER));
+        bitBoard.put(GA2, new Pawn(Colour.BRONZE));
+        bitBoard.put(BA2, new Hawk(Colour.GOLD));
+        bitBoard.setPieceSquareTables(tables);
+        bitBoard.put(BA4, new Pawn(Colour.SILVER));
+        bitBoard.put(BB4, new Pawn(Colour.SILVER));
+        bitBoard.put(RB2, new Pawn(Colour.SILVER));
+        int[] start = new int[Colour.values().length];
+        for (Colour colour : Colour.values()) {
+            start[colour.ordinal()] = bitBoard.pieceSquareScore(colour);
+            assertEquals(tables.compute(bitBoard, colour), start[colour.ordinal()]);
+        }
+
+        int[][] moves = {{BE1.ordinal(), BG1.ordinal()}, {GA2.ordinal(), GA3.ordinal()},
+                {BA2.ordinal(), BA4.ordinal()}, {BA4.ordinal(), BB4.ordinal()}, {RB2.ordinal(), RB1.ordinal()}};
+        for (int[] move : moves) {
+            bitBoard.makeMove(move[0], move[1]);
+            for (Colour colour : Colour.values()) {
+                assertEquals(tables.compute(bitBoard, colour), bitBoard.pieceSquareScore(colour));
+            }
+        }
+        for (int move = 0; move < moves.length; move++) {
+            bitBoard.unmakeMove();
+        }
+        BitBoard copy = new BitBoard(bitBoard);
+        for (Colour colour : Colour.values()) {
+            assertEquals(start[colour.ordinal()], bitBoard.pieceSquareScore(colour));
+            assertEquals(start[colour.ordinal()], copy.pieceSquareScore(colour));
+        }
+        bitBoard.clear();
+        assertEquals(0, bitBoard.pieceSquareScore(Colour.SILVER));
+    }
+
+    /**
+     * Test that a board without piece square tables keeps no scores, and removing the tables resets them.
+     */
+    @Test
+    void pieceSquareScore_noTables_zero() {
+        bitBoard.put(BE1, new King(Colour.SILVER));
+        bitBoard.put(BA2, new Pawn(Colour.SILVER));
+        assertNull(bitBoard.getPieceSquareTables());
+        assertEquals(0, bitBoard.pieceSquareScore(Colour.SILVER));
+
+        bitBoard.setPieceSquareTables(PieceSquareTables.MATERIAL_ONLY);
+        assertEquals(100, bitBoard.pieceSquareScore(Colour.SILVER));
+        bitBoard.setPieceSquareTables(null);
+        bitBoard.put(BB2, new Pawn(Colour.SILVER));
+        assertEquals(0, bitBoard.pieceSquareScore(Colour.SILVER));
+    }
+}
@@ -0,0 +1,77 @@
+package com.ccd.chess.service.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the BoardChangeLog class.
+ */
+class BoardChangeLogTest {
+
+    private BoardChangeLog log;
+
+    /**
+     * Initializes an empty change log before each test.
+     */
+    @BeforeEach
+    void initBeforeEachChangeLogTest() {
+        log = new BoardChangeLog();
+    }
+
+    /**
+     * Test that a move shows up as the emptied start cell and the occupied end cell.
+     */
+    @Test
+    void diff_pawnMove_startEmptiedEndOccupied() {
+        Map<String, String> before = ImmutableMap.of("Bb2", "BP", "Ba1", "BR");
+        Map<String, String> after = ImmutableMap.of("Bb3", "BP", "Ba1", "BR");
+        assertEquals(ImmutableMap.of("Bb2", "", "Bb3", "BP"), BoardChangeLog.diff(before, after));
+    }
+
+    /**
+     * Test that a capture shows up as the new piece on the end cell.
+     */
+    @Test
+    void diff_capture_endCellReplaced() {
+        Map<String, String> before = ImmutableMap.of("Bb2", "BQ", "Bc3", "GP");
+        Map<String, String> after = ImmutableMap.of("Bc3", "BQ");
+        assertEquals(ImmutableMap.of("Bb2", "", "Bc3", "BQ"), BoardChangeLog.diff(before, after));
+    }
+
+    /**
+     * Test that the changes of several versions are merged with the latest value of each cell.
+     */
+    @Test
+    void changesBetween_severalVersions_latestValuePerCell() {
+        log.record(1, ImmutableMap.of("Bb2", "", "Bb3", "BP"));
+        log.record(2, ImmutableMap.of("Gb2", "", "Gb3", "GP"));
+        log.record(3, ImmutableMap.of("Bb3", "", "Bb4", "BP"));
+
+        Map<String, String> changes = log.changesBetween(0, 3).orElseThrow();
+        assertEquals(ImmutableMap.of("Bb2", "", "Bb3", "", "Bb4", "BP", "Gb2", "", "Gb3", "GP"), changes);
+        assertEquals(ImmutableMap.of("Bb3", "", "Bb4", "BP"), log.changesBetween(2, 3).orElseThrow());
+        assertTrue(log.changesBetween(3, 3).orElseThrow().isEmpty());
+    }
+
+    /**
+     * Test that versions overwritten in the ring buffer, unknown or future versions are not answered.
+     */
+    @Test
+    void changesBetween_versionNotKept_empty() {
+        for (long version = 1; version <= BoardChangeLog.CAPACITY + 5; version++) {
+            log.record(version, ImmutableMap.of("Bb2", String.valueOf(version)));
+        }
+        long latest = BoardChangeLog.CAPACITY + 5;
+        assertEquals(Optional.empty(), log.changesBetween(0, latest));
+        assertEquals(Optional.empty(), log.changesBetween(4, latest));
+        assertEquals(Optional.empty(), log.changesBetween(-1, latest));
+        assertEquals(Optional.empty(), log.changesBetween(latest + 1, latest));
+        assertEquals(ImmutableMap.of("Bb2", String.valueOf(latest)), log.changesBetween(5, latest).orElseThrow());
+    }
+}
@@ -0,0 +1,48 @@
+package com.ccd.chess.service.impl;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the GameClock class.
+ */
+class GameClockTest {
+
+    /**
+     * Test that the time of every turn is charged to the colour which was to move.
+     */
+    @Test
+    void switchTurn_turnsPassed_timeChargedToMover() {
+        GameClock clock = new GameClock(Colour.SILVER, 1_000);
+        clock.switchTurn(Colour.BRONZE, 3_000);
+        clock.switchTurn(Colour.GOLD, 3_500);
+        clock.switchTurn(Colour.SILVER, 7_500);
+
+        assertEquals(2_000, clock.usedMillis(Colour.SILVER, 7_500));
+        assertEquals(500, clock.usedMillis(Colour.BRONZE, 7_500));
+        assertEquals(4_000, clock.usedMillis(Colour.GOLD, 7_500));
+    }
+
+    /**
+     * Test that the running turn counts for the colour to move only.
+     */
+    @Test
+    void usedMillis_runningTurn_countedForColourToMove() {
+        GameClock clock = new GameClock(Colour.SILVER, 1_000);
+        assertEquals(500, clock.usedMillis(Colour.SILVER, 1_500));
+        assertEquals(0, clock.usedMillis(Colour.BRONZE, 1_500));
+    }
+
+    /**
+     * Test that a second move of the same colour, after the first capture of a Hawk, keeps its turn running.
+     */
+    @Test
+    void switchTurn_sameColour_turnKeepsRunning() {
+        GameClock clock = new GameClock(Colour.SILVER, 1_000);
+        clock.switchTurn(Colour.SILVER, 2_000);
+        clock.switchTurn(Colour.BRONZE, 4_000);
+        assertEquals(3_000, clock.usedMillis(Colour.SILVER, 4_000));
+    }
+}
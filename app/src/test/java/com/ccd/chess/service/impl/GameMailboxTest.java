@@ -0,0 +1,91 @@
+package com.ccd.chess.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the GameMailbox class.
+ */
+class GameMailboxTest {
+
+    private ExecutorService workers;
+
+    /**
+     * Initializes a shared pool of four workers before each test.
+     */
+    @BeforeEach
+    void initBeforeEachMailboxTest() {
+        workers = Executors.newFixedThreadPool(4);
+    }
+
+    /**
+     * Stops the shared pool after each test.
+     */
+    @AfterEach
+    void shutdownAfterEachMailboxTest() throws InterruptedException {
+        workers.shutdown();
+        assertTrue(workers.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that tasks submitted from many threads run one at a time, in the order they were queued.
+     */
+    @Test
+    void execute_concurrentSubmitters_tasksRunSerially() throws Exception {
+        GameMailbox mailbox = new GameMailbox(workers);
+        AtomicInteger running = new AtomicInteger();
+        List<Integer> order = new ArrayList<>(); // only touched by mailbox tasks
+        List<CompletableFuture<Void>> done = new ArrayList<>();
+
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            submitted.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 500; i++) {
+                    synchronized (done) {
+                        int task = done.size();
+                        done.add(CompletableFuture.runAsync(() -> {
+                            assertEquals(1, running.incrementAndGet());
+                            order.add(task);
+                            running.decrementAndGet();
+                        }, mailbox));
+                    }
+                }
+            }, submitters));
+        }
+        CompletableFuture.allOf(submitted.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        CompletableFuture.allOf(done.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        submitters.shutdown();
+
+        assertEquals(4000, order.size());
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(Integer.valueOf(i), order.get(i));
+        }
+    }
+
+    /**
+     * Test that a failing task does not stop the mailbox from running the next one.
+     */
+    @Test
+    void execute_failingTask_nextTaskRuns() throws Exception {
+        GameMailbox mailbox = new GameMailbox(workers);
+        CompletableFuture<Void> failed = CompletableFuture.runAsync(() -> {
+            throw new IllegalStateException("failed");
+        }, mailbox);
+        CompletableFuture<String> next = CompletableFuture.supplyAsync(() -> "next", mailbox);
+
+        assertEquals("next", next.get(10, TimeUnit.SECONDS));
+        assertTrue(failed.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,207 @@
+package com.ccd.chess.service.impl;
+
+import com.ccd.chess.engine.MaterialEvaluator;
+import com.ccd.chess.engine.SearchEngine;
+import com.ccd.chess.engine.TimeManager;
+import com.ccd.chess.exceptions.GameCapacityException;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.service.interfaces.GameSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the GameRegistryImpl class.
+ */
+class GameRegistryImplTest {
+
+    private static final long IDLE_TIMEOUT = 1000;
+
+    private AtomicLong now;
+    private GameRegistryImpl registry;
+
+    /**
+     * Initializes a registry for two games with a manual clock before each test.
+     * Mailbox tasks run on the calling thread.
+     */
+    @BeforeEach
+    void initBeforeEachRegistryTest() {
+        now = new AtomicLong();
+        registry = new GameRegistryImpl(2, IDLE_TIMEOUT, now::get, Runnable::run);
+    }
+
+    /**
+     * Test that each game has its own board, a move in one game does not change the other.
+     */
+    @Test
+    void createGame_twoGames_independentBoards() throws GameCapacityException {
+        GameSession first = registry.findGame(registry.createGame()).orElseThrow();
+        GameSession second = registry.findGame(registry.createGame()).orElseThrow();
+        assertNotSame(first, second);
+
+        first.processClickEvent("Bb2").join();
+        first.processClickEvent("Bb3").join();
+        assertEquals(Colour.BRONZE, first.snapshot().getCurrentTurn());
+        assertEquals(Colour.SILVER, second.snapshot().getCurrentTurn());
+        assertNotEquals(first.snapshot().getBoard(), second.snapshot().getBoard());
+    }
+
+    /**
+     * Test that selecting a piece is counted in the stats of the shared legal move cache.
+     */
+    @Test
+    void legalMoveCacheStats_pieceSelected_lookupCounted() throws GameCapacityException {
+        Map<String, Long> before = registry.legalMoveCacheStats();
+        registry.findGame(registry.createGame()).orElseThrow().processClickEvent("Bb2").join();
+        Map<String, Long> after = registry.legalMoveCacheStats();
+        assertTrue(after.get("hits") + after.get("misses") > before.get("hits") + before.get("misses"));
+    }
+
+    /**
+     * Test that no game is created when the registry is full and no game is idle.
+     */
+    @Test
+    void createGame_registryFull_throwsGameCapacityException() throws GameCapacityException {
+        registry.createGame();
+        registry.createGame();
+        assertThrows(GameCapacityException.class, () -> registry.createGame());
+        assertEquals(2, registry.activeGames());
+    }
+
+    /**
+     * Test that a full registry evicts idle games to make room for a new one.
+     */
+    @Test
+    void createGame_registryFullWithIdleGame_idleGameEvicted() throws GameCapacityException {
+        String idle = registry.createGame();
+        now.addAndGet(IDLE_TIMEOUT);
+        String used = registry.createGame();
+        now.addAndGet(1);
+
+        String created = registry.createGame();
+        assertFalse(registry.findGame(idle).isPresent());
+        assertTrue(registry.findGame(used).isPresent());
+        assertTrue(registry.findGame(created).isPresent());
+    }
+
+    /**
+     * Test that looking up a game keeps it from being evicted.
+     */
+    @Test
+    void evictIdleGames_recentlyUsedGame_kept() throws GameCapacityException {
+        String gameId = registry.createGame();
+        now.addAndGet(IDLE_TIMEOUT);
+        registry.findGame(gameId);
+        now.addAndGet(IDLE_TIMEOUT);
+
+        assertEquals(0, registry.evictIdleGames());
+        now.addAndGet(1);
+        assertEquals(1, registry.evictIdleGames());
+        assertEquals(0, registry.activeGames());
+    }
+
+    /**
+     * Test that unknown and removed games are not found.
+     */
+    @Test
+    void findGame_unknownOrRemovedGame_empty() throws GameCapacityException {
+        assertFalse(registry.findGame("unknown").isPresent());
+        assertFalse(registry.findGame(null).isPresent());
+
+        String gameId = registry.createGame();
+        assertTrue(registry.removeGame(gameId));
+        assertFalse(registry.removeGame(gameId));
+        assertFalse(registry.findGame(gameId).isPresent());
+    }
+
+    /**
+     * Creates a registry whose mailbox tasks and searches are queued until the test runs them, with an engine
+     * searching one ply
+     */
+    private GameRegistryImpl queuedRegistry(Queue<Runnable> tasks) {
+        return new GameRegistryImpl(2, IDLE_TIMEOUT, now::get, tasks::add, tasks::add,
+                new SearchEngine(new MaterialEvaluator(), 1, 100), new TimeManager(60_000, 30, 100));
+    }
+
+    private static GameSession botOnlyGame(GameRegistryImpl registry) throws GameCapacityException {
+        GameSession game = registry.findGame(registry.createGame()).orElseThrow();
+        for (Colour colour : Colour.values()) {
+            game.setBotSeat(colour, true);
+        }
+        return game;
+    }
+
+    private static void runTasks(Queue<Runnable> tasks, int limit) {
+        for (int i = 0; i < limit && !tasks.isEmpty(); i++) {
+            tasks.poll().run();
+        }
+    }
+
+    /**
+     * Test that a removed game whose seats are all played by the engine stops moving.
+     */
+    @Test
+    void removeGame_botOnlyGame_versionStopsAdvancing() throws GameCapacityException {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        GameRegistryImpl registry = queuedRegistry(tasks);
+        GameSession game = botOnlyGame(registry);
+        runTasks(tasks, 6);
+        long version = game.snapshot().getVersion();
+        assertTrue(version > 0);
+
+        assertTrue(registry.removeGame(game.getGameId()));
+        runTasks(tasks, 100);
+        assertTrue(tasks.isEmpty());
+        assertEquals(version, game.snapshot().getVersion());
+        assertTrue(game.getBotSeats().isEmpty());
+        game.setBotSeat(Colour.SILVER, true);
+        assertTrue(tasks.isEmpty());
+    }
+
+    /**
+     * Test that moves of the engine keep a game from being evicted, and an evicted game stops moving.
+     */
+    @Test
+    void evictIdleGames_botOnlyGame_keptWhileMovingThenStopped() throws GameCapacityException {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        GameRegistryImpl registry = queuedRegistry(tasks);
+        GameSession game = botOnlyGame(registry);
+        runTasks(tasks, 2);
+        now.addAndGet(IDLE_TIMEOUT + 1);
+        runTasks(tasks, 2);
+        assertEquals(0, registry.evictIdleGames());
+
+        now.addAndGet(IDLE_TIMEOUT + 1);
+        assertEquals(1, registry.evictIdleGames());
+        long version = game.snapshot().getVersion();
+        runTasks(tasks, 100);
+        assertTrue(tasks.isEmpty());
+        assertEquals(version, game.snapshot().getVersion());
+    }
+
+    /**
+     * Test that the engine pauses a game nobody uses after the unattended move limit and moves on
+     * when the game is looked up again.
+     */
+    @Test
+    void findGame_botOnlyGamePaused_engineMovesAgain() throws GameCapacityException {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        GameRegistryImpl registry = queuedRegistry(tasks);
+        GameSession game = botOnlyGame(registry);
+        runTasks(tasks, 4 * GameSessionImpl.MAX_UNATTENDED_BOT_MOVES);
+        assertTrue(tasks.isEmpty());
+        assertNull(game.snapshot().getWinner());
+        long version = game.snapshot().getVersion();
+        assertTrue(version <= GameSessionImpl.MAX_UNATTENDED_BOT_MOVES);
+
+        registry.findGame(game.getGameId());
+        runTasks(tasks, 3); // board copy on the mailbox, search, move on the mailbox
+        assertTrue(game.snapshot().getVersion() > version);
+    }
+}
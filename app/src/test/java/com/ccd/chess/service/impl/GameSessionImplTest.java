@@ -0,0 +1,232 @@
+package com.ccd.chess.service.impl;
+
+import com.ccd.chess.engine.MaterialEvaluator;
+import com.ccd.chess.engine.PieceSquareEvaluator;
+import com.ccd.chess.engine.SearchEngine;
+import com.ccd.chess.engine.TimeManager;
+import com.ccd.chess.model.dto.BoardUpdate;
+import com.ccd.chess.model.dto.GameSnapshot;
+import com.ccd.chess.model.dto.GameState;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.service.interfaces.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the GameSessionImpl class.
+ */
+class GameSessionImplTest {
+
+    private GameSessionImpl session;
+    private List<GameSnapshot> published;
+
+    /**
+     * Initializes a session whose mailbox runs on the calling thread, with a shallow engine for its bot seats, and records published updates.
+     */
+    @BeforeEach
+    void initBeforeEachSessionTest() {
+        session = new GameSessionImpl("game", Runnable::run, Runnable::run, () -> 0,
+                new SearchEngine(new MaterialEvaluator(), 1, 100), new TimeManager(60_000, 30, 100));
+        published = new ArrayList<>();
+    }
+
+    /**
+     * Test that listeners are notified once per move with the snapshot after the move.
+     */
+    @Test
+    void subscribe_move_listenerNotified() {
+        session.subscribe(published::add);
+        session.processClickEvent("Bb2").join();
+        session.processClickEvent("Bb3").join();
+
+        assertEquals(1, published.size());
+        assertSame(session.snapshot(), published.get(0));
+        assertEquals(Colour.BRONZE, published.get(0).getCurrentTurn());
+        assertNull(published.get(0).getWinner());
+    }
+
+    /**
+     * Test that selecting a piece does not notify the listeners, the board did not change.
+     */
+    @Test
+    void subscribe_selectionOnly_listenerNotNotified() {
+        session.subscribe(published::add);
+        session.processClickEvent("Bb2").join();
+        assertTrue(published.isEmpty());
+    }
+
+    /**
+     * Test that a removed listener is not notified anymore.
+     */
+    @Test
+    void subscribe_unsubscribed_listenerNotNotified() {
+        Runnable unsubscribe = session.subscribe(published::add);
+        unsubscribe.run();
+        session.processClickEvent("Bb2").join();
+        session.processClickEvent("Bb3").join();
+        assertTrue(published.isEmpty());
+    }
+
+    /**
+     * Test that a failing listener does not stop the game or the other listeners.
+     */
+    @Test
+    void subscribe_failingListener_otherListenersNotified() {
+        session.subscribe(snapshot -> {
+            throw new IllegalStateException("listener failed");
+        });
+        session.subscribe(published::add);
+        session.processClickEvent("Bb2").join();
+        session.processClickEvent("Bb3").join();
+
+        assertEquals(1, published.size());
+        assertEquals(Colour.BRONZE, session.snapshot().getCurrentTurn());
+    }
+
+    /**
+     * Test that a move is published as the next version with the emptied start and the occupied end cell.
+     */
+    @Test
+    void subscribe_move_nextVersionWithChangedCells() {
+        session.subscribe(published::add);
+        session.processClickEvent("Bb2").join();
+        session.processClickEvent("Bb3").join();
+
+        GameSnapshot snapshot = published.get(0);
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(2, snapshot.getChanges().size());
+        assertEquals("", snapshot.getChanges().get("Bb2"));
+        assertEquals("BP", snapshot.getChanges().get("Bb3"));
+    }
+
+    /**
+     * Test that the changes since a known version applied to that board give the current board.
+     */
+    @Test
+    void updateSince_knownVersion_changesGiveCurrentBoard() {
+        Map<String, String> board = new HashMap<>(session.snapshot().getBoard());
+        session.processClickEvent("Bb2").join();
+        session.processClickEvent("Bb3").join();
+        session.processClickEvent("Gb2").join();
+        session.processClickEvent("Gb3").join();
+
+        BoardUpdate update = session.updateSince(0);
+        assertFalse(update.isFull());
+        assertEquals(0, update.getBaseVersion());
+        assertEquals(2, update.getVersion());
+        update.getCells().forEach((cell, piece) -> {
+            if (piece.isEmpty()) {
+                board.remove(cell);
+            } else {
+                board.put(cell, piece);
+            }
+        });
+        assertEquals(session.snapshot().getBoard(), board);
+        assertEquals("R", update.getCurrentPlayer());
+    }
+
+    /**
+     * Test that an unknown version is answered with the whole board.
+     */
+    @Test
+    void updateSince_unknownVersion_fullBoard() {
+        BoardUpdate update = session.updateSince(BoardUpdate.NO_VERSION);
+        assertTrue(update.isFull());
+        assertEquals(session.snapshot().getBoard(), update.getCells());
+        assertTrue(session.updateSince(7).isFull());
+        assertTrue(session.updateSince(0).getCells().isEmpty());
+    }
+
+    /**
+     * Test that the click response carries only the changed cells instead of the board.
+     */
+    @Test
+    void processClickEvent_knownVersion_boardUpdateInsteadOfBoard() {
+        session.processClickEvent("Bb2", 0).join();
+        GameState state = session.processClickEvent("Bb3", 0).join();
+        assertNull(state.getBoard());
+        assertEquals(1, state.getBoardUpdate().getVersion());
+        assertEquals(2, state.getBoardUpdate().getCells().size());
+    }
+
+    /**
+     * Test that the engine moves for its seat after a human move and the turn passes on.
+     */
+    @Test
+    void setBotSeat_humanMoved_botMovesForItsSeat() {
+        session.setBotSeat(Colour.BRONZE, true);
+        session.subscribe(published::add);
+        session.processClickEvent("Bb2").join();
+        session.processClickEvent("Bb3").join();
+
+        assertEquals(2, published.size());
+        assertEquals(Colour.BRONZE, published.get(0).getCurrentTurn());
+        assertEquals(Colour.GOLD, session.snapshot().getCurrentTurn());
+        assertEquals(Set.of(Colour.BRONZE), session.getBotSeats());
+    }
+
+    /**
+     * Test that a seat taken on the colour's turn moves at once, and a freed seat waits for a human again.
+     */
+    @Test
+    void setBotSeat_onOwnTurn_movesAtOnceUntilRemoved() {
+        session.setBotSeat(Colour.SILVER, true);
+        assertEquals(Colour.BRONZE, session.snapshot().getCurrentTurn());
+
+        session.setBotSeat(Colour.SILVER, false);
+        session.setBotSeat(Colour.BRONZE, true);
+        session.setBotSeat(Colour.GOLD, true);
+        assertEquals(Colour.SILVER, session.snapshot().getCurrentTurn());
+        assertEquals(3, session.snapshot().getVersion());
+        assertTrue(session.getBotSeats().contains(Colour.GOLD));
+    }
+
+    /**
+     * Test that a move found for a position the game has left during the search is dropped, and
+     * clicks are processed while the search is pending.
+     */
+    @Test
+    void setBotSeat_humanMovedDuringSearch_staleMoveDropped() {
+        Queue<Runnable> searches = new ArrayDeque<>();
+        session = new GameSessionImpl("game", Runnable::run, searches::add, () -> 0,
+                new SearchEngine(new MaterialEvaluator(), 1, 100), new TimeManager(60_000, 30, 100));
+        session.setBotSeat(Colour.SILVER, true);
+        assertEquals(1, searches.size());
+
+        session.setBotSeat(Colour.SILVER, false);
+        session.processClickEvent("Bb2").join();
+        session.processClickEvent("Bb3").join();
+        session.setBotSeat(Colour.SILVER, true);
+        searches.poll().run();
+
+        assertTrue(searches.isEmpty());
+        assertEquals(1, session.snapshot().getVersion());
+        assertEquals(Colour.BRONZE, session.snapshot().getCurrentTurn());
+        assertEquals("BP", session.snapshot().getBoard().get("Bb3"));
+    }
+
+    /**
+     * Test that the board of the snapshot, kept from the cells changed by every move, is the board of the
+     * game after a game played by the engine with captures.
+     */
+    @Test
+    void snapshot_botGame_boardFollowsMoves() {
+        session = new GameSessionImpl("game", Runnable::run, Runnable::run, () -> 0,
+                new SearchEngine(new PieceSquareEvaluator(), 2, 100), new TimeManager(60_000, 30, 100));
+        for (Colour colour : Colour.values()) {
+            session.setBotSeat(colour, true);
+        }
+        assertTrue(session.snapshot().getBoard().size() < 48);
+        assertEquals(session.submit(GameService::retrieveBoardState).join(), session.snapshot().getBoard());
+    }
+}
@@ -0,0 +1,113 @@
+package com.ccd.chess.service.impl;
+
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the LegalMoveCache class.
+ */
+class LegalMoveCacheTest {
+
+    private LegalMoveCache cache;
+
+    /**
+     * Initializes a small cache before each test.
+     */
+    @BeforeEach
+    void initBeforeEachCacheTest() {
+        cache = new LegalMoveCache(16);
+    }
+
+    /**
+     * Test that stored targets are found for the same key and start cell only.
+     */
+    @Test
+    void lookup_storedEntry_hitOnExactKeyAndStart() {
+        long[] targets = new long[2];
+        assertFalse(cache.lookup(42, 3, targets));
+        cache.store(42, 3, new long[]{5, 7});
+
+        assertTrue(cache.lookup(42, 3, targets));
+        assertEquals(5, targets[0]);
+        assertEquals(7, targets[1]);
+        assertFalse(cache.lookup(43, 3, targets));
+        assertFalse(cache.lookup(42, 4, targets));
+        assertEquals(1, cache.hits());
+        assertEquals(3, cache.misses());
+    }
+
+    /**
+     * Test that the stats report the counters and the share of lookups which hit.
+     */
+    @Test
+    void stats_lookups_countersAndHitRate() {
+        long[] targets = new long[2];
+        cache.store(42, 3, new long[]{5, 7});
+        cache.store(42, 3, new long[]{5, 7});
+        cache.lookup(42, 3, targets);
+        cache.lookup(42, 3, targets);
+        cache.lookup(42, 3, targets);
+        cache.lookup(43, 3, targets);
+
+        assertEquals(Map.of("hits", 3L, "misses", 1L, "evictions", 1L, "hitRate", 75L), cache.stats());
+    }
+
+    /**
+     * Test that the cache stays bounded, a full table replaces entries instead of growing.
+     */
+    @Test
+    void store_moreEntriesThanSlots_entriesEvicted() {
+        for (int key = 0; key < 100; key++) {
+            cache.store(key, 0, new long[]{key, 0});
+        }
+        assertTrue(cache.evictions() >= 100 - 16);
+        int found = 0;
+        long[] targets = new long[2];
+        for (int key = 0; key < 100; key++) {
+            if (cache.lookup(key, 0, targets)) {
+                assertEquals(key, targets[0]);
+                found++;
+            }
+        }
+        assertTrue(found <= 16);
+    }
+
+    /**
+     * Test that a second board in the same position is answered from the cache with the same legal moves.
+     */
+    @Test
+    void calculatePossibleMoves_samePositionTwice_secondAnsweredFromCache() {
+        BoardServiceImpl first = new BoardServiceImpl(cache);
+        BoardServiceImpl second = new BoardServiceImpl(cache);
+
+        Set<PositionOnBoard> moves = first.calculatePossibleMoves(BB1);
+        assertEquals(0, cache.hits());
+        assertEquals(moves, second.calculatePossibleMoves(BB1));
+        assertEquals(1, cache.hits());
+        assertEquals(Set.of(BA3, BC3), moves);
+    }
+
+    /**
+     * Test that a move changes the key, so the moves of the new position are calculated again.
+     */
+    @Test
+    void calculatePossibleMoves_afterMove_recalculated() throws Exception {
+        BoardServiceImpl board = new BoardServiceImpl(cache);
+        Set<PositionOnBoard> before = board.calculatePossibleMoves(BC1);
+        assertTrue(before.isEmpty());
+
+        board.executeMove(BB2, BB3);
+        board.executeMove(GB2, GB3);
+        board.executeMove(RB2, RB3);
+        Set<PositionOnBoard> after = board.calculatePossibleMoves(BC1);
+        assertTrue(after.contains(BB2));
+        assertEquals(0, cache.hits());
+    }
+}
@@ -0,0 +1,69 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.exceptions.InvalidPositionException;
+import com.ccd.chess.model.entity.enums.Direction;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the MoveTables class.
+ */
+class MoveTablesTest {
+
+    /**
+     * Test that the neighbour table agrees with PositionOnBoard.neighbour for every direction.
+     *
+     * @param position Position to look up
+     */
+    @ParameterizedTest
+    @EnumSource(PositionOnBoard.class)
+    void neighbour_allDirections_sameAsPositionNeighbour(PositionOnBoard position) {
+        for (Direction direction : Direction.values()) {
+            int expected;
+            try {
+                expected = position.neighbour(direction).ordinal();
+            } catch (InvalidPositionException e) {
+                expected = MoveTables.OFF_BOARD;
+            }
+            assertEquals(expected, MoveTables.neighbour(position.ordinal(), direction));
+        }
+    }
+
+    /**
+     * Test that the forward rook ray crosses into the next section and keeps moving away from it.
+     */
+    @Test
+    void rookRays_forwardFromOwnSection_crossesSectionReversed() {
+        int[] expected = {BE2.ordinal(), BE3.ordinal(), BE4.ordinal(), RD4.ordinal(), RD3.ordinal(), RD2.ordinal(), RD1.ordinal()};
+        boolean found = Arrays.stream(MoveTables.rookRays(BE1.ordinal())).anyMatch(ray -> Arrays.equals(expected, ray));
+        assertTrue(found);
+    }
+
+    /**
+     * Test that positions on the edge have no jump targets off the board.
+     */
+    @Test
+    void knightJumps_cornerPosition_allTargetsOnBoard() {
+        int[] jumps = MoveTables.knightJumps(BA1.ordinal());
+        assertEquals(2, jumps.length);
+        assertTrue(Arrays.stream(jumps).allMatch(index -> index >= 0 && index < 96));
+    }
+
+    /**
+     * Test that the Hawk has no move backwards from the first row.
+     */
+    @Test
+    void hawkJumps_firstRow_backwardOffBoard() {
+        int backward = 1; // index of the backward step in the Hawk directions
+        assertEquals(MoveTables.OFF_BOARD, MoveTables.hawkAdjacent(BE1.ordinal())[backward]);
+        assertEquals(MoveTables.OFF_BOARD, MoveTables.hawkJumps(BE1.ordinal())[backward]);
+        assertEquals(BE3.ordinal(), MoveTables.hawkJumps(BE1.ordinal())[0]);
+    }
+}
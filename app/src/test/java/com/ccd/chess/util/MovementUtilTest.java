@@ -0,0 +1,60 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.exceptions.InvalidPositionException;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.Direction;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.model.entity.pieces.ChessPiece;
+import com.ccd.chess.model.entity.pieces.Pawn;
+import com.ccd.chess.model.entity.pieces.Rook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the MovementUtil class.
+ */
+class MovementUtilTest {
+
+    /**
+     * Test that the exception free index API agrees with the throwing position API.
+     *
+     * @param position Start position of the step
+     */
+    @ParameterizedTest
+    @EnumSource(PositionOnBoard.class)
+    void calculateNextIndex_pawnSteps_sameAsCalculateNextPositionOrNull(PositionOnBoard position) {
+        ChessPiece pawn = new Pawn(Colour.BRONZE);
+        for (Direction[] step : pawn.getDirections()) {
+            PositionOnBoard expected = MovementUtil.calculateNextPositionOrNull(pawn, step, position);
+            int actual = MovementUtil.calculateNextIndex(pawn, step, position.ordinal(), false);
+            assertEquals(expected == null ? PositionOnBoard.OFF_BOARD : expected.ordinal(), actual);
+        }
+    }
+
+    /**
+     * Test that stepping off the board returns OFF_BOARD instead of throwing.
+     */
+    @Test
+    void calculateNextIndex_stepOffBoard_offBoardIndex() {
+        ChessPiece rook = new Rook(Colour.SILVER);
+        int index = MovementUtil.calculateNextIndex(rook, new Direction[]{Direction.BACKWARD}, BA1.ordinal(), false);
+        assertEquals(PositionOnBoard.OFF_BOARD, index);
+        assertEquals(PositionOnBoard.OFF_BOARD, BA1.neighbourIndex(Direction.LEFT));
+        assertEquals(PositionOnBoard.OFF_BOARD, PositionOnBoard.getIndex(Colour.GOLD, 0, 8));
+    }
+
+    /**
+     * Test that the throwing API is kept for input validation.
+     */
+    @Test
+    void calculateNextPosition_stepOffBoard_throwsInvalidPositionException() {
+        ChessPiece rook = new Rook(Colour.SILVER);
+        assertThrows(InvalidPositionException.class,
+                () -> MovementUtil.calculateNextPosition(rook, new Direction[]{Direction.BACKWARD}, BA1));
+        assertThrows(InvalidPositionException.class, () -> BA1.neighbour(Direction.LEFT));
+    }
+}
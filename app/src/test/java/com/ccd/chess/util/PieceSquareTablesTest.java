@@ -0,0 +1,111 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.ccd.chess.model.entity.enums.PositionOnBoard.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the PieceSquareTables class.
+ */
+class PieceSquareTablesTest {
+
+    private static final String TABLES = String.join("\n",
+            "# test tables",
+            "mobility 3",
+            "king-zone 7  # per cell",
+            "table PAWN AWAY",
+            "80 81 82 83 84 85 86 87",
+            "",
+            "50 50 50 50 50 50 50 50",
+            "30 30 30 30 30 30 30 30",
+            "10 10 10 10 10 10 10 10");
+
+    private static PieceSquareTables parse(String text) {
+        return PieceSquareTables.parse(new StringReader(text));
+    }
+
+    /**
+     * Test that the AWAY table applies in both opponent sections, row 1 first, and the HOME table, here
+     * missing, adds nothing to the piece value.
+     */
+    @Test
+    void parse_awayTable_appliesToOpponentSections() {
+        PieceSquareTables tables = parse(TABLES);
+        int silver = Colour.SILVER.ordinal();
+        int pawn = PieceType.PAWN.ordinal();
+        assertEquals(180, tables.value(silver, pawn, GA1.ordinal()));
+        assertEquals(187, tables.value(silver, pawn, RH1.ordinal()));
+        assertEquals(110, tables.value(silver, pawn, GC4.ordinal()));
+        assertEquals(100, tables.value(silver, pawn, BA1.ordinal()));
+        assertEquals(180, tables.value(Colour.BRONZE.ordinal(), pawn, BA1.ordinal()));
+        assertEquals(100, tables.value(Colour.BRONZE.ordinal(), pawn, GA1.ordinal()));
+    }
+
+    /**
+     * Test that the weights are read, and a piece without tables is worth its piece value on every cell.
+     */
+    @Test
+    void parse_weights_read() {
+        PieceSquareTables tables = parse(TABLES);
+        assertEquals(3, tables.mobilityWeight());
+        assertEquals(7, tables.kingZoneWeight());
+        assertEquals(PieceType.QUEEN.getValue(), tables.value(Colour.GOLD.ordinal(), PieceType.QUEEN.ordinal(), GD2.ordinal()));
+        assertEquals(PieceType.QUEEN.getValue(), tables.value(Colour.GOLD.ordinal(), PieceType.QUEEN.ordinal(), RD2.ordinal()));
+    }
+
+    /**
+     * Test that malformed entries are rejected with the line they are on.
+     */
+    @Test
+    void parse_malformed_throwsWithLine() {
+        IllegalArgumentException unknownType = assertThrows(IllegalArgumentException.class,
+                () -> parse("mobility 2\ntable DRAGON HOME"));
+        assertTrue(unknownType.getMessage().startsWith("line 2:"));
+        assertThrows(IllegalArgumentException.class, () -> parse("mobility ten"));
+        assertThrows(IllegalArgumentException.class, () -> parse("table PAWN SIDE"));
+        assertThrows(IllegalArgumentException.class, () -> parse("table PAWN HOME\n1 2 3 4 5 6 7"));
+        assertThrows(IllegalArgumentException.class, () -> parse("table PAWN HOME\n1 2 3 4 5 6 7 8"));
+        assertThrows(IllegalArgumentException.class, () -> parse("weight 2"));
+    }
+
+    /**
+     * Test that the built in tables are read, a pawn gains value towards promotion.
+     */
+    @Test
+    void getDefault_builtInTables_read() {
+        PieceSquareTables tables = PieceSquareTables.getDefault();
+        assertNotSame(PieceSquareTables.MATERIAL_ONLY, tables);
+        assertTrue(tables.mobilityWeight() > 0);
+        int pawn = PieceType.PAWN.ordinal();
+        assertTrue(tables.value(Colour.SILVER.ordinal(), pawn, GD2.ordinal()) > tables.value(Colour.SILVER.ordinal(), pawn, GD4.ordinal()));
+    }
+
+    /**
+     * Test that a missing or malformed table file falls back to the built in tables instead of failing.
+     */
+    @Test
+    void load_badFile_builtInTables() throws IOException {
+        PieceSquareTables builtIn = PieceSquareTables.load(null);
+        int cell = GD2.ordinal();
+        int pawn = PieceType.PAWN.ordinal();
+        Path malformed = Files.createTempFile("pst", ".txt");
+        try {
+            Files.writeString(malformed, "table PAWN AWAY\n1 2 3");
+            for (String file : new String[]{malformed.toString(), malformed + ".missing"}) {
+                PieceSquareTables loaded = PieceSquareTables.load(file);
+                assertEquals(builtIn.mobilityWeight(), loaded.mobilityWeight());
+                assertEquals(builtIn.value(0, pawn, cell), loaded.value(0, pawn, cell));
+            }
+        } finally {
+            Files.delete(malformed);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ccd.chess.util;
+
+import com.ccd.chess.model.dto.BoardUpdate;
+import com.ccd.chess.model.dto.GameSnapshot;
+import com.ccd.chess.model.entity.board.BitBoard;
+import com.ccd.chess.model.entity.enums.Colour;
+import com.ccd.chess.model.entity.enums.PieceType;
+import com.ccd.chess.model.entity.enums.PositionOnBoard;
+import com.ccd.chess.service.impl.BoardServiceImpl;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the PositionCodec class.
+ */
+class PositionCodecTest {
+
+    /**
+     * Test that the start position survives encoding and decoding, including the side to move and the Hawk state.
+     */
+    @Test
+    void decode_encodedStartPosition_samePosition() {
+        BitBoard board = new BitBoard(new BoardServiceImpl().getBoardMap());
+        board.setSideToMove(Colour.GOLD);
+        board.setHawkPending(true);
+        byte[] buffer = new byte[PositionCodec.POSITION_BYTES + 3];
+        PositionCodec.encode(board, buffer, 3);
+
+        BitBoard decoded = PositionCodec.decode(buffer, 3);
+        assertEquals(BoardAdapter.ConvertBoardToStringRep(board), BoardAdapter.ConvertBoardToStringRep(decoded));
+        assertEquals(Colour.GOLD, decoded.getSideToMove());
+        assertTrue(decoded.isHawkPending());
+        assertEquals(board.kingSquare(Colour.BRONZE), decoded.kingSquare(Colour.BRONZE));
+    }
+
+    /**
+     * Test that every piece string of the web view has its own code and maps back to itself.
+     */
+    @Test
+    void code_everyPiece_roundTrip() {
+        for (Colour colour : Colour.values()) {
+            for (PieceType type : PieceType.values()) {
+                String piece = colour.toString() + type.getSymbol();
+                byte code = PositionCodec.code(piece);
+                assertEquals(PositionCodec.code(colour, type), code);
+                assertEquals(piece, PositionCodec.pieceString(code));
+            }
+        }
+        assertEquals(PositionCodec.EMPTY, PositionCodec.code(""));
+        assertEquals("", PositionCodec.pieceString(PositionCodec.EMPTY));
+        assertThrows(IllegalArgumentException.class, () -> PositionCodec.code("XX"));
+    }
+
+    /**
+     * Test that the labels of the web view map to the PositionOnBoard ordinal.
+     */
+    @Test
+    void index_webLabel_positionOrdinal() {
+        assertEquals(PositionOnBoard.GE1.ordinal(), PositionCodec.index("Ge1"));
+        assertEquals("Ge1", PositionCodec.label(PositionOnBoard.GE1.ordinal()));
+        assertEquals(PositionOnBoard.OFF_BOARD, PositionCodec.index("Gz9"));
+    }
+
+    /**
+     * Test that a full update is the header followed by one byte per cell.
+     */
+    @Test
+    void writeUpdate_fullUpdate_headerAndAllCells() throws IOException {
+        Map<String, String> board = ImmutableMap.of("Ba1", "BR", "Re1", "RK");
+        BoardUpdate update = BoardUpdate.full(new GameSnapshot(board, Colour.BRONZE, null, 7, ImmutableMap.of()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PositionCodec.writeUpdate(update, out);
+        byte[] bytes = out.toByteArray();
+
+        assertEquals(PositionCodec.UPDATE_HEADER_BYTES + BitBoard.SIZE, bytes.length);
+        assertEquals(PositionCodec.updateLength(update), bytes.length);
+        assertEquals(PositionCodec.FORMAT_VERSION, bytes[0]);
+        assertEquals(1, bytes[1]);
+        assertEquals(Colour.BRONZE.ordinal(), bytes[2]);
+        assertEquals(PositionCodec.NO_COLOUR, bytes[3]);
+        assertEquals(7, bytes[11]);
+        assertEquals(-1, bytes[19]);
+        assertEquals(PositionCodec.code("BR"), bytes[PositionCodec.UPDATE_HEADER_BYTES + PositionOnBoard.BA1.ordinal()]);
+        assertEquals(PositionCodec.code("RK"), bytes[PositionCodec.UPDATE_HEADER_BYTES + PositionOnBoard.RE1.ordinal()]);
+        assertEquals(PositionCodec.EMPTY, bytes[PositionCodec.UPDATE_HEADER_BYTES + PositionOnBoard.BA2.ordinal()]);
+    }
+
+    /**
+     * Test that a delta update is the header followed by the count and the changed cells.
+     */
+    @Test
+    void writeUpdate_deltaUpdate_changedCellsOnly() throws IOException {
+        Map<String, String> changes = ImmutableMap.of("Bb2", "", "Bb3", "BP");
+        GameSnapshot snapshot = new GameSnapshot(ImmutableMap.of("Bb3", "BP"), Colour.GOLD, "SILVER", 3, changes);
+        BoardUpdate update = BoardUpdate.delta(snapshot, 2, changes);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PositionCodec.writeUpdate(update, out);
+        byte[] bytes = out.toByteArray();
+
+        int header = PositionCodec.UPDATE_HEADER_BYTES;
+        assertEquals(header + 5, bytes.length);
+        assertEquals(PositionCodec.updateLength(update), bytes.length);
+        assertEquals(2, bytes[1]);
+        assertEquals(Colour.SILVER.ordinal(), bytes[3]);
+        assertEquals(2, bytes[header]);
+        assertEquals(PositionOnBoard.BB2.ordinal(), bytes[header + 1]);
+        assertEquals(PositionCodec.EMPTY, bytes[header + 2]);
+        assertEquals(PositionOnBoard.BB3.ordinal(), bytes[header + 3]);
+        assertEquals(PositionCodec.code("BP"), bytes[header + 4]);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ccd.chess.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the VirtualThreads class.
+ */
+class VirtualThreadsTest {
+
+    /**
+     * Test that virtual threads are reported exactly on Java 21 and later runtimes.
+     */
+    @Test
+    void isSupported_runtimeVersion_trueFromJava21() {
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+    }
+
+    /**
+     * Test that an executor is only returned when the runtime supports virtual threads, and that it runs tasks.
+     */
+    @Test
+    void newPerTaskExecutor_anyRuntime_presentIfSupported() throws Exception {
+        Optional<ExecutorService> executor = VirtualThreads.newPerTaskExecutor();
+        assertEquals(VirtualThreads.isSupported(), executor.isPresent());
+        if (executor.isPresent()) {
+            assertEquals("done", executor.get().submit(() -> "done").get());
+            executor.get().shutdown();
+        }
+    }
+}